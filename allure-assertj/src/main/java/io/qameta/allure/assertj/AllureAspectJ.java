@@ -19,7 +19,9 @@ import io.qameta.allure.Allure;
 import io.qameta.allure.AllureLifecycle;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StepResult;
+import io.qameta.allure.util.IdUtils;
 import io.qameta.allure.util.ObjectUtils;
+import io.qameta.allure.util.ParameterUtils;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.After;
 import org.aspectj.lang.annotation.AfterReturning;
@@ -31,7 +33,6 @@ import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -48,6 +49,9 @@ public class AllureAspectJ {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AllureAspectJ.class);
 
+    private static final int ACTUAL_MAX_LENGTH = 10_000;
+    private static final int ACTUAL_MAX_ELEMENTS = 100;
+
     private static InheritableThreadLocal<AllureLifecycle> lifecycle = new InheritableThreadLocal<AllureLifecycle>() {
         @Override
         protected AllureLifecycle initialValue() {
@@ -73,9 +77,9 @@ public class AllureAspectJ {
     @After("anyAssertCreation()")
     public void logAssertCreation(final JoinPoint joinPoint) {
         final String actual = joinPoint.getArgs().length > 0
-                ? ObjectUtils.toString(joinPoint.getArgs()[0])
+                ? ObjectUtils.toString(joinPoint.getArgs()[0], ACTUAL_MAX_LENGTH, ACTUAL_MAX_ELEMENTS)
                 : "<?>";
-        final String uuid = UUID.randomUUID().toString();
+        final String uuid = IdUtils.nextId();
         final String name = String.format("assertThat \'%s\'", actual);
 
         final StepResult result = new StepResult()
@@ -90,7 +94,7 @@ public class AllureAspectJ {
     public void stepStart(final JoinPoint joinPoint) {
         final MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
 
-        final String uuid = UUID.randomUUID().toString();
+        final String uuid = IdUtils.nextId();
         final String name = joinPoint.getArgs().length > 0
                 ? String.format("%s \'%s\'", methodSignature.getName(), arrayToString(joinPoint.getArgs()))
                 : methodSignature.getName();
@@ -130,7 +134,7 @@ public class AllureAspectJ {
 
     private static String arrayToString(final Object... array) {
         return Stream.of(array)
-                .map(ObjectUtils::toString)
+                .map(ParameterUtils::formatValue)
                 .collect(Collectors.joining(" "));
     }
 }
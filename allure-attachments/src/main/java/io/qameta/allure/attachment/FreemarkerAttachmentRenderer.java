@@ -15,15 +15,18 @@
  */
 package io.qameta.allure.attachment;
 
+import freemarker.cache.TemplateLoader;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Collections;
+import java.util.Objects;
 
 /**
  * @author charlie (Dmitry Baev).
@@ -36,19 +39,36 @@ public class FreemarkerAttachmentRenderer implements AttachmentRenderer<Attachme
 
     private final String templateName;
 
+    private final boolean cacheTemplate;
+
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private volatile Template template;
+
+    /**
+     * Creates renderer with own configuration that checks template for updates
+     * on each render. Use {@link FreemarkerRendererRegistry} to get renderer
+     * with shared configuration and compiled template.
+     *
+     * @param templateName the name of template in tpl folder of the classpath.
+     */
     public FreemarkerAttachmentRenderer(final String templateName) {
         this.templateName = templateName;
-        this.configuration = new Configuration(Configuration.VERSION_2_3_23);
-        this.configuration.setLocalizedLookup(false);
+        this.configuration = createConfiguration(getClass().getClassLoader());
         this.configuration.setTemplateUpdateDelayMilliseconds(0);
-        this.configuration.setTemplateExceptionHandler(TemplateExceptionHandler.HTML_DEBUG_HANDLER);
-        this.configuration.setClassLoaderForTemplateLoading(getClass().getClassLoader(), "tpl");
+        this.cacheTemplate = false;
+    }
+
+    /* package-private */ FreemarkerAttachmentRenderer(final Configuration configuration,
+                                                       final String templateName) {
+        this.templateName = templateName;
+        this.configuration = configuration;
+        this.cacheTemplate = true;
     }
 
     @Override
     public DefaultAttachmentContent render(final AttachmentData data) {
         try (Writer writer = new StringWriter()) {
-            final Template template = configuration.getTemplate(templateName);
+            final Template template = getTemplate();
             template.process(Collections.singletonMap("data", data), writer);
             return new DefaultAttachmentContent(writer.toString(), "text/html", ".html");
         } catch (Exception e) {
@@ -57,4 +77,34 @@ public class FreemarkerAttachmentRenderer implements AttachmentRenderer<Attachme
         }
     }
 
+    private Template getTemplate() throws IOException {
+        if (!cacheTemplate) {
+            return configuration.getTemplate(templateName);
+        }
+        Template current = template;
+        if (Objects.isNull(current)) {
+            current = configuration.getTemplate(templateName);
+            template = current;
+        }
+        return current;
+    }
+
+    /* package-private */ static Configuration createConfiguration(final ClassLoader classLoader) {
+        final Configuration configuration = createConfiguration();
+        configuration.setClassLoaderForTemplateLoading(classLoader, "tpl");
+        return configuration;
+    }
+
+    /* package-private */ static Configuration createConfiguration(final TemplateLoader templateLoader) {
+        final Configuration configuration = createConfiguration();
+        configuration.setTemplateLoader(templateLoader);
+        return configuration;
+    }
+
+    private static Configuration createConfiguration() {
+        final Configuration configuration = new Configuration(Configuration.VERSION_2_3_23);
+        configuration.setLocalizedLookup(false);
+        configuration.setTemplateExceptionHandler(TemplateExceptionHandler.HTML_DEBUG_HANDLER);
+        return configuration;
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.attachment;
+
+import freemarker.template.Configuration;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of {@link FreemarkerAttachmentRenderer}s. Renderers share
+ * the configuration created for the class loader and compile each template once,
+ * so it is safe to request renderer for every attachment.
+ *
+ * <p>Class loaders are referenced weakly, so the registry doesn't prevent
+ * class loaders of undeployed applications from being collected.
+ */
+public final class FreemarkerRendererRegistry {
+
+    private static final Map<ClassLoader, Renderers> RENDERERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private FreemarkerRendererRegistry() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    /**
+     * Returns renderer for template loaded from the classpath of allure-attachments.
+     *
+     * @param templateName the name of template in tpl folder of the classpath.
+     * @return the renderer.
+     */
+    public static FreemarkerAttachmentRenderer getRenderer(final String templateName) {
+        return getRenderer(FreemarkerRendererRegistry.class.getClassLoader(), templateName);
+    }
+
+    /**
+     * Returns renderer for template loaded from given class loader.
+     *
+     * @param classLoader  the class loader to load template from.
+     * @param templateName the name of template in tpl folder of the classpath.
+     * @return the renderer.
+     */
+    public static FreemarkerAttachmentRenderer getRenderer(final ClassLoader classLoader,
+                                                           final String templateName) {
+        return RENDERERS.computeIfAbsent(classLoader, Renderers::new).get(templateName);
+    }
+
+    /**
+     * Drops all the cached configurations and templates, e.g. when templates
+     * on the classpath have been changed.
+     */
+    public static void clear() {
+        RENDERERS.clear();
+    }
+
+    private static final class Renderers {
+
+        private final Configuration configuration;
+
+        private final Map<String, FreemarkerAttachmentRenderer> renderers = new ConcurrentHashMap<>();
+
+        Renderers(final ClassLoader classLoader) {
+            this.configuration = FreemarkerAttachmentRenderer.createConfiguration(
+                    new WeakClassTemplateLoader(classLoader, "tpl")
+            );
+        }
+
+        FreemarkerAttachmentRenderer get(final String templateName) {
+            return renderers.computeIfAbsent(
+                    templateName,
+                    name -> new FreemarkerAttachmentRenderer(configuration, name)
+            );
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.attachment;
+
+import freemarker.cache.URLTemplateLoader;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.util.Objects;
+
+/**
+ * Loads templates from the class loader, like the loader created by
+ * {@link freemarker.template.Configuration#setClassLoaderForTemplateLoading(ClassLoader, String)},
+ * but references the class loader weakly, so the configuration cached by
+ * {@link FreemarkerRendererRegistry} doesn't keep the class loader reachable.
+ */
+/* package-private */ final class WeakClassTemplateLoader extends URLTemplateLoader {
+
+    private final WeakReference<ClassLoader> classLoader;
+
+    private final String basePackagePath;
+
+    /* package-private */ WeakClassTemplateLoader(final ClassLoader classLoader, final String basePackagePath) {
+        this.classLoader = new WeakReference<>(classLoader);
+        this.basePackagePath = canonicalizePrefix(basePackagePath);
+    }
+
+    @Override
+    protected URL getURL(final String name) {
+        final ClassLoader loader = classLoader.get();
+        if (Objects.isNull(loader)) {
+            return null;
+        }
+        return loader.getResource(basePackagePath + name);
+    }
+}
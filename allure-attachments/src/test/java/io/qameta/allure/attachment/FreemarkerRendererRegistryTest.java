@@ -0,0 +1,89 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.attachment;
+
+import io.qameta.allure.attachment.http.HttpRequestAttachment;
+import io.qameta.allure.test.AllureFeatures;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Objects;
+
+import static io.qameta.allure.attachment.testdata.TestData.randomHttpRequestAttachment;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FreemarkerRendererRegistryTest {
+
+    @AllureFeatures.Attachments
+    @Test
+    void shouldReuseRenderers() {
+        assertThat(FreemarkerRendererRegistry.getRenderer("http-request.ftl"))
+                .isSameAs(FreemarkerRendererRegistry.getRenderer("http-request.ftl"))
+                .isNotSameAs(FreemarkerRendererRegistry.getRenderer("http-response.ftl"));
+    }
+
+    @AllureFeatures.Attachments
+    @Test
+    void shouldRenderSameContentAsNewRenderer() {
+        final HttpRequestAttachment data = randomHttpRequestAttachment();
+        final DefaultAttachmentContent expected = new FreemarkerAttachmentRenderer("http-request.ftl")
+                .render(data);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(FreemarkerRendererRegistry.getRenderer("http-request.ftl").render(data))
+                    .usingRecursiveComparison()
+                    .isEqualTo(expected);
+        }
+    }
+
+    @AllureFeatures.Attachments
+    @Test
+    void shouldThrowExceptionForMissingTemplate() {
+        final FreemarkerAttachmentRenderer renderer = FreemarkerRendererRegistry
+                .getRenderer("missing-template.ftl");
+        final HttpRequestAttachment data = randomHttpRequestAttachment();
+
+        assertThrows(AttachmentRenderException.class, () -> renderer.render(data));
+    }
+
+    @AllureFeatures.Attachments
+    @Test
+    void shouldNotKeepClassLoadersReachable() throws Exception {
+        final WeakReference<ClassLoader> reference = renderWithNewClassLoader();
+        for (int i = 0; i < 20 && Objects.nonNull(reference.get()); i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+
+        assertThat(reference.get())
+                .isNull();
+    }
+
+    private static WeakReference<ClassLoader> renderWithNewClassLoader() {
+        final ClassLoader classLoader = new URLClassLoader(
+                new URL[0], FreemarkerRendererRegistryTest.class.getClassLoader()
+        );
+        final DefaultAttachmentContent content = FreemarkerRendererRegistry
+                .getRenderer(classLoader, "http-request.ftl")
+                .render(randomHttpRequestAttachment());
+        assertThat(content.getContent())
+                .isNotEmpty();
+        return new WeakReference<>(classLoader);
+    }
+}
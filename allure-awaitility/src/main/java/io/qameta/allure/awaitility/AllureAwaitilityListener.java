@@ -19,6 +19,7 @@ import io.qameta.allure.Allure;
 import io.qameta.allure.AllureLifecycle;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StepResult;
+import io.qameta.allure.util.IdUtils;
 import org.awaitility.Awaitility;
 import org.awaitility.core.ConditionEvaluationListener;
 import org.awaitility.core.ConditionFactory;
@@ -30,7 +31,6 @@ import org.awaitility.core.TimeoutEvent;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
-import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -130,7 +130,7 @@ public class AllureAwaitilityListener implements ConditionEvaluationListener<Obj
      */
     @Override
     public void beforeEvaluation(final StartEvaluationEvent<Object> startEvaluationEvent) {
-        currentConditionStepUUID = UUID.randomUUID().toString();
+        currentConditionStepUUID = IdUtils.nextId();
         final String nameWoAlias = String.format(onStartStepTextPattern, startEvaluationEvent.getDescription());
         final String nameWithAlias = String.format(onStartStepTextPattern, startEvaluationEvent.getAlias());
         final String stepName = startEvaluationEvent.getAlias() != null ? nameWithAlias : nameWoAlias;
@@ -151,7 +151,7 @@ public class AllureAwaitilityListener implements ConditionEvaluationListener<Obj
     @Override
     public void onTimeout(final TimeoutEvent timeoutEvent) {
         getLifecycle().updateStep(awaitilityCondition -> {
-            final String currentTimeoutStepUUID = UUID.randomUUID().toString();
+            final String currentTimeoutStepUUID = IdUtils.nextId();
             getLifecycle().startStep(
                     currentConditionStepUUID,
                     currentTimeoutStepUUID,
@@ -188,7 +188,7 @@ public class AllureAwaitilityListener implements ConditionEvaluationListener<Obj
         );
 
         getLifecycle().updateStep(awaitilityCondition -> {
-            final String lastAwaitStepUUID = UUID.randomUUID().toString();
+            final String lastAwaitStepUUID = IdUtils.nextId();
             getLifecycle().startStep(
                     currentConditionStepUUID,
                     lastAwaitStepUUID,
@@ -222,7 +222,7 @@ public class AllureAwaitilityListener implements ConditionEvaluationListener<Obj
     public void exceptionIgnored(final IgnoredException ignoredException) {
         if (logIgnoredExceptions) {
             getLifecycle().updateStep(awaitilityCondition -> {
-                final String currentExceptionIgnoredStepUUID = UUID.randomUUID().toString();
+                final String currentExceptionIgnoredStepUUID = IdUtils.nextId();
                 final String message = String.format(
                         onExceptionStepTextPattern, ignoredException.getThrowable().getMessage());
                 final StringWriter stringWriter = new StringWriter();
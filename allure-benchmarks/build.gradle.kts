@@ -0,0 +1,42 @@
+plugins {
+    id("me.champeau.jmh")
+}
+
+description = "Allure Benchmarks"
+
+val agent: Configuration by configurations.creating
+
+dependencies {
+    agent("org.aspectj:aspectjweaver")
+    jmh(project(":allure-attachments"))
+    jmh(project(":allure-java-commons"))
+    jmh("org.aspectj:aspectjrt")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    jvmArgsAppend.add(provider { "-javaagent:${agent.singleFile}" })
+    (project.findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+}
+
+tasks {
+    withType<AbstractPublishToMaven>().configureEach {
+        enabled = false
+    }
+
+    withType<Checkstyle>().configureEach {
+        enabled = name != "checkstyleJmh"
+    }
+
+    withType<Pmd>().configureEach {
+        enabled = name != "pmdJmh"
+    }
+
+    withType<com.github.spotbugs.snom.SpotBugsTask>().configureEach {
+        enabled = name != "spotbugsJmh"
+    }
+}
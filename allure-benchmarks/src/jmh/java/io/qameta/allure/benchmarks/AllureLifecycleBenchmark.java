@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.benchmarks;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures start, update, stop and write of a test case with nested steps.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class AllureLifecycleBenchmark {
+
+    @Param({"1", "10"})
+    private int depth;
+
+    @Param({"10"})
+    private int stepsCount;
+
+    private AllureLifecycle lifecycle;
+
+    @Setup
+    public void setUp() {
+        lifecycle = new AllureLifecycle(new NoopResultsWriter());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void single(final ThreadState state) {
+        runTest(state);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void contended(final ThreadState state) {
+        runTest(state);
+    }
+
+    private void runTest(final ThreadState state) {
+        final String uuid = state.nextUuid();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName("test"));
+        lifecycle.startTestCase(uuid);
+        for (int i = 0; i < stepsCount; i++) {
+            runStep(state, depth);
+        }
+        lifecycle.updateTestCase(uuid, result -> result.setStatus(Status.PASSED));
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+
+    private void runStep(final ThreadState state, final int level) {
+        final String uuid = state.nextUuid();
+        lifecycle.startStep(uuid, new StepResult().setName("step"));
+        if (level > 1) {
+            runStep(state, level - 1);
+        }
+        lifecycle.updateStep(uuid, step -> step.setStatus(Status.PASSED));
+        lifecycle.stopStep(uuid);
+    }
+
+    /**
+     * Per thread state.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private final String prefix = UUID.randomUUID().toString();
+
+        private long counter;
+
+        String nextUuid() {
+            counter++;
+            return prefix + counter;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.benchmarks;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.internal.AllureStorage;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures contention of {@link AllureStorage} and lifecycle step tree mutations
+ * from 1 to 64 threads. Each thread works with its own items, so the throughput
+ * should scale with the number of threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class AllureStorageBenchmark {
+
+    private static final int STEPS_COUNT = 10;
+
+    private AllureStorage storage;
+
+    private AllureLifecycle lifecycle;
+
+    @Setup
+    public void setUp() {
+        storage = new AllureStorage();
+        lifecycle = new AllureLifecycle(new NoopResultsWriter());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void storage01(final ThreadState state, final Blackhole blackhole) {
+        putGetRemove(state, blackhole);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void storage04(final ThreadState state, final Blackhole blackhole) {
+        putGetRemove(state, blackhole);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void storage16(final ThreadState state, final Blackhole blackhole) {
+        putGetRemove(state, blackhole);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void storage64(final ThreadState state, final Blackhole blackhole) {
+        putGetRemove(state, blackhole);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void lifecycle01(final ThreadState state) {
+        runTest(state);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void lifecycle04(final ThreadState state) {
+        runTest(state);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void lifecycle16(final ThreadState state) {
+        runTest(state);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void lifecycle64(final ThreadState state) {
+        runTest(state);
+    }
+
+    private void putGetRemove(final ThreadState state, final Blackhole blackhole) {
+        storage.put(state.uuid, state.step);
+        blackhole.consume(storage.getStep(state.uuid));
+        storage.remove(state.uuid);
+    }
+
+    private void runTest(final ThreadState state) {
+        final String uuid = state.nextUuid();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName("test"));
+        lifecycle.startTestCase(uuid);
+        for (int i = 0; i < STEPS_COUNT; i++) {
+            final String stepUuid = state.nextUuid();
+            lifecycle.startStep(stepUuid, new StepResult().setName("step"));
+            final String nestedUuid = state.nextUuid();
+            lifecycle.startStep(nestedUuid, new StepResult().setName("nested step"));
+            lifecycle.stopStep(nestedUuid);
+            lifecycle.stopStep(stepUuid);
+        }
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+
+    /**
+     * Per thread state.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private final String prefix = UUID.randomUUID().toString();
+
+        private final String uuid = UUID.randomUUID().toString();
+
+        private final StepResult step = new StepResult();
+
+        private long counter;
+
+        String nextUuid() {
+            counter++;
+            return prefix + counter;
+        }
+    }
+}
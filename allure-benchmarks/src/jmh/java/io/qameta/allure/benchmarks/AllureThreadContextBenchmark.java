@@ -0,0 +1,81 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.benchmarks;
+
+import io.qameta.allure.internal.AllureThreadContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures cost of starting a thread inside a step tree. Child threads inherit
+ * the {@link AllureThreadContext} of the parent, so the cost should not depend
+ * on the depth of the step stack.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class AllureThreadContextBenchmark {
+
+    @Param({"0", "20"})
+    public int depth;
+
+    private AllureThreadContext context;
+
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private volatile Optional<String> current;
+
+    @Setup
+    public void setUp() {
+        context = new AllureThreadContext();
+        for (int i = 0; i < depth; i++) {
+            context.start("step-" + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.clear();
+    }
+
+    @Benchmark
+    public Optional<String> spawnThread() throws InterruptedException {
+        final Thread thread = new Thread(() -> current = context.getCurrent());
+        thread.start();
+        thread.join();
+        return current;
+    }
+
+    @Benchmark
+    public Optional<String> getRoot() {
+        return context.getRoot();
+    }
+
+    @Benchmark
+    public Optional<String> startStop() {
+        context.start("step");
+        return context.stop();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.benchmarks;
+
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Issue;
+import io.qameta.allure.LabelAnnotation;
+import io.qameta.allure.Link;
+import io.qameta.allure.Owner;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import io.qameta.allure.TmsLink;
+import io.qameta.allure.util.AnnotationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures extraction of labels and links from test method annotations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class AnnotationUtilsBenchmark {
+
+    private Method method;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        method = AnnotationUtilsBenchmark.class.getDeclaredMethod("annotatedTest");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void single(final Blackhole blackhole) {
+        extract(blackhole);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void contended(final Blackhole blackhole) {
+        extract(blackhole);
+    }
+
+    private void extract(final Blackhole blackhole) {
+        blackhole.consume(AnnotationUtils.getLabels(method));
+        blackhole.consume(AnnotationUtils.getLinks(method));
+    }
+
+    @Epic("epic")
+    @Feature("feature")
+    @Story("story")
+    @Owner("owner")
+    @Severity(SeverityLevel.CRITICAL)
+    @Component("payments")
+    @Issue("ISSUE-1")
+    @TmsLink("TMS-1")
+    @Link(name = "link", url = "https://example.org")
+    void annotatedTest() {
+        //annotations holder
+    }
+
+    /**
+     * Custom meta annotation.
+     */
+    @Documented
+    @Inherited
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.TYPE})
+    @LabelAnnotation(name = "component")
+    public @interface Component {
+
+        String value();
+
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.benchmarks;
+
+import io.qameta.allure.FileSystemResultsWriter;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Stage;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures serialization of test results to the file system. The databind
+ * serializer is used by the writer for subclasses of model classes, so
+ * it can be compared with the streaming serializer used by default.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class FileSystemResultsWriterBenchmark {
+
+    @Param({"10", "1000"})
+    private int stepsCount;
+
+    @Param({"streaming", "databind"})
+    private String serializer;
+
+    private Path directory;
+
+    private FileSystemResultsWriter writer;
+
+    private TestResult result;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("allure-results");
+        writer = new FileSystemResultsWriter(directory);
+        result = createTestResult(stepsCount, serializer);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void single() {
+        writer.write(result);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void contended(final ThreadState state) {
+        writer.write(state.result);
+    }
+
+    static TestResult createTestResult(final int stepsCount, final String serializer) {
+        final TestResult result = "databind".equals(serializer)
+                ? new DatabindTestResult()
+                : new TestResult();
+        result.setUuid(UUID.randomUUID().toString())
+                .setHistoryId(UUID.randomUUID().toString())
+                .setName("test")
+                .setFullName("io.qameta.allure.benchmarks.Test.test")
+                .setStatus(Status.FAILED)
+                .setStage(Stage.FINISHED)
+                .setStatusDetails(new StatusDetails().setMessage("failed").setTrace("trace"))
+                .setStart(System.currentTimeMillis())
+                .setStop(System.currentTimeMillis());
+        result.getLabels().add(new Label().setName("suite").setValue("Benchmark suite"));
+        result.getParameters().add(new Parameter().setName("param").setValue("value"));
+        for (int i = 0; i < stepsCount; i++) {
+            final StepResult step = new StepResult()
+                    .setName("step " + i)
+                    .setStatus(Status.PASSED)
+                    .setStage(Stage.FINISHED)
+                    .setStart(System.currentTimeMillis())
+                    .setStop(System.currentTimeMillis());
+            step.getParameters().add(new Parameter().setName("index").setValue(String.valueOf(i)));
+            result.getSteps().add(step);
+        }
+        return result;
+    }
+
+    /**
+     * Test result subclass, that is written by the databind serializer.
+     */
+    public static class DatabindTestResult extends TestResult {
+
+        private static final long serialVersionUID = 1L;
+
+    }
+
+    /**
+     * Per thread state, each thread writes its own file.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private TestResult result;
+
+        @Setup
+        public void setUp(final FileSystemResultsWriterBenchmark benchmark) {
+            result = createTestResult(benchmark.stepsCount, benchmark.serializer);
+        }
+    }
+}
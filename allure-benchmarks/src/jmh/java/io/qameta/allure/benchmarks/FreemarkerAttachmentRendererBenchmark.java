@@ -0,0 +1,99 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.benchmarks;
+
+import io.qameta.allure.attachment.DefaultAttachmentContent;
+import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.FreemarkerRendererRegistry;
+import io.qameta.allure.attachment.http.HttpRequestAttachment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering of http attachments. The new renderer benchmarks
+ * create renderer per request, the registry benchmarks request renderer
+ * per request the same way http integrations do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class FreemarkerAttachmentRendererBenchmark {
+
+    private static final String TEMPLATE = "http-request.ftl";
+
+    private HttpRequestAttachment attachment;
+
+    private FreemarkerAttachmentRenderer renderer;
+
+    @Setup
+    public void setUp() {
+        final Map<String, String> headers = new HashMap<>();
+        headers.put("Content-Type", "application/json");
+        headers.put("Accept", "application/json");
+        attachment = new HttpRequestAttachment(
+                "Request", "https://example.org/api/users", "POST",
+                "{\"name\":\"John\"}", "curl -X POST https://example.org/api/users",
+                headers, new HashMap<>()
+        );
+        renderer = new FreemarkerAttachmentRenderer(TEMPLATE);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public DefaultAttachmentContent single() {
+        return renderer.render(attachment);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public DefaultAttachmentContent contended() {
+        return renderer.render(attachment);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public DefaultAttachmentContent singleNewRenderer() {
+        return new FreemarkerAttachmentRenderer(TEMPLATE).render(attachment);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public DefaultAttachmentContent contendedNewRenderer() {
+        return new FreemarkerAttachmentRenderer(TEMPLATE).render(attachment);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public DefaultAttachmentContent singleRegistry() {
+        return FreemarkerRendererRegistry.getRenderer(TEMPLATE).render(attachment);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public DefaultAttachmentContent contendedRegistry() {
+        return FreemarkerRendererRegistry.getRenderer(TEMPLATE).render(attachment);
+    }
+}
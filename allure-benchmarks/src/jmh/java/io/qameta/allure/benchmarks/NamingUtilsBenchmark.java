@@ -0,0 +1,69 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.benchmarks;
+
+import io.qameta.allure.util.NamingUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures processing of step name templates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class NamingUtilsBenchmark {
+
+    @Param({
+            "Plain step name",
+            "Open {url} with {id}",
+            "Open profile of {user.name} from {user.address.city}"
+    })
+    private String template;
+
+    private Map<String, Object> params;
+
+    @Setup
+    public void setUp() {
+        params = new HashMap<>();
+        params.put("url", "https://example.org");
+        params.put("id", 42);
+        params.put("user", new StepsAspectsBenchmark.User("John", new StepsAspectsBenchmark.Address("Berlin")));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String single() {
+        return NamingUtils.processNameTemplate(template, params);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String contended() {
+        return NamingUtils.processNameTemplate(template, params);
+    }
+}
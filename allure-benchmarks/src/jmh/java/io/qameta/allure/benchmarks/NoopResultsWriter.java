@@ -0,0 +1,49 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.benchmarks;
+
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Results writer that discards everything, used to measure lifecycle overhead only.
+ */
+public class NoopResultsWriter implements AllureResultsWriter {
+
+    @Override
+    public void write(final TestResult testResult) {
+        //do nothing
+    }
+
+    @Override
+    public void write(final TestResultContainer testResultContainer) {
+        //do nothing
+    }
+
+    @Override
+    public void write(final String source, final InputStream attachment) {
+        try (InputStream is = attachment) {
+            //do nothing
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.benchmarks;
+
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.util.ResultsUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures conversion of exceptions to status details.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ResultsUtilsBenchmark {
+
+    @Param({"10", "100"})
+    private int stackDepth;
+
+    private Throwable throwable;
+
+    @Setup
+    public void setUp() {
+        throwable = createThrowable(stackDepth);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<StatusDetails> single() {
+        return ResultsUtils.getStatusDetails(throwable);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<StatusDetails> contended() {
+        return ResultsUtils.getStatusDetails(throwable);
+    }
+
+    private static Throwable createThrowable(final int depth) {
+        if (depth <= 1) {
+            return new IllegalStateException("Something went wrong", new AssertionError("expected true"));
+        }
+        return createThrowable(depth - 1);
+    }
+}
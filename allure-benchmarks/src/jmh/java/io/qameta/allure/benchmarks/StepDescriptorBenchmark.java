@@ -0,0 +1,83 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.benchmarks;
+
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.util.StepDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares step name and parameters processing with cached {@link StepDescriptor}
+ * against resolving method annotations on every call. Doesn't require weaving.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class StepDescriptorBenchmark {
+
+    private static final String[] PARAMETER_NAMES = {"user", "id"};
+
+    @Param({"true", "false"})
+    private boolean cached;
+
+    private final Object[] args = {
+            new StepsAspectsBenchmark.User("John", new StepsAspectsBenchmark.Address("Berlin")),
+            42
+    };
+
+    private Method method;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        method = StepsAspectsBenchmark.class.getMethod("templateStep", StepsAspectsBenchmark.User.class, int.class);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String singleName() {
+        return descriptor().getName(this, args);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<Parameter> singleParameters() {
+        return descriptor().getParameters(args);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String contendedName() {
+        return descriptor().getName(this, args);
+    }
+
+    private StepDescriptor descriptor() {
+        return cached
+                ? StepDescriptor.of(method, PARAMETER_NAMES)
+                : StepDescriptor.create(method, PARAMETER_NAMES);
+    }
+}
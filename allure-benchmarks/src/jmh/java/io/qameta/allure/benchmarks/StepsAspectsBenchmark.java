@@ -0,0 +1,155 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.benchmarks;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.Step;
+import io.qameta.allure.aspects.StepsAspects;
+import io.qameta.allure.model.TestResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures overhead of {@link Step} annotated methods woven by {@link StepsAspects}.
+ * The benchmark requires AspectJ load time weaving, that is configured by the build.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class StepsAspectsBenchmark {
+
+    private static final int STEPS_PER_TEST = 1000;
+
+    private final User user = new User("John", new Address("Berlin"));
+
+    private AllureLifecycle lifecycle;
+
+    private String testUuid;
+
+    private int stepsCount;
+
+    @Setup
+    public void setUp() {
+        lifecycle = new AllureLifecycle(new NoopResultsWriter());
+        StepsAspects.setLifecycle(lifecycle);
+        startTest();
+    }
+
+    @TearDown
+    public void tearDown() {
+        stopTest();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String single() {
+        return runStep();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String contended() {
+        return runStep();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String singleWithTemplate() {
+        return runStepWithTemplate();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String contendedWithTemplate() {
+        return runStepWithTemplate();
+    }
+
+    private String runStep() {
+        restartTestIfNeeded();
+        return simpleStep("value");
+    }
+
+    private String runStepWithTemplate() {
+        restartTestIfNeeded();
+        return templateStep(user, 42);
+    }
+
+    @Step("Simple step")
+    public String simpleStep(final String value) {
+        return value;
+    }
+
+    @Step("Open profile of {user.name} from {user.address.city} with {id}")
+    public String templateStep(final User user, final int id) {
+        return user.name;
+    }
+
+    private void restartTestIfNeeded() {
+        stepsCount++;
+        if (stepsCount % STEPS_PER_TEST == 0) {
+            stopTest();
+            startTest();
+        }
+    }
+
+    private void startTest() {
+        testUuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(testUuid).setName("test"));
+        lifecycle.startTestCase(testUuid);
+    }
+
+    private void stopTest() {
+        lifecycle.stopTestCase(testUuid);
+        lifecycle.writeTestCase(testUuid);
+    }
+
+    /**
+     * Step parameter.
+     */
+    public static class User {
+
+        public final String name;
+
+        public final Address address;
+
+        public User(final String name, final Address address) {
+            this.name = name;
+            this.address = address;
+        }
+    }
+
+    /**
+     * Nested step parameter.
+     */
+    public static class Address {
+
+        public final String city;
+
+        public Address(final String city) {
+            this.city = city;
+        }
+    }
+}
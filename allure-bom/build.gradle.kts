@@ -7,6 +7,7 @@ description = "Allure Java (Bill of Materials)"
 dependencies {
     constraints {
         rootProject.subprojects.sorted()
+                .filterNot { it.name == "allure-benchmarks" }
                 .forEach { api("${it.group}:${it.name}:${it.version}") }
     }
 }
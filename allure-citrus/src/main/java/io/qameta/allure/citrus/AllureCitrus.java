@@ -34,6 +34,7 @@ import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StatusDetails;
 import io.qameta.allure.model.StepResult;
 import io.qameta.allure.model.TestResult;
+import io.qameta.allure.util.IdUtils;
 import io.qameta.allure.util.ResultsUtils;
 
 import java.lang.annotation.Annotation;
@@ -46,7 +47,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -145,7 +145,7 @@ public class AllureCitrus implements TestListener, TestSuiteListener, TestAction
     @Override
     public void onTestActionStart(final TestCase testCase, final TestAction testAction) {
         final String parentUuid = getUuid(testCase);
-        final String uuid = UUID.randomUUID().toString();
+        final String uuid = IdUtils.nextId();
         getLifecycle().startStep(parentUuid, uuid, new StepResult().setName(testAction.getName()));
     }
 
@@ -219,7 +219,7 @@ public class AllureCitrus implements TestListener, TestSuiteListener, TestAction
 
 
     private String createUuid(final TestCase testCase) {
-        final String uuid = UUID.randomUUID().toString();
+        final String uuid = IdUtils.nextId();
         try {
             lock.writeLock().lock();
             testUuids.put(testCase, uuid);
@@ -51,6 +51,7 @@ import io.qameta.allure.model.StatusDetails;
 import io.qameta.allure.model.StepResult;
 import io.qameta.allure.model.TestResult;
 import io.qameta.allure.model.TestResultContainer;
+import io.qameta.allure.util.IdUtils;
 
 import java.io.ByteArrayInputStream;
 import java.net.URI;
@@ -63,7 +64,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -155,7 +155,7 @@ public class AllureCucumber4Jvm implements ConcurrentEventListener {
         );
 
         final String testCaseUuid = testCaseUuids
-                .computeIfAbsent(testCase, tc -> UUID.randomUUID().toString());
+                .computeIfAbsent(testCase, tc -> IdUtils.nextId());
 
         final TestResult result = new TestResult()
                 .setUuid(testCaseUuid)
@@ -257,7 +257,7 @@ public class AllureCucumber4Jvm implements ConcurrentEventListener {
 
         final String stepUuid = stepUuids.computeIfAbsent(
                 pickleStep,
-                cl -> UUID.randomUUID().toString()
+                cl -> IdUtils.nextId()
         );
 
         lifecycle.setCurrentTestCase(uuid);
@@ -284,7 +284,7 @@ public class AllureCucumber4Jvm implements ConcurrentEventListener {
                 .setStart(System.currentTimeMillis());
 
         final String stepUuid = stepUuids.computeIfAbsent(
-                hook, unused -> UUID.randomUUID().toString()
+                hook, unused -> IdUtils.nextId()
         );
 
         lifecycle.setCurrentTestCase(uuid);
@@ -300,7 +300,7 @@ public class AllureCucumber4Jvm implements ConcurrentEventListener {
 
 
         final String containerUuid = hookStepContainerUuid
-                .computeIfAbsent(hook, unused -> UUID.randomUUID().toString());
+                .computeIfAbsent(hook, unused -> IdUtils.nextId());
 
         lifecycle.startTestContainer(new TestResultContainer()
                 .setUuid(containerUuid)
@@ -311,7 +311,7 @@ public class AllureCucumber4Jvm implements ConcurrentEventListener {
                 .setName(hook.getCodeLocation());
 
         final String fixtureUuid = fixtureUuids.computeIfAbsent(
-                hook, unused -> UUID.randomUUID().toString()
+                hook, unused -> IdUtils.nextId()
         );
         if (hook.getHookType() == Before) {
             lifecycle.startPrepareFixture(containerUuid, fixtureUuid, hookResult);
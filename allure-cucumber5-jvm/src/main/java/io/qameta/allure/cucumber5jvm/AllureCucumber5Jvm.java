@@ -49,6 +49,7 @@ import io.qameta.allure.model.StatusDetails;
 import io.qameta.allure.model.StepResult;
 import io.qameta.allure.model.TestResult;
 import io.qameta.allure.model.TestResultContainer;
+import io.qameta.allure.util.IdUtils;
 
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
@@ -60,7 +61,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -235,7 +235,7 @@ public class AllureCucumber5Jvm implements ConcurrentEventListener {
 
         final String stepUuid = stepUuids.computeIfAbsent(
                 pickleStep,
-                cl -> UUID.randomUUID().toString()
+                cl -> IdUtils.nextId()
         );
 
         lifecycle.setCurrentTestCase(uuid);
@@ -256,7 +256,7 @@ public class AllureCucumber5Jvm implements ConcurrentEventListener {
                 .setStart(System.currentTimeMillis());
 
         final String stepUuid = stepUuids.computeIfAbsent(
-                hook, unused -> UUID.randomUUID().toString()
+                hook, unused -> IdUtils.nextId()
         );
 
         lifecycle.setCurrentTestCase(uuid);
@@ -268,7 +268,7 @@ public class AllureCucumber5Jvm implements ConcurrentEventListener {
         final String uuid = testCase.getId().toString();
 
         final String containerUuid = hookStepContainerUuid
-                .computeIfAbsent(hook, unused -> UUID.randomUUID().toString());
+                .computeIfAbsent(hook, unused -> IdUtils.nextId());
 
         lifecycle.startTestContainer(new TestResultContainer()
                 .setUuid(containerUuid)
@@ -279,7 +279,7 @@ public class AllureCucumber5Jvm implements ConcurrentEventListener {
                 .setName(hook.getCodeLocation());
 
         final String fixtureUuid = fixtureUuids.computeIfAbsent(
-                hook, unused -> UUID.randomUUID().toString()
+                hook, unused -> IdUtils.nextId()
         );
         if (hook.getHookType() == HookType.BEFORE) {
             lifecycle.startPrepareFixture(containerUuid, fixtureUuid, hookResult);
@@ -48,6 +48,7 @@ import io.qameta.allure.model.StatusDetails;
 import io.qameta.allure.model.StepResult;
 import io.qameta.allure.model.TestResult;
 import io.qameta.allure.model.TestResultContainer;
+import io.qameta.allure.util.IdUtils;
 
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
@@ -256,7 +257,7 @@ public class AllureCucumber7Jvm implements ConcurrentEventListener {
 
         final UUID hookId = hook.getId();
         final String containerUuid = hookStepContainerUuid
-                .computeIfAbsent(hookId, unused -> UUID.randomUUID().toString());
+                .computeIfAbsent(hookId, unused -> IdUtils.nextId());
 
         lifecycle.startTestContainer(new TestResultContainer()
                 .setUuid(containerUuid)
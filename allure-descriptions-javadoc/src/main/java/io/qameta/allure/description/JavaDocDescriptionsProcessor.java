@@ -23,9 +23,13 @@ import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Elements;
 import javax.tools.Diagnostic;
@@ -33,17 +37,24 @@ import javax.tools.FileObject;
 import javax.tools.StandardLocation;
 import java.io.IOException;
 import java.io.Writer;
-import java.math.BigInteger;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import static io.qameta.allure.description.ClassNames.DESCRIPTION_ANNOTATION;
 
 /**
+ * Collects javadoc comments of methods annotated with {@code @Description} into
+ * a {@code META-INF/allureDescriptions/<class name>.properties} resource per top-level
+ * class. Each line of the resource is a properties entry, the key is the method
+ * signature, e.g. {@code com.example.SomeTest#someTest(int,java.util.List)}.
+ *
+ * <p>Each resource is generated from a single top-level class, so the processor
+ * is registered as isolating for Gradle incremental compilation.
+ *
  * @author Egor Borisov ehborisov@gmail.com
  */
 @SupportedAnnotationTypes(DESCRIPTION_ANNOTATION)
@@ -51,6 +62,8 @@ public class JavaDocDescriptionsProcessor extends AbstractProcessor {
 
     private static final String ALLURE_DESCRIPTIONS_FOLDER = "META-INF/allureDescriptions/";
 
+    private static final String ALLURE_DESCRIPTIONS_EXTENSION = ".properties";
+
     private Filer filer;
     private Elements elementUtils;
     private Messager messager;
@@ -72,8 +85,12 @@ public class JavaDocDescriptionsProcessor extends AbstractProcessor {
     @Override
     public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment env) {
         final TypeElement typeElement = elementUtils.getTypeElement(DESCRIPTION_ANNOTATION);
+        if (typeElement == null) {
+            return true;
+        }
         final Set<? extends Element> elements = env.getElementsAnnotatedWith(typeElement);
         final Set<ExecutableElement> methods = ElementFilter.methodsIn(elements);
+        final Map<TypeElement, Map<String, String>> descriptions = new LinkedHashMap<>();
         methods.forEach(method -> {
             final String rawDocs = elementUtils.getDocComment(method);
 
@@ -91,51 +108,114 @@ public class JavaDocDescriptionsProcessor extends AbstractProcessor {
                     .map(this::methodParameterTypeMapper)
                     .collect(Collectors.toList());
 
-            final String hash = generateMethodSignatureHash(
-                    method.getEnclosingElement().toString(), name, typeParams
-            );
-            try {
-                final FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "",
-                        ALLURE_DESCRIPTIONS_FOLDER + hash);
-                try (Writer writer = file.openWriter()) {
-                    writer.write(docs);
-                }
-            } catch (IOException e) {
-                messager.printMessage(Diagnostic.Kind.WARNING,
-                        "Unable to create resource from docs comment of method " + name + typeParams);
-            }
+            final TypeElement type = (TypeElement) method.getEnclosingElement();
+            final String signature = elementUtils.getBinaryName(type)
+                    + "#" + name + '(' + String.join(",", typeParams) + ')';
+            descriptions.computeIfAbsent(getTopLevelType(type), key -> new TreeMap<>())
+                    .put(signature, docs);
         });
+        descriptions.forEach(this::writeDescriptions);
 
         return true;
     }
 
-    private String methodParameterTypeMapper(final VariableElement parameter) {
-        final Element typeElement = processingEnv.getTypeUtils().asElement(parameter.asType());
-        return typeElement != null ? typeElement.toString() : parameter.asType().toString();
+    private void writeDescriptions(final TypeElement type, final Map<String, String> descriptions) {
+        final String resourceName = ALLURE_DESCRIPTIONS_FOLDER
+                + elementUtils.getBinaryName(type) + ALLURE_DESCRIPTIONS_EXTENSION;
+        try {
+            final FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", resourceName, type);
+            try (Writer writer = file.openWriter()) {
+                for (Map.Entry<String, String> entry : descriptions.entrySet()) {
+                    writer.write(escape(entry.getKey(), true));
+                    writer.write('=');
+                    writer.write(escape(entry.getValue(), false));
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.WARNING,
+                    "Unable to create descriptions resource " + resourceName);
+        }
     }
 
-    private static String generateMethodSignatureHash(final String className,
-                                                      final String methodName,
-                                                      final List<String> parameterTypes) {
-        final MessageDigest md = getMd5Digest();
-        md.update(className.getBytes(StandardCharsets.UTF_8));
-        md.update(methodName.getBytes(StandardCharsets.UTF_8));
-        parameterTypes.stream()
-                .map(string -> string.getBytes(StandardCharsets.UTF_8))
-                .forEach(md::update);
-        final byte[] bytes = md.digest();
-        return bytesToHex(bytes);
+    private static TypeElement getTopLevelType(final TypeElement type) {
+        TypeElement current = type;
+        Element enclosing = current.getEnclosingElement();
+        while (enclosing.getKind() != ElementKind.PACKAGE) {
+            if (enclosing instanceof TypeElement) {
+                current = (TypeElement) enclosing;
+            }
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return current;
     }
 
-    private static MessageDigest getMd5Digest() {
-        try {
-            return MessageDigest.getInstance("MD5");
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("Can not find hashing algorithm", e);
+    private String methodParameterTypeMapper(final VariableElement parameter) {
+        return typeName(processingEnv.getTypeUtils().erasure(parameter.asType()));
+    }
+
+    /**
+     * Returns the type name in the same format as {@link Class#getTypeName()}.
+     */
+    private String typeName(final TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return typeName(((ArrayType) type).getComponentType()) + "[]";
         }
+        final Element element = processingEnv.getTypeUtils().asElement(type);
+        return element instanceof TypeElement
+                ? elementUtils.getBinaryName((TypeElement) element).toString()
+                : type.toString();
     }
 
-    private static String bytesToHex(final byte[] bytes) {
-        return new BigInteger(1, bytes).toString(16);
+    /**
+     * Escapes the value in {@link java.util.Properties} format. The index is written
+     * in UTF-8, so only special characters are escaped.
+     */
+    @SuppressWarnings("PMD.CyclomaticComplexity")
+    private static String escape(final String value, final boolean key) {
+        final StringBuilder builder = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                case '\f':
+                    builder.append("\\f");
+                    break;
+                case ' ':
+                    if (key || i == 0) {
+                        builder.append('\\');
+                    }
+                    builder.append(c);
+                    break;
+                case '=':
+                case ':':
+                    if (key) {
+                        builder.append('\\');
+                    }
+                    builder.append(c);
+                    break;
+                case '#':
+                case '!':
+                    if (key && i == 0) {
+                        builder.append('\\');
+                    }
+                    builder.append(c);
+                    break;
+                default:
+                    builder.append(c);
+            }
+        }
+        return builder.toString();
     }
 }
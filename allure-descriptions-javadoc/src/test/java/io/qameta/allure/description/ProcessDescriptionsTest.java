@@ -19,12 +19,26 @@ import com.google.testing.compile.Compilation;
 import com.google.testing.compile.Compiler;
 import com.google.testing.compile.JavaFileObjects;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import javax.tools.JavaCompiler;
 import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
 import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Properties;
 
 import static com.google.testing.compile.CompilationSubject.assertThat;
 import static com.google.testing.compile.Compiler.javac;
+import static org.assertj.core.api.Assertions.assertThat;
 
 /**
  * @author Egor Borisov ehborisov@gmail.com
@@ -33,9 +47,12 @@ class ProcessDescriptionsTest {
 
     private static final String ALLURE_DESCRIPTIONS_FOLDER = "META-INF/allureDescriptions/";
 
+    private static final String SAMPLE_DESCRIPTIONS = ALLURE_DESCRIPTIONS_FOLDER
+            + "io.qameta.allure.description.test.DescriptionSample.properties";
+
     @Test
     void captureDescriptionTest() {
-        final String expectedMethodSignatureHash = "4e7f896021ef2fce7c1deb7f5b9e38fb";
+        final String expectedMethodSignature = "io.qameta.allure.description.test.DescriptionSample#sampleTest()";
 
         final JavaFileObject source = JavaFileObjects.forSourceLines(
                 "io.qameta.allure.description.test.DescriptionSample",
@@ -60,15 +77,15 @@ class ProcessDescriptionsTest {
                 .generatedFile(
                         StandardLocation.CLASS_OUTPUT,
                         "",
-                        ALLURE_DESCRIPTIONS_FOLDER + expectedMethodSignatureHash
+                        SAMPLE_DESCRIPTIONS
                 )
                 .contentsAsUtf8String()
-                .isEqualTo("Captured javadoc description");
+                .isEqualTo(expectedMethodSignature + "=Captured javadoc description\n");
     }
 
     @Test
     void captureDescriptionTestIfNoUseJavadocIsSpecified() {
-        final String expectedMethodSignatureHash = "4e7f896021ef2fce7c1deb7f5b9e38fb";
+        final String expectedMethodSignature = "io.qameta.allure.description.test.DescriptionSample#sampleTest()";
 
         final JavaFileObject source = JavaFileObjects.forSourceLines(
                 "io.qameta.allure.description.test.DescriptionSample",
@@ -93,10 +110,10 @@ class ProcessDescriptionsTest {
                 .generatedFile(
                         StandardLocation.CLASS_OUTPUT,
                         "",
-                        ALLURE_DESCRIPTIONS_FOLDER + expectedMethodSignatureHash
+                        SAMPLE_DESCRIPTIONS
                 )
                 .contentsAsUtf8String()
-                .contains("Captured javadoc description");
+                .contains(expectedMethodSignature + "=Captured javadoc description");
     }
 
     @Test
@@ -121,7 +138,8 @@ class ProcessDescriptionsTest {
 
     @Test
     void captureDescriptionParametrizedTestWithGenericParameterTest() {
-        final String expectedMethodSignatureHash = "e90e26691bf14511db819d78624ba716";
+        final String expectedMethodSignature = "io.qameta.allure.description.test.DescriptionSample"
+                + "#sampleParametrizedTestWithGenericParameterAndJavadocComment(java.util.List)";
 
         final JavaFileObject source = JavaFileObjects.forSourceLines(
                 "io.qameta.allure.description.test.DescriptionSample",
@@ -155,13 +173,16 @@ class ProcessDescriptionsTest {
         assertThat(compilation).generatedFile(
                 StandardLocation.CLASS_OUTPUT,
                 "",
-                ALLURE_DESCRIPTIONS_FOLDER + expectedMethodSignatureHash
-        );
+                SAMPLE_DESCRIPTIONS
+        )
+                .contentsAsUtf8String()
+                .isEqualTo(expectedMethodSignature + "=Captured javadoc description\n");
     }
 
     @Test
     void captureDescriptionParametrizedTestWithPrimitivesParameterTest() {
-        final String expectedMethodSignatureHash = "edeeeaa02f01218cc206e0c6ff024c7a";
+        final String expectedMethodSignature = "io.qameta.allure.description.test.DescriptionSample"
+                + "#sampleParametrizedTestWithPrimitivesParameterAndJavadocComment(int)";
 
         final JavaFileObject source = JavaFileObjects.forSourceLines(
                 "io.qameta.allure.description.test.DescriptionSample",
@@ -189,9 +210,134 @@ class ProcessDescriptionsTest {
                 .generatedFile(
                         StandardLocation.CLASS_OUTPUT,
                         "",
-                        ALLURE_DESCRIPTIONS_FOLDER + expectedMethodSignatureHash
+                        SAMPLE_DESCRIPTIONS
                 )
                 .contentsAsUtf8String()
-                .isEqualTo("Captured javadoc description");
+                .isEqualTo(expectedMethodSignature + "=Captured javadoc description\n");
+    }
+
+    @Test
+    void shouldCollectDescriptionsOfNestedClassesIntoTopLevelClassResource() {
+        final JavaFileObject first = JavaFileObjects.forSourceLines(
+                "io.qameta.allure.description.test.FirstSample",
+                "package io.qameta.allure.description.test;",
+                "import io.qameta.allure.Description;",
+                "",
+                "public class FirstSample {",
+                "",
+                "/**",
+                "* First line",
+                "* second: line",
+                "*/",
+                "@Description",
+                "public void first(String[] values) {",
+                "}",
+                "}"
+        );
+        final JavaFileObject second = JavaFileObjects.forSourceLines(
+                "io.qameta.allure.description.test.SecondSample",
+                "package io.qameta.allure.description.test;",
+                "import io.qameta.allure.Description;",
+                "",
+                "public class SecondSample {",
+                "",
+                "public static class Nested {",
+                "/**",
+                "* Nested description",
+                "*/",
+                "@Description",
+                "public <T> void second(T value) {",
+                "}",
+                "}",
+                "}"
+        );
+
+        final Compiler compiler = javac().withProcessors(new JavaDocDescriptionsProcessor())
+                .withOptions("-Werror");
+        final Compilation compilation = compiler.compile(first, second);
+        assertThat(compilation)
+                .generatedFile(
+                        StandardLocation.CLASS_OUTPUT,
+                        "",
+                        ALLURE_DESCRIPTIONS_FOLDER + "io.qameta.allure.description.test.FirstSample.properties"
+                )
+                .contentsAsUtf8String()
+                .isEqualTo("io.qameta.allure.description.test.FirstSample#first(java.lang.String[])"
+                        + "=First line\\n second: line\n");
+        assertThat(compilation)
+                .generatedFile(
+                        StandardLocation.CLASS_OUTPUT,
+                        "",
+                        ALLURE_DESCRIPTIONS_FOLDER + "io.qameta.allure.description.test.SecondSample.properties"
+                )
+                .contentsAsUtf8String()
+                .isEqualTo("io.qameta.allure.description.test.SecondSample$Nested#second(java.lang.Object)"
+                        + "=Nested description\n");
+    }
+
+    @Test
+    void shouldKeepDescriptionsOfClassesNotRecompiled(@TempDir final Path directory) throws IOException {
+        final Path sources = Files.createDirectories(directory.resolve("src"));
+        final Path output = Files.createDirectories(directory.resolve("classes"));
+        final Path first = writeSource(sources, "FirstSample", "First description", "");
+        final Path second = writeSource(sources, "SecondSample", "Second description", "");
+        compile(output, first, second);
+
+        final Path changed = writeSource(sources, "SecondSample", "Changed description", "private FirstSample first;");
+        compile(output, changed);
+
+        assertThat(readDescriptions(output, "FirstSample"))
+                .containsEntry("io.qameta.allure.description.test.FirstSample#sampleTest()", "First description");
+        assertThat(readDescriptions(output, "SecondSample"))
+                .containsEntry("io.qameta.allure.description.test.SecondSample#sampleTest()", "Changed description");
+    }
+
+    private static Path writeSource(final Path sources,
+                                    final String className,
+                                    final String description,
+                                    final String field) throws IOException {
+        final Path source = sources.resolve(className + ".java");
+        final String content = String.join("\n",
+                "package io.qameta.allure.description.test;",
+                "import io.qameta.allure.Description;",
+                "",
+                "public class " + className + " {",
+                field,
+                "/**",
+                "* " + description,
+                "*/",
+                "@Description",
+                "public void sampleTest() {",
+                "}",
+                "}"
+        );
+        return Files.write(source, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void compile(final Path output, final Path... sources) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(
+                null, null, StandardCharsets.UTF_8)) {
+            final Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(sources);
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    Arrays.asList(
+                            "-d", output.toString(),
+                            "-classpath", output + File.pathSeparator + System.getProperty("java.class.path")
+                    ),
+                    null, units);
+            task.setProcessors(Collections.singletonList(new JavaDocDescriptionsProcessor()));
+            assertThat(task.call())
+                    .isTrue();
+        }
+    }
+
+    private static Properties readDescriptions(final Path output, final String className) throws IOException {
+        final Path resource = output.resolve(ALLURE_DESCRIPTIONS_FOLDER
+                + "io.qameta.allure.description.test." + className + ".properties");
+        final Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(resource, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return properties;
     }
 }
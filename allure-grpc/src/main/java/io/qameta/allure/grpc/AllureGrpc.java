@@ -30,16 +30,16 @@ import io.qameta.allure.Allure;
 import io.qameta.allure.attachment.AttachmentData;
 import io.qameta.allure.attachment.AttachmentProcessor;
 import io.qameta.allure.attachment.DefaultAttachmentProcessor;
-import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.FreemarkerRendererRegistry;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StepResult;
+import io.qameta.allure.util.IdUtils;
 import io.qameta.allure.util.ResultsUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 import static java.util.Objects.requireNonNull;
 
@@ -101,7 +101,7 @@ public class AllureGrpc implements ClientInterceptor {
             @SuppressWarnings("PMD.MethodArgumentCouldBeFinal")
             @Override
             public void sendMessage(T message) {
-                stepUuid = UUID.randomUUID().toString();
+                stepUuid = IdUtils.nextId();
                 Allure.getLifecycle().startStep(stepUuid, (new StepResult()).setName(
                         "Send gRPC request to "
                                 + next.authority()
@@ -112,7 +112,10 @@ public class AllureGrpc implements ClientInterceptor {
                             .create("gRPC request", method.getFullMethodName())
                             .setBody(JSON_PRINTER.print((MessageOrBuilder) message))
                             .build();
-                    processor.addAttachment(rpcRequestAttach, new FreemarkerAttachmentRenderer(requestTemplatePath));
+                    processor.addAttachment(
+                            rpcRequestAttach,
+                            FreemarkerRendererRegistry.getRenderer(requestTemplatePath)
+                    );
                     super.sendMessage(message);
                 } catch (InvalidProtocolBufferException e) {
                     LOGGER.warn("Can`t parse gRPC request", e);
@@ -170,7 +173,7 @@ public class AllureGrpc implements ClientInterceptor {
                         }
                         processor.addAttachment(
                                 requireNonNull(responseAttachmentBuilder).build(),
-                                new FreemarkerAttachmentRenderer(responseTemplatePath)
+                                FreemarkerRendererRegistry.getRenderer(responseTemplatePath)
                         );
 
                         if (status.isOk() || !markStepFailedOnNonZeroCode) {
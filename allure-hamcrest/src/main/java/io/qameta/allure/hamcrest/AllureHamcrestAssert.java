@@ -15,6 +15,7 @@
  */
 package io.qameta.allure.hamcrest;
 
+import io.qameta.allure.util.IdUtils;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
@@ -29,7 +30,6 @@ import io.qameta.allure.util.ObjectUtils;
 import org.hamcrest.Matcher;
 import org.hamcrest.StringDescription;
 
-import java.util.UUID;
 
 import static io.qameta.allure.util.ResultsUtils.getStatus;
 
@@ -97,7 +97,7 @@ public class AllureHamcrestAssert {
                     .toString();
 
             getLifecycle().startStep(
-                    UUID.randomUUID().toString(),
+                    IdUtils.nextId(),
                     new StepResult()
                             .setName(reason.isEmpty() ? expecting : expecting + " | " + reason)
                             .setDescription("Hamcrest assert")
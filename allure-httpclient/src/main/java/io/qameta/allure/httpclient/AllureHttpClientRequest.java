@@ -19,7 +19,7 @@ import io.qameta.allure.attachment.AttachmentData;
 import io.qameta.allure.attachment.AttachmentProcessor;
 import io.qameta.allure.attachment.AttachmentRenderer;
 import io.qameta.allure.attachment.DefaultAttachmentProcessor;
-import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.FreemarkerRendererRegistry;
 import io.qameta.allure.attachment.http.HttpRequestAttachment;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpEntityEnclosingRequest;
@@ -43,7 +43,7 @@ public class AllureHttpClientRequest implements HttpRequestInterceptor {
     private final AttachmentProcessor<AttachmentData> processor;
 
     public AllureHttpClientRequest() {
-        this(new FreemarkerAttachmentRenderer("http-request.ftl"),
+        this(FreemarkerRendererRegistry.getRenderer("http-request.ftl"),
              new DefaultAttachmentProcessor()
         );
     }
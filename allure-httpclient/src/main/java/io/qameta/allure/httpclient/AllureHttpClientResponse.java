@@ -19,7 +19,7 @@ import io.qameta.allure.attachment.AttachmentData;
 import io.qameta.allure.attachment.AttachmentProcessor;
 import io.qameta.allure.attachment.AttachmentRenderer;
 import io.qameta.allure.attachment.DefaultAttachmentProcessor;
-import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.FreemarkerRendererRegistry;
 import io.qameta.allure.attachment.http.HttpResponseAttachment;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpResponseInterceptor;
@@ -41,7 +41,7 @@ public class AllureHttpClientResponse implements HttpResponseInterceptor {
     private final AttachmentProcessor<AttachmentData> processor;
 
     public AllureHttpClientResponse() {
-        this(new FreemarkerAttachmentRenderer("http-response.ftl"),
+        this(FreemarkerRendererRegistry.getRenderer("http-response.ftl"),
                 new DefaultAttachmentProcessor()
         );
     }
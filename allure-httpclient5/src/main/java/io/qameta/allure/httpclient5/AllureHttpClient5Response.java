@@ -19,7 +19,7 @@ import io.qameta.allure.attachment.AttachmentData;
 import io.qameta.allure.attachment.AttachmentProcessor;
 import io.qameta.allure.attachment.AttachmentRenderer;
 import io.qameta.allure.attachment.DefaultAttachmentProcessor;
-import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.FreemarkerRendererRegistry;
 import io.qameta.allure.attachment.http.HttpResponseAttachment;
 import org.apache.hc.core5.http.EntityDetails;
 import org.apache.hc.core5.http.HttpEntity;
@@ -51,7 +51,7 @@ public class AllureHttpClient5Response implements HttpResponseInterceptor {
     }
 
     public AllureHttpClient5Response(final String templateName) {
-        this(new FreemarkerAttachmentRenderer(templateName), new DefaultAttachmentProcessor());
+        this(FreemarkerRendererRegistry.getRenderer(templateName), new DefaultAttachmentProcessor());
     }
 
     public AllureHttpClient5Response(final AttachmentRenderer<AttachmentData> renderer,
@@ -22,8 +22,8 @@ import io.qameta.allure.aspects.AttachmentsAspects;
 import io.qameta.allure.aspects.StepsAspects;
 import io.qameta.allure.model.TestResult;
 import io.qameta.allure.util.ExceptionUtils;
+import io.qameta.allure.util.IdUtils;
 
-import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -120,7 +120,7 @@ public final class RunUtils {
     }
 
     private static void withTestContext(final Runnable runnable, final AllureLifecycle lifecycle) {
-        final String uuid = UUID.randomUUID().toString();
+        final String uuid = IdUtils.nextId();
         final TestResult result = new TestResult().setUuid(uuid);
 
         try {
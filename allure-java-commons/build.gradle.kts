@@ -66,4 +66,19 @@ tasks {
         dependsOn(shadowJar)
         useJUnitPlatform()
     }
+
+    register<Test>("virtualThreadsTest") {
+        description = "Runs virtual threads tests on JDK 21."
+        group = "verification"
+        dependsOn(shadowJar)
+        testClassesDirs = sourceSets.getByName("test").output.classesDirs
+        classpath = sourceSets.getByName("test").runtimeClasspath
+        javaLauncher.set(javaToolchains.launcherFor {
+            languageVersion.set(JavaLanguageVersion.of(21))
+        })
+        useJUnitPlatform()
+        filter {
+            includeTestsMatching("*VirtualThreads*")
+        }
+    }
 }
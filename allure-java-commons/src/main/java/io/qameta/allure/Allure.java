@@ -21,13 +21,14 @@ import io.qameta.allure.model.Parameter;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StepResult;
 import io.qameta.allure.util.ExceptionUtils;
+import io.qameta.allure.util.IdUtils;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
-import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static io.qameta.allure.util.ResultsUtils.EPIC_LABEL_NAME;
@@ -40,7 +41,6 @@ import static io.qameta.allure.util.ResultsUtils.createParameter;
 import static io.qameta.allure.util.ResultsUtils.getStatus;
 import static io.qameta.allure.util.ResultsUtils.getStatusDetails;
 import static java.util.Arrays.asList;
-import static java.util.concurrent.CompletableFuture.supplyAsync;
 
 /**
  * The class contains some useful methods to work with {@link AllureLifecycle}.
@@ -97,7 +97,7 @@ public final class Allure {
      * @param status the step status.
      */
     public static void step(final String name, final Status status) {
-        final String uuid = UUID.randomUUID().toString();
+        final String uuid = IdUtils.nextId();
         getLifecycle().startStep(uuid, new StepResult().setName(name).setStatus(status));
         getLifecycle().stopStep(uuid);
     }
@@ -174,7 +174,7 @@ public final class Allure {
      * @param runnable the step's body.
      */
     public static <T> T step(final ThrowableContextRunnable<T, StepContext> runnable) {
-        final String uuid = UUID.randomUUID().toString();
+        final String uuid = IdUtils.nextId();
         getLifecycle().startStep(uuid, new StepResult().setName("step"));
 
         try {
@@ -467,8 +467,7 @@ public final class Allure {
     public static CompletableFuture<byte[]> addByteAttachmentAsync(
             final String name, final String type, final String fileExtension, final Supplier<byte[]> body) {
         final String source = getLifecycle().prepareAttachment(name, type, fileExtension);
-        return supplyAsync(body).whenComplete((result, ex) ->
-                getLifecycle().writeAttachment(source, new ByteArrayInputStream(result)));
+        return getLifecycle().writeAttachmentAsync(source, body, ByteArrayInputStream::new);
     }
 
     public static CompletableFuture<InputStream> addStreamAttachmentAsync(
@@ -478,8 +477,8 @@ public final class Allure {
 
     public static CompletableFuture<InputStream> addStreamAttachmentAsync(
             final String name, final String type, final String fileExtension, final Supplier<InputStream> body) {
-        final String source = lifecycle.prepareAttachment(name, type, fileExtension);
-        return supplyAsync(body).whenComplete((result, ex) -> lifecycle.writeAttachment(source, result));
+        final String source = getLifecycle().prepareAttachment(name, type, fileExtension);
+        return getLifecycle().writeAttachmentAsync(source, body, Function.identity());
     }
 
     /**
@@ -16,13 +16,16 @@
 package io.qameta.allure;
 
 import io.qameta.allure.internal.AllureStorage;
+import io.qameta.allure.internal.AsyncAttachments;
 import io.qameta.allure.internal.AllureThreadContext;
+import io.qameta.allure.internal.AttachmentSpool;
 import io.qameta.allure.listener.ContainerLifecycleListener;
 import io.qameta.allure.listener.FixtureLifecycleListener;
 import io.qameta.allure.listener.LifecycleNotifier;
 import io.qameta.allure.listener.StepLifecycleListener;
 import io.qameta.allure.listener.TestLifecycleListener;
 import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.ExecutableItem;
 import io.qameta.allure.model.FixtureResult;
 import io.qameta.allure.model.Stage;
 import io.qameta.allure.model.StepResult;
@@ -30,18 +33,27 @@ import io.qameta.allure.model.TestResult;
 import io.qameta.allure.model.TestResultContainer;
 import io.qameta.allure.model.WithAttachments;
 import io.qameta.allure.model.WithSteps;
+import io.qameta.allure.util.IdUtils;
 import io.qameta.allure.util.PropertiesUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
-import java.util.UUID;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static io.qameta.allure.AllureConstants.ATTACHMENT_FILE_SUFFIX;
 import static io.qameta.allure.util.ServiceLoaderUtils.load;
@@ -62,6 +74,12 @@ public class AllureLifecycle {
 
     private final LifecycleNotifier notifier;
 
+    private final AttachmentRetentionPolicy retentionPolicy;
+
+    private final AttachmentSpool spool;
+
+    private final AsyncAttachments asyncAttachments;
+
     /**
      * Creates a new lifecycle with default results writer. Shortcut
      * for {@link #AllureLifecycle(AllureResultsWriter)}
@@ -76,7 +94,18 @@ public class AllureLifecycle {
      * @param writer the results writer.
      */
     public AllureLifecycle(final AllureResultsWriter writer) {
-        this(writer, getDefaultNotifier());
+        this(writer, getDefaultRetentionPolicy());
+    }
+
+    /**
+     * Creates a new lifecycle instance with specified {@link AllureResultsWriter}
+     * and {@link AttachmentRetentionPolicy}.
+     *
+     * @param writer          the results writer.
+     * @param retentionPolicy the attachment retention policy.
+     */
+    public AllureLifecycle(final AllureResultsWriter writer, final AttachmentRetentionPolicy retentionPolicy) {
+        this(writer, getDefaultNotifier(), retentionPolicy);
     }
 
     /**
@@ -86,10 +115,22 @@ public class AllureLifecycle {
      * @param writer the results writer.
      */
     AllureLifecycle(final AllureResultsWriter writer, final LifecycleNotifier lifecycleNotifier) {
+        this(writer, lifecycleNotifier, getDefaultRetentionPolicy());
+    }
+
+    AllureLifecycle(final AllureResultsWriter writer,
+                    final LifecycleNotifier lifecycleNotifier,
+                    final AttachmentRetentionPolicy retentionPolicy) {
         this.notifier = lifecycleNotifier;
         this.writer = writer;
         this.storage = new AllureStorage();
         this.threadContext = new AllureThreadContext();
+        this.retentionPolicy = retentionPolicy;
+        final Properties properties = PropertiesUtils.loadAllureProperties();
+        this.spool = retentionPolicy == AttachmentRetentionPolicy.RETAIN_ALL
+                ? null
+                : new AttachmentSpool(getResultsDirectory(properties));
+        this.asyncAttachments = AsyncAttachments.fromProperties(properties);
     }
 
     /**
@@ -100,7 +141,7 @@ public class AllureLifecycle {
      */
     public void startTestContainer(final String containerUuid, final TestResultContainer container) {
         storage.getContainer(containerUuid).ifPresent(parent -> {
-            synchronized (storage) {
+            synchronized (parent) {
                 parent.getChildren().add(container.getUuid());
             }
         });
@@ -182,7 +223,7 @@ public class AllureLifecycle {
      */
     public void startPrepareFixture(final String containerUuid, final String uuid, final FixtureResult result) {
         storage.getContainer(containerUuid).ifPresent(container -> {
-            synchronized (storage) {
+            synchronized (container) {
                 container.getBefores().add(result);
             }
         });
@@ -200,7 +241,7 @@ public class AllureLifecycle {
      */
     public void startTearDownFixture(final String containerUuid, final String uuid, final FixtureResult result) {
         storage.getContainer(containerUuid).ifPresent(container -> {
-            synchronized (storage) {
+            synchronized (container) {
                 container.getAfters().add(result);
             }
         });
@@ -299,6 +340,30 @@ public class AllureLifecycle {
         return threadContext.getCurrent();
     }
 
+    /**
+     * Captures test case and step context of current thread. Use the snapshot
+     * to continue the test case in other threads, e.g. thread pool tasks.
+     *
+     * @return the snapshot of current thread context.
+     * @see io.qameta.allure.util.ThreadContextUtils
+     */
+    public ThreadContextSnapshot captureContext() {
+        return new ThreadContextSnapshot(threadContext.snapshot());
+    }
+
+    /**
+     * Restores test case and step context captured by {@link #captureContext()}
+     * in current thread. Steps started after the call are added to the captured
+     * step or test case.
+     *
+     * @param snapshot the snapshot to restore.
+     * @return the replaced context, should be restored once the work is done.
+     */
+    public ThreadContextSnapshot restoreContext(final ThreadContextSnapshot snapshot) {
+        Objects.requireNonNull(snapshot, "context snapshot");
+        return new ThreadContextSnapshot(threadContext.restore(snapshot.getSnapshot()));
+    }
+
     /**
      * Sets specified test case uuid as current. Note that
      * test case with such uuid should be created and existed in storage, otherwise
@@ -325,7 +390,7 @@ public class AllureLifecycle {
      */
     public void scheduleTestCase(final String containerUuid, final TestResult result) {
         storage.getContainer(containerUuid).ifPresent(container -> {
-            synchronized (storage) {
+            synchronized (container) {
                 container.getChildren().add(result.getUuid());
             }
         });
@@ -439,6 +504,8 @@ public class AllureLifecycle {
 
         final TestResult testResult = found.get();
         notifier.beforeTestWrite(testResult);
+        asyncAttachments.await(uuid);
+        releaseAttachments(testResult);
         writer.write(testResult);
         storage.remove(uuid);
         notifier.afterTestWrite(testResult);
@@ -478,7 +545,7 @@ public class AllureLifecycle {
 
         storage.put(uuid, result);
         storage.get(parentUuid, WithSteps.class).ifPresent(parentStep -> {
-            synchronized (storage) {
+            synchronized (parentStep) {
                 parentStep.getSteps().add(result);
             }
         });
@@ -587,6 +654,22 @@ public class AllureLifecycle {
         writeAttachment(prepareAttachment(name, type, fileExtension), stream);
     }
 
+    /**
+     * Adds attachment stored in given file to current running test or step. The file
+     * is linked or copied to results, see {@link AllureResultsWriter#write(String, Path)}.
+     * If attachment retention policy is configured, the file should stay in place
+     * until the test is written.
+     *
+     * @param name          the name of attachment
+     * @param type          the content type of attachment
+     * @param fileExtension the attachment file extension
+     * @param file          the file that contains attachment content
+     */
+    public void addAttachment(final String name, final String type,
+                              final String fileExtension, final Path file) {
+        writeAttachment(prepareAttachment(name, type, fileExtension), file);
+    }
+
     /**
      * Adds attachment to current running test or step, and returns source. In order
      * to store attachment content use {@link #writeAttachment(String, InputStream)} method.
@@ -602,7 +685,7 @@ public class AllureLifecycle {
                 .filter(ext -> !ext.isEmpty())
                 .map(ext -> ext.charAt(0) == '.' ? ext : "." + ext)
                 .orElse("");
-        final String source = UUID.randomUUID() + ATTACHMENT_FILE_SUFFIX + extension;
+        final String source = IdUtils.nextId() + ATTACHMENT_FILE_SUFFIX + extension;
 
         final Optional<String> current = threadContext.getCurrent();
         if (!current.isPresent()) {
@@ -617,31 +700,135 @@ public class AllureLifecycle {
 
         final String uuid = current.get();
         storage.get(uuid, WithAttachments.class).ifPresent(withAttachments -> {
-            synchronized (storage) {
+            synchronized (withAttachments) {
                 withAttachments.getAttachments().add(attachment);
             }
+            if (Objects.nonNull(spool)) {
+                threadContext.getRoot()
+                        .filter(root -> storage.getTestResult(root).isPresent())
+                        .ifPresent(root -> spool.register(root, attachment));
+            }
         });
         return attachment.getSource();
     }
 
     /**
-     * Writes attachment with specified source.
+     * Writes attachment with specified source. If attachment retention policy is configured,
+     * content of test attachments is held in temporary file until the test is written.
      *
      * @param attachmentSource the source of attachment.
      * @param stream           the attachment content.
      */
     public void writeAttachment(final String attachmentSource, final InputStream stream) {
+        if (Objects.nonNull(spool)) {
+            try {
+                if (spool.write(attachmentSource, stream)) {
+                    return;
+                }
+            } catch (IOException e) {
+                throw new AllureResultsWriteException("Could not write Allure attachment", e);
+            }
+        }
         writer.write(attachmentSource, stream);
     }
 
+    /**
+     * Writes attachment with specified source from given file. If attachment retention policy
+     * is configured, the file is not copied, so it should stay in place until the test is written.
+     *
+     * @param attachmentSource the source of attachment.
+     * @param file             the file that contains attachment content.
+     */
+    public void writeAttachment(final String attachmentSource, final Path file) {
+        if (Objects.nonNull(spool) && spool.write(attachmentSource, file)) {
+            return;
+        }
+        writer.write(attachmentSource, file);
+    }
+
+    /**
+     * Computes attachment content on attachments thread pool and writes it with specified source.
+     * The test the attachment is added to isn't written until the content is written or
+     * {@code allure.attachments.async.timeout} elapses.
+     *
+     * @param attachmentSource the source of attachment.
+     * @param body             the attachment content supplier.
+     * @param content          the function that converts computed content to stream.
+     * @param <T>              the type of computed content.
+     * @return the future completed once the attachment is written.
+     */
+    public <T> CompletableFuture<T> writeAttachmentAsync(final String attachmentSource,
+                                                         final Supplier<T> body,
+                                                         final Function<? super T, InputStream> content) {
+        final String owner = threadContext.getRoot().orElse(null);
+        return asyncAttachments.submit(
+                owner, body, result -> writeAttachment(attachmentSource, content.apply(result))
+        );
+    }
+
+    /**
+     * Blocks until all the results written so far are stored by configured
+     * {@link AllureResultsWriter}. Should be called by integrations once test run is finished.
+     * Attachments held by attachment retention policy for tests that are not written yet
+     * are kept until the tests are written, and discarded on JVM shutdown.
+     */
+    public void flush() {
+        asyncAttachments.awaitAll();
+        writer.flush();
+        if (Objects.nonNull(spool)) {
+            spool.purgeReleased();
+        }
+    }
+
+    private void releaseAttachments(final TestResult testResult) {
+        if (Objects.isNull(spool)) {
+            return;
+        }
+        final List<Attachment> discarded = spool.release(
+                testResult.getUuid(),
+                attachment -> retentionPolicy.isRetained(testResult, attachment),
+                writer
+        );
+        if (!discarded.isEmpty()) {
+            final Set<Attachment> attachments = Collections.newSetFromMap(new IdentityHashMap<>());
+            attachments.addAll(discarded);
+            removeAttachments(testResult, attachments);
+        }
+    }
+
+    private static void removeAttachments(final ExecutableItem item, final Set<Attachment> attachments) {
+        item.getAttachments().removeIf(attachments::contains);
+        for (StepResult step : item.getSteps()) {
+            if (Objects.nonNull(step)) {
+                removeAttachments(step, attachments);
+            }
+        }
+    }
+
     private boolean isEmpty(final String s) {
         return Objects.isNull(s) || s.isEmpty();
     }
 
-    private static FileSystemResultsWriter getDefaultWriter() {
+    private static AllureResultsWriter getDefaultWriter() {
         final Properties properties = PropertiesUtils.loadAllureProperties();
-        final String path = properties.getProperty("allure.results.directory", "allure-results");
-        return new FileSystemResultsWriter(Paths.get(path));
+        final FileSystemResultsWriter writer = new FileSystemResultsWriter(
+                getResultsDirectory(properties),
+                Boolean.parseBoolean(properties.getProperty(
+                        FileSystemResultsWriter.DEDUPLICATE_ATTACHMENTS_PROPERTY_NAME
+                ))
+        );
+        if (!Boolean.parseBoolean(properties.getProperty(AsyncResultsWriter.ASYNC_ENABLED_PROPERTY_NAME))) {
+            return writer;
+        }
+        return AsyncResultsWriter.fromProperties(writer, properties);
+    }
+
+    private static Path getResultsDirectory(final Properties properties) {
+        return Paths.get(properties.getProperty("allure.results.directory", "allure-results"));
+    }
+
+    private static AttachmentRetentionPolicy getDefaultRetentionPolicy() {
+        return StatusAttachmentRetentionPolicy.fromProperties(PropertiesUtils.loadAllureProperties());
     }
 
     private static LifecycleNotifier getDefaultNotifier() {
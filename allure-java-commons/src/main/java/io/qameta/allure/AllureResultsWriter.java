@@ -18,7 +18,10 @@ package io.qameta.allure;
 import io.qameta.allure.model.TestResult;
 import io.qameta.allure.model.TestResultContainer;
 
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.nio.file.Path;
 
 /**
  * @author charlie (Dmitry Baev).
@@ -55,4 +58,33 @@ public interface AllureResultsWriter {
      */
     void write(String source, InputStream attachment);
 
+    /**
+     * Writes attachment stored in given file. The file is left in place, but writers
+     * may store a hard link to it, so the file shouldn't be modified in place afterwards.
+     * By default, the file content is written using {@link #write(String, InputStream)}.
+     *
+     * @param source     the file name of the attachment.
+     * @param attachment the file that contains attachment body.
+     * @throws AllureResultsWriteException if some error occurs
+     *                                     during operation.
+     */
+    default void write(final String source, final Path attachment) {
+        try {
+            write(source, new FileInputStream(attachment.toFile()));
+        } catch (FileNotFoundException e) {
+            throw new AllureResultsWriteException("Could not read Allure attachment " + attachment, e);
+        }
+    }
+
+    /**
+     * Blocks until all the results accepted by the writer so far are stored.
+     * Writers that store results synchronously don't need to override it.
+     *
+     * @throws AllureResultsWriteException if some error occurs
+     *                                     during operation.
+     */
+    default void flush() {
+        //do nothing by default
+    }
+
 }
@@ -0,0 +1,579 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import static io.qameta.allure.util.PropertiesUtils.getPositive;
+
+/**
+ * Results writer that hands results off to a queue drained by dedicated writer threads,
+ * so test threads don't wait for the file system. All the write operations are delegated
+ * to the wrapped writer.
+ *
+ * <p>Results are captured before the write method returns, so later changes of the result
+ * objects don't affect written results: results for {@link FileSystemResultsWriter} are
+ * serialized on the calling thread, results for other writers are copied. Attachment
+ * streams are read before the write method returns as well: small attachments are
+ * buffered in memory, bigger ones in temporary files. The queue is bounded by the size
+ * of content it holds in memory.
+ *
+ * <p>Results accepted by the writer are stored on {@link #flush()}, {@link #close()}
+ * or JVM shutdown, whichever happens first, but no longer than configured timeout.
+ */
+public class AsyncResultsWriter implements AllureResultsWriter, Closeable {
+
+    public static final String ASYNC_ENABLED_PROPERTY_NAME = "allure.results.async.enabled";
+    public static final String ASYNC_QUEUE_BYTES_PROPERTY_NAME = "allure.results.async.queueBytes";
+    public static final String ASYNC_THREADS_PROPERTY_NAME = "allure.results.async.threads";
+    public static final String ASYNC_BACKPRESSURE_PROPERTY_NAME = "allure.results.async.backpressure";
+    public static final String ASYNC_TIMEOUT_PROPERTY_NAME = "allure.results.async.timeout";
+
+    public static final long DEFAULT_QUEUE_BYTES = 64L * 1024 * 1024;
+    public static final int DEFAULT_THREADS = 1;
+    public static final long DEFAULT_TIMEOUT_MILLIS = 60_000L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncResultsWriter.class);
+
+    private static final AtomicInteger WRITER_COUNTER = new AtomicInteger();
+
+    private static final long KEEP_ALIVE_SECONDS = 30L;
+
+    private static final int ATTACHMENT_BUFFER_SIZE = 1024 * 1024;
+
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    private final AllureResultsWriter delegate;
+
+    private final long queueBytes;
+
+    private final Backpressure backpressure;
+
+    private final long timeoutMillis;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Set<WriteTask> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Guards {@link #queued}, signals on each written task.
+     */
+    private final Lock lock = new ReentrantLock();
+
+    private final Condition written = lock.newCondition();
+
+    /**
+     * The size of content held in memory by pending tasks.
+     */
+    private long queued;
+
+    private final AtomicBoolean registered = new AtomicBoolean();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Creates a new writer with default queue size, single writer thread
+     * and {@link Backpressure#BLOCK} backpressure.
+     *
+     * @param delegate the writer to delegate write operations to.
+     */
+    public AsyncResultsWriter(final AllureResultsWriter delegate) {
+        this(delegate, DEFAULT_QUEUE_BYTES, DEFAULT_THREADS, Backpressure.BLOCK);
+    }
+
+    /**
+     * Creates a new writer with default flush timeout.
+     *
+     * @param delegate     the writer to delegate write operations to.
+     * @param queueBytes   the maximum size of content waiting to be written.
+     * @param threads      the number of writer threads.
+     * @param backpressure the behaviour when the queue is full.
+     */
+    public AsyncResultsWriter(final AllureResultsWriter delegate,
+                              final long queueBytes,
+                              final int threads,
+                              final Backpressure backpressure) {
+        this(delegate, queueBytes, threads, backpressure, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Creates a new writer. Writer threads are started on demand and stopped once idle.
+     *
+     * @param delegate      the writer to delegate write operations to.
+     * @param queueBytes    the maximum size of content waiting to be written. A single
+     *                      result or attachment bigger than that is accepted once the queue is empty.
+     * @param threads       the number of writer threads.
+     * @param backpressure  the behaviour when the queue is full.
+     * @param timeoutMillis the maximum time to wait for pending results on flush.
+     */
+    public AsyncResultsWriter(final AllureResultsWriter delegate,
+                              final long queueBytes,
+                              final int threads,
+                              final Backpressure backpressure,
+                              final long timeoutMillis) {
+        this.delegate = delegate;
+        this.queueBytes = Math.max(1L, queueBytes);
+        this.backpressure = backpressure;
+        this.timeoutMillis = Math.max(1L, timeoutMillis);
+        final int poolSize = Math.max(1, threads);
+        final String prefix = "allure-results-writer-" + WRITER_COUNTER.incrementAndGet() + "-";
+        final AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, prefix + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Creates a new writer configured by {@link #ASYNC_QUEUE_BYTES_PROPERTY_NAME},
+     * {@link #ASYNC_THREADS_PROPERTY_NAME}, {@link #ASYNC_BACKPRESSURE_PROPERTY_NAME}
+     * and {@link #ASYNC_TIMEOUT_PROPERTY_NAME} properties. Defaults are used for invalid
+     * values, values less than 1 are replaced with 1.
+     *
+     * @param delegate   the writer to delegate write operations to.
+     * @param properties the properties.
+     * @return the new writer.
+     */
+    public static AsyncResultsWriter fromProperties(final AllureResultsWriter delegate,
+                                                    final Properties properties) {
+        return new AsyncResultsWriter(
+                delegate,
+                getPositive(properties, ASYNC_QUEUE_BYTES_PROPERTY_NAME, DEFAULT_QUEUE_BYTES),
+                (int) getPositive(properties, ASYNC_THREADS_PROPERTY_NAME, DEFAULT_THREADS),
+                Backpressure.fromString(properties.getProperty(ASYNC_BACKPRESSURE_PROPERTY_NAME, "block")),
+                getPositive(properties, ASYNC_TIMEOUT_PROPERTY_NAME, DEFAULT_TIMEOUT_MILLIS)
+        );
+    }
+
+    @Override
+    public void write(final TestResult testResult) {
+        final String description = "test result " + testResult.getUuid();
+        if (isFileSystemDelegate()) {
+            final FileSystemResultsWriter writer = (FileSystemResultsWriter) delegate;
+            final String fileName = FileSystemResultsWriter.getFileName(testResult);
+            final byte[] content = writer.serialize(testResult);
+            submit(description, content.length, false, () -> writer.write(fileName, content));
+            return;
+        }
+        final byte[] copy = copy(testResult);
+        if (Objects.isNull(copy)) {
+            delegate.write(testResult);
+            return;
+        }
+        submit(description, copy.length, false, () -> delegate.write((TestResult) read(copy)));
+    }
+
+    @Override
+    public void write(final TestResultContainer testResultContainer) {
+        final String description = "test result container " + testResultContainer.getUuid();
+        if (isFileSystemDelegate()) {
+            final FileSystemResultsWriter writer = (FileSystemResultsWriter) delegate;
+            final String fileName = FileSystemResultsWriter.getFileName(testResultContainer);
+            final byte[] content = writer.serialize(testResultContainer);
+            submit(description, content.length, false, () -> writer.write(fileName, content));
+            return;
+        }
+        final byte[] copy = copy(testResultContainer);
+        if (Objects.isNull(copy)) {
+            delegate.write(testResultContainer);
+            return;
+        }
+        submit(description, copy.length, false, () -> delegate.write((TestResultContainer) read(copy)));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The stream is read and closed before the method returns, the content is buffered
+     * in memory or, for big attachments, in temporary file until it's written.
+     */
+    @Override
+    public void write(final String source, final InputStream attachment) {
+        if (closed.get()) {
+            delegate.write(source, attachment);
+            return;
+        }
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final Path file;
+        try (InputStream is = attachment) {
+            file = buffer(is, buffer);
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not read Allure attachment", e);
+        }
+        final String description = "attachment " + source;
+        if (Objects.isNull(file)) {
+            final byte[] content = buffer.toByteArray();
+            submit(description, content.length, true,
+                    () -> delegate.write(source, new ByteArrayInputStream(content)));
+            return;
+        }
+        final boolean accepted = submit(description, 0, true, () -> {
+            try {
+                delegate.write(source, file);
+            } finally {
+                deleteQuietly(file);
+            }
+        });
+        if (!accepted) {
+            deleteQuietly(file);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The file is read on the writer thread, so it should stay in place after the method returns.
+     */
+    @Override
+    public void write(final String source, final Path attachment) {
+        submit("attachment " + source, 0, true, () -> delegate.write(source, attachment));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Waits no longer than configured timeout. Results that are not written by then are logged.
+     * Waits on a {@link Lock} rather than object monitor, so virtual threads calling the method
+     * don't pin their carrier threads.
+     */
+    @Override
+    public void flush() {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        lock.lock();
+        try {
+            while (!pending.isEmpty()) {
+                final long left = deadline - System.nanoTime();
+                if (left <= 0) {
+                    LOGGER.warn("Allure results are not written within {} ms and may be lost: {}",
+                            timeoutMillis, describePending());
+                    break;
+                }
+                written.awaitNanos(left);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } finally {
+            lock.unlock();
+        }
+        delegate.flush();
+    }
+
+    /**
+     * Writes all the pending results and stops writer threads. Results received
+     * after the writer is closed are written synchronously on the calling thread.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        flush();
+        executor.shutdown();
+        Shutdown.unregister(this);
+    }
+
+    /**
+     * Queues given write operation.
+     *
+     * @param description the description of written result for logging.
+     * @param size        the size of content held in memory by the operation.
+     * @param attachment  true if the operation writes an attachment.
+     * @param write       the write operation.
+     * @return false if the operation is dropped.
+     */
+    private boolean submit(final String description,
+                           final long size,
+                           final boolean attachment,
+                           final Runnable write) {
+        if (closed.get()) {
+            write.run();
+            return true;
+        }
+        if (!registered.get() && registered.compareAndSet(false, true)) {
+            Shutdown.register(this);
+        }
+        if (!reserve(size, attachment)) {
+            if (backpressure == Backpressure.CALLER_RUNS) {
+                write.run();
+                return true;
+            }
+            LOGGER.warn("Attachment {} is dropped: results writer queue is full", description);
+            return false;
+        }
+        final WriteTask task = new WriteTask(description, size, write);
+        pending.add(task);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+        return true;
+    }
+
+    /**
+     * Reserves the queue space for content of given size, blocks or refuses
+     * the reservation depending on configured backpressure.
+     *
+     * @return true if the space is reserved.
+     */
+    private boolean reserve(final long size, final boolean attachment) {
+        lock.lock();
+        try {
+            while (queued > 0 && queued + size > queueBytes) {
+                if (backpressure == Backpressure.CALLER_RUNS
+                        || backpressure == Backpressure.DROP_ATTACHMENTS && attachment) {
+                    return false;
+                }
+                written.await();
+            }
+            queued += size;
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AllureResultsWriteException("Interrupted while waiting for results writer queue", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void complete(final WriteTask task) {
+        lock.lock();
+        try {
+            pending.remove(task);
+            queued -= task.size;
+            written.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String describePending() {
+        return pending.stream()
+                .map(task -> task.description)
+                .collect(Collectors.joining(", "));
+    }
+
+    private boolean isFileSystemDelegate() {
+        return delegate.getClass() == FileSystemResultsWriter.class;
+    }
+
+    /**
+     * Copies given result using java serialization.
+     *
+     * @return the serialized result or null if the result can't be serialized.
+     */
+    private static byte[] copy(final Serializable result) {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ObjectOutputStream os = new ObjectOutputStream(buffer)) {
+            os.writeObject(result);
+        } catch (IOException e) {
+            LOGGER.debug("Could not copy Allure result, it's written synchronously", e);
+            return null;
+        }
+        return buffer.toByteArray();
+    }
+
+    private static Object read(final byte[] copy) {
+        try (ObjectInputStream is = new ObjectInputStream(new ByteArrayInputStream(copy))) {
+            return is.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new AllureResultsWriteException("Could not read copy of Allure result", e);
+        }
+    }
+
+    /**
+     * Reads the stream to the buffer. If the content doesn't fit the buffer,
+     * the content is stored in temporary file.
+     *
+     * @return the temporary file or null if the content is buffered in memory.
+     */
+    private static Path buffer(final InputStream stream, final ByteArrayOutputStream buffer) throws IOException {
+        final byte[] chunk = new byte[CHUNK_SIZE];
+        int read;
+        while ((read = stream.read(chunk)) >= 0) {
+            buffer.write(chunk, 0, read);
+            if (buffer.size() >= ATTACHMENT_BUFFER_SIZE) {
+                return spill(stream, buffer, chunk);
+            }
+        }
+        return null;
+    }
+
+    private static Path spill(final InputStream stream,
+                              final ByteArrayOutputStream buffer,
+                              final byte[] chunk) throws IOException {
+        final Path file = Files.createTempFile("allure-attachment-", ".tmp");
+        try (OutputStream os = Files.newOutputStream(file)) {
+            buffer.writeTo(os);
+            buffer.reset();
+            int read;
+            while ((read = stream.read(chunk)) >= 0) {
+                os.write(chunk, 0, read);
+            }
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+        return file;
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.debug("Could not delete temporary attachment file {}", file, e);
+        }
+    }
+
+    /**
+     * The write operation submitted to the executor.
+     */
+    private final class WriteTask implements Runnable {
+
+        private final String description;
+
+        private final long size;
+
+        private final Runnable write;
+
+        WriteTask(final String description, final long size, final Runnable write) {
+            this.description = description;
+            this.size = size;
+            this.write = write;
+        }
+
+        @Override
+        public void run() {
+            try {
+                write.run();
+            } catch (Exception e) {
+                LOGGER.error("Could not write Allure results", e);
+            } finally {
+                complete(this);
+            }
+        }
+    }
+
+    /**
+     * Closes all the writers on JVM shutdown, so pending results are written. Writers
+     * are referenced weakly, so unused writers can be garbage collected.
+     */
+    private static final class Shutdown {
+
+        private static final Set<AsyncResultsWriter> INSTANCES = Collections.synchronizedSet(
+                Collections.newSetFromMap(new WeakHashMap<>())
+        );
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(Shutdown::closeAll, "allure-results-writer-shutdown"));
+        }
+
+        private Shutdown() {
+            throw new IllegalStateException("Do not instance");
+        }
+
+        static void register(final AsyncResultsWriter instance) {
+            INSTANCES.add(instance);
+        }
+
+        static void unregister(final AsyncResultsWriter instance) {
+            INSTANCES.remove(instance);
+        }
+
+        private static void closeAll() {
+            final List<AsyncResultsWriter> instances;
+            synchronized (INSTANCES) {
+                instances = new ArrayList<>(INSTANCES);
+            }
+            instances.forEach(AsyncResultsWriter::close);
+        }
+    }
+
+    /**
+     * The behaviour of {@link AsyncResultsWriter} when the queue is full.
+     */
+    public enum Backpressure {
+
+        /**
+         * Block the calling thread until there is a free space in the queue.
+         */
+        BLOCK,
+
+        /**
+         * Drop attachments and block the calling thread for test results and containers.
+         */
+        DROP_ATTACHMENTS,
+
+        /**
+         * Write on the calling thread.
+         */
+        CALLER_RUNS;
+
+        /**
+         * Parses backpressure from property value, e.g. {@code drop_attachments}.
+         *
+         * @param value the property value.
+         * @return the backpressure, {@link #BLOCK} for unknown values.
+         */
+        public static Backpressure fromString(final String value) {
+            for (Backpressure backpressure : values()) {
+                if (backpressure.name().equalsIgnoreCase(value.trim().replace('-', '_'))) {
+                    return backpressure;
+                }
+            }
+            LOGGER.warn("Unknown results writer backpressure {}, {} is used",
+                    value, BLOCK.name().toLowerCase(Locale.ENGLISH));
+            return BLOCK;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.TestResult;
+
+/**
+ * Decides which attachments of test are stored once the test is written.
+ * Attachments of tests are held in temporary files until then, unless
+ * the policy is {@link #RETAIN_ALL}. Discarded attachments are removed
+ * from the test result. Implementations should be thread-safe.
+ *
+ * @see StatusAttachmentRetentionPolicy
+ */
+@FunctionalInterface
+public interface AttachmentRetentionPolicy {
+
+    /**
+     * Retains all the attachments. Attachments are written as soon as they are added.
+     */
+    AttachmentRetentionPolicy RETAIN_ALL = (testResult, attachment) -> true;
+
+    /**
+     * Returns true if given attachment should be stored.
+     *
+     * @param testResult the test result the attachment belongs to.
+     * @param attachment the attachment.
+     * @return true to store attachment, false to discard it.
+     */
+    boolean isRetained(TestResult testResult, Attachment attachment);
+
+}
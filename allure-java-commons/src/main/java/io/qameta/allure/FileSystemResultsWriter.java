@@ -15,41 +15,143 @@
  */
 package io.qameta.allure;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.qameta.allure.internal.Allure2ModelJackson;
+import io.qameta.allure.internal.Allure2ModelJsonWriter;
+import io.qameta.allure.internal.FileChannelOutputStream;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.ExecutableItem;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.StepResult;
 import io.qameta.allure.model.TestResult;
 import io.qameta.allure.model.TestResultContainer;
+import io.qameta.allure.util.IdUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.qameta.allure.util.ResultsUtils.bytesToHex;
 
 /**
+ * Writes Allure results to the file system.
+ *
+ * <p>In attachments deduplication mode content of each attachment is hashed while
+ * it is written, and attachments with the same content and file extension are stored
+ * once. Results written afterwards refer to the stored file instead of duplicates.
+ * Duplicates already referenced by written results are stored as hard links
+ * (or copies, if the file system doesn't support links). The deduplication state
+ * is kept for the lifetime of the writer, each index is bounded by the number
+ * of entries and forgets least recently used ones: content stored before is
+ * stored again, and duplicates never referenced by results are never written.
+ *
  * @author charlie (Dmitry Baev).
  */
 public class FileSystemResultsWriter implements AllureResultsWriter {
 
+    private static final Set<OpenOption> RESULT_OPTIONS = new HashSet<>(Arrays.asList(
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE
+    ));
+
+    public static final String DEDUPLICATE_ATTACHMENTS_PROPERTY_NAME = "allure.results.attachments.deduplicate";
+
+    private static final Set<OpenOption> ATTACHMENT_OPTIONS = new HashSet<>(Arrays.asList(
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE
+    ));
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private static final int DEFAULT_INDEX_SIZE = 10_000;
+
     private final Path outputDirectory;
 
     private final ObjectMapper mapper;
 
+    private final boolean deduplicateAttachments;
+
+    /**
+     * Guards deduplication state. Not an object monitor, as files are moved and linked
+     * under the lock, which would pin carrier threads of virtual threads.
+     */
+    private final Lock attachmentsLock = new ReentrantLock();
+
+    /**
+     * Content key (hash and file extension) to the source of stored attachment.
+     */
+    private final Map<String, String> storedContent;
+
+    private final Set<String> storedSources;
+
+    /**
+     * Source of duplicate attachment to the source of stored attachment with the same content.
+     */
+    private final Map<String, String> duplicates;
+
+    /**
+     * Sources referenced by written results before the attachment content is written.
+     */
+    private final Set<String> referencedSources;
+
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private volatile boolean directoryCreated;
+
     public FileSystemResultsWriter(final Path outputDirectory) {
+        this(outputDirectory, false);
+    }
+
+    /**
+     * Creates a new writer.
+     *
+     * @param outputDirectory        the results directory.
+     * @param deduplicateAttachments true to store attachments with the same content once.
+     */
+    public FileSystemResultsWriter(final Path outputDirectory, final boolean deduplicateAttachments) {
+        this(outputDirectory, deduplicateAttachments, DEFAULT_INDEX_SIZE);
+    }
+
+    /* package-private */ FileSystemResultsWriter(final Path outputDirectory,
+                                                  final boolean deduplicateAttachments,
+                                                  final int indexSize) {
         this.outputDirectory = outputDirectory;
         this.mapper = Allure2ModelJackson.createMapper();
+        this.deduplicateAttachments = deduplicateAttachments;
+        this.storedContent = new BoundedMap<>(indexSize);
+        this.storedSources = Collections.newSetFromMap(new BoundedMap<>(indexSize));
+        this.duplicates = new BoundedMap<>(indexSize);
+        this.referencedSources = Collections.newSetFromMap(new BoundedMap<>(indexSize));
     }
 
     @Override
     public void write(final TestResult testResult) {
-        final String testResultName = Objects.isNull(testResult.getUuid())
-                ? generateTestResultName()
-                : generateTestResultName(testResult.getUuid());
-        createDirectories(outputDirectory);
-        final Path file = outputDirectory.resolve(testResultName);
-        try {
-            mapper.writeValue(file.toFile(), testResult);
+        if (deduplicateAttachments) {
+            replaceDuplicates(testResult);
+        }
+        try (FileChannelOutputStream os = openFile(getFileName(testResult), RESULT_OPTIONS)) {
+            writeJson(os, testResult);
         } catch (IOException e) {
             throw new AllureResultsWriteException("Could not write Allure test result", e);
         }
@@ -57,39 +159,316 @@ public class FileSystemResultsWriter implements AllureResultsWriter {
 
     @Override
     public void write(final TestResultContainer testResultContainer) {
-        final String testResultContainerName = Objects.isNull(testResultContainer.getUuid())
-                ? generateTestResultContainerName()
-                : generateTestResultContainerName(testResultContainer.getUuid());
-        createDirectories(outputDirectory);
-        final Path file = outputDirectory.resolve(testResultContainerName);
+        if (deduplicateAttachments) {
+            replaceDuplicates(testResultContainer);
+        }
+        try (FileChannelOutputStream os = openFile(getFileName(testResultContainer), RESULT_OPTIONS)) {
+            writeJson(os, testResultContainer);
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not write Allure test result container", e);
+        }
+    }
+
+    /**
+     * Serializes test result the same way {@link #write(TestResult)} does, so the result
+     * can be written later by {@link #write(String, byte[])}.
+     */
+    /* package-private */ byte[] serialize(final TestResult testResult) {
+        if (deduplicateAttachments) {
+            replaceDuplicates(testResult);
+        }
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
         try {
-            mapper.writeValue(file.toFile(), testResultContainer);
+            writeJson(os, testResult);
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not write Allure test result", e);
+        }
+        return os.toByteArray();
+    }
+
+    /**
+     * Serializes test result container the same way {@link #write(TestResultContainer)} does,
+     * so the container can be written later by {@link #write(String, byte[])}.
+     */
+    /* package-private */ byte[] serialize(final TestResultContainer testResultContainer) {
+        if (deduplicateAttachments) {
+            replaceDuplicates(testResultContainer);
+        }
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        try {
+            writeJson(os, testResultContainer);
         } catch (IOException e) {
             throw new AllureResultsWriteException("Could not write Allure test result container", e);
         }
+        return os.toByteArray();
+    }
+
+    /* package-private */ void write(final String fileName, final byte[] content) {
+        try (FileChannelOutputStream os = openFile(fileName, RESULT_OPTIONS)) {
+            os.write(content);
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not write Allure results", e);
+        }
+    }
+
+    /* package-private */ static String getFileName(final TestResult testResult) {
+        return Objects.isNull(testResult.getUuid())
+                ? generateTestResultName()
+                : generateTestResultName(testResult.getUuid());
+    }
+
+    /* package-private */ static String getFileName(final TestResultContainer testResultContainer) {
+        return Objects.isNull(testResultContainer.getUuid())
+                ? generateTestResultContainerName()
+                : generateTestResultContainerName(testResultContainer.getUuid());
     }
 
     @Override
     public void write(final String source, final InputStream attachment) {
-        createDirectories(outputDirectory);
-        final Path file = outputDirectory.resolve(source);
+        if (deduplicateAttachments) {
+            writeDeduplicated(source, attachment);
+            return;
+        }
+        try (InputStream is = attachment;
+             FileChannelOutputStream os = openFile(source, ATTACHMENT_OPTIONS)) {
+            os.transferFrom(is);
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not write Allure attachment", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The file is linked to results directory if possible, otherwise its content
+     * is transferred by the file system. In deduplication mode the content is read,
+     * as it needs to be hashed.
+     */
+    @Override
+    public void write(final String source, final Path attachment) {
+        if (deduplicateAttachments) {
+            AllureResultsWriter.super.write(source, attachment);
+            return;
+        }
+        if (!directoryCreated) {
+            createDirectories(outputDirectory);
+        }
+        try {
+            Files.createLink(outputDirectory.resolve(source), attachment);
+            return;
+        } catch (FileAlreadyExistsException e) {
+            throw new AllureResultsWriteException("Could not write Allure attachment", e);
+        } catch (UnsupportedOperationException | IOException e) {
+            //linking is not supported, e.g. files are on different file systems
+        }
+        try (InputStream is = new FileInputStream(attachment.toFile());
+             FileChannelOutputStream os = openFile(source, ATTACHMENT_OPTIONS)) {
+            os.transferFrom(is);
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not write Allure attachment", e);
+        }
+    }
+
+    private void writeDeduplicated(final String source, final InputStream attachment) {
+        final Path temp;
+        final String contentKey;
         try (InputStream is = attachment) {
-            Files.copy(is, file);
+            temp = createTempFile();
+            contentKey = writeAndHash(is, temp) + getExtension(source);
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not write Allure attachment", e);
+        }
+        attachmentsLock.lock();
+        try {
+            final String stored = storedContent.get(contentKey);
+            if (Objects.isNull(stored)) {
+                Files.move(temp, outputDirectory.resolve(source));
+                storedContent.put(contentKey, source);
+                storedSources.add(source);
+                referencedSources.remove(source);
+                return;
+            }
+            if (referencedSources.remove(source)) {
+                linkOrMove(outputDirectory.resolve(source), outputDirectory.resolve(stored), temp);
+            } else {
+                duplicates.put(source, stored);
+            }
         } catch (IOException e) {
             throw new AllureResultsWriteException("Could not write Allure attachment", e);
+        } finally {
+            attachmentsLock.unlock();
+            deleteQuietly(temp);
+        }
+    }
+
+    private String writeAndHash(final InputStream is, final Path file) throws IOException {
+        final MessageDigest digest = getContentDigest();
+        try (FileChannelOutputStream os = new FileChannelOutputStream(FileChannel.open(file, RESULT_OPTIONS))) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = is.read(buffer)) >= 0) {
+                digest.update(buffer, 0, read);
+                os.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+        return bytesToHex(digest.digest());
+    }
+
+    private void replaceDuplicates(final TestResult testResult) {
+        attachmentsLock.lock();
+        try {
+            replaceDuplicates((ExecutableItem) testResult);
+        } finally {
+            attachmentsLock.unlock();
+        }
+    }
+
+    private void replaceDuplicates(final TestResultContainer testResultContainer) {
+        attachmentsLock.lock();
+        try {
+            replaceDuplicates(testResultContainer.getBefores());
+            replaceDuplicates(testResultContainer.getAfters());
+        } finally {
+            attachmentsLock.unlock();
+        }
+    }
+
+    private void replaceDuplicates(final List<FixtureResult> fixtures) {
+        if (Objects.isNull(fixtures)) {
+            return;
+        }
+        for (FixtureResult fixture : fixtures) {
+            if (Objects.nonNull(fixture)) {
+                replaceDuplicates(fixture);
+            }
+        }
+    }
+
+    private void replaceDuplicates(final ExecutableItem item) {
+        for (Attachment attachment : item.getAttachments()) {
+            if (Objects.isNull(attachment) || Objects.isNull(attachment.getSource())) {
+                continue;
+            }
+            final String source = attachment.getSource();
+            final String stored = duplicates.remove(source);
+            if (Objects.nonNull(stored)) {
+                attachment.setSource(stored);
+            } else if (!storedSources.contains(source)) {
+                referencedSources.add(source);
+            }
+        }
+        for (StepResult step : item.getSteps()) {
+            if (Objects.nonNull(step)) {
+                replaceDuplicates(step);
+            }
+        }
+    }
+
+    private Path createTempFile() throws IOException {
+        if (!directoryCreated) {
+            createDirectories(outputDirectory);
+        }
+        try {
+            return Files.createTempFile(outputDirectory, ".attachment-", ".tmp");
+        } catch (NoSuchFileException e) {
+            createDirectories(outputDirectory);
+            return Files.createTempFile(outputDirectory, ".attachment-", ".tmp");
+        }
+    }
+
+    /**
+     * Links the target to the stored file with the same content. If the file system doesn't
+     * support links, the temporary file that holds the content is renamed to the target,
+     * so no content is copied.
+     */
+    private static void linkOrMove(final Path target, final Path existing, final Path temp) throws IOException {
+        try {
+            Files.createLink(target, existing);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.move(temp, target);
+        }
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            //do nothing
+        }
+    }
+
+    private static String getExtension(final String source) {
+        final int index = source.lastIndexOf('.');
+        return index < 0 ? "" : source.substring(index);
+    }
+
+    private static MessageDigest getContentDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Can not find hashing algorithm", e);
+        }
+    }
+
+    private void writeJson(final OutputStream os, final TestResult testResult) throws IOException {
+        if (Allure2ModelJsonWriter.isSupported(testResult)) {
+            try (JsonGenerator generator = createGenerator(os)) {
+                Allure2ModelJsonWriter.write(generator, testResult);
+            }
+        } else {
+            mapper.writeValue(os, testResult);
+        }
+    }
+
+    private void writeJson(final OutputStream os, final TestResultContainer testResultContainer) throws IOException {
+        if (Allure2ModelJsonWriter.isSupported(testResultContainer)) {
+            try (JsonGenerator generator = createGenerator(os)) {
+                Allure2ModelJsonWriter.write(generator, testResultContainer);
+            }
+        } else {
+            mapper.writeValue(os, testResultContainer);
+        }
+    }
+
+    private JsonGenerator createGenerator(final OutputStream os) throws IOException {
+        final JsonGenerator generator = mapper.getFactory().createGenerator(os, JsonEncoding.UTF8);
+        if (mapper.isEnabled(SerializationFeature.INDENT_OUTPUT)) {
+            generator.useDefaultPrettyPrinter();
+        }
+        return generator;
+    }
+
+    /**
+     * Opens file in results directory. The directory is created once, and
+     * re-created only in case it was removed during the run.
+     */
+    private FileChannelOutputStream openFile(final String fileName,
+                                             final Set<OpenOption> options) throws IOException {
+        if (!directoryCreated) {
+            createDirectories(outputDirectory);
+        }
+        final Path file = outputDirectory.resolve(fileName);
+        try {
+            return new FileChannelOutputStream(FileChannel.open(file, options));
+        } catch (NoSuchFileException e) {
+            createDirectories(outputDirectory);
+            return new FileChannelOutputStream(FileChannel.open(file, options));
         }
     }
 
     private void createDirectories(final Path directory) {
         try {
             Files.createDirectories(directory);
+            directoryCreated = true;
         } catch (IOException e) {
             throw new AllureResultsWriteException("Could not create Allure results directory", e);
         }
     }
 
     protected static String generateTestResultName() {
-        return generateTestResultName(UUID.randomUUID().toString());
+        return generateTestResultName(IdUtils.nextId());
     }
 
     protected static String generateTestResultName(final String uuid) {
@@ -97,10 +476,30 @@ public class FileSystemResultsWriter implements AllureResultsWriter {
     }
 
     protected static String generateTestResultContainerName() {
-        return generateTestResultContainerName(UUID.randomUUID().toString());
+        return generateTestResultContainerName(IdUtils.nextId());
     }
 
     protected static String generateTestResultContainerName(final String uuid) {
         return uuid + AllureConstants.TEST_RESULT_CONTAINER_FILE_SUFFIX;
     }
+
+    /**
+     * Map that keeps limited number of entries and evicts least recently accessed ones.
+     */
+    private static final class BoundedMap<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        BoundedMap(final int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+    }
 }
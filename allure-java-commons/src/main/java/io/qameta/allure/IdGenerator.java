@@ -0,0 +1,36 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+/**
+ * Generates unique ids for test results, containers, fixtures, steps and attachments.
+ * Implementations are discovered using {@link java.util.ServiceLoader}, so custom
+ * generator can be registered in {@code META-INF/services/io.qameta.allure.IdGenerator}.
+ * Implementations should be thread-safe.
+ *
+ * @see io.qameta.allure.util.IdUtils
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * Returns new unique id.
+     *
+     * @return the id.
+     */
+    String nextId();
+
+}
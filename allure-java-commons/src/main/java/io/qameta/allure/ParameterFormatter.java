@@ -0,0 +1,41 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+/**
+ * Formats values of test and step parameters. Implementations are discovered using
+ * {@link java.util.ServiceLoader}, so custom formatter can be registered in
+ * {@code META-INF/services/io.qameta.allure.ParameterFormatter}. Formatters are
+ * asked in order, the first non-null result is used. Implementations should be
+ * thread-safe.
+ *
+ * @see io.qameta.allure.util.ParameterUtils
+ */
+@FunctionalInterface
+public interface ParameterFormatter {
+
+    /**
+     * Returns string representation of given parameter value. The result longer than
+     * given length is truncated, so implementations are free to stop rendering
+     * once the limit is reached.
+     *
+     * @param value     the parameter value, never null.
+     * @param maxLength the maximum length of the result.
+     * @return the formatted value or null if the formatter doesn't support given value.
+     */
+    String format(Object value, int maxLength);
+
+}
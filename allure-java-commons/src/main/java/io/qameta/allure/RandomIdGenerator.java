@@ -0,0 +1,36 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates random (version 4) UUIDs using {@link ThreadLocalRandom}. Unlike
+ * {@link UUID#randomUUID()} it doesn't use shared secure random, so threads
+ * don't contend for it. The ids are unique, but not suitable for security purposes.
+ */
+public class RandomIdGenerator implements IdGenerator {
+
+    @Override
+    public String nextId() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final long msb = random.nextLong() & 0xffffffffffff0fffL | 0x0000000000004000L;
+        final long lsb = random.nextLong() & 0x3fffffffffffffffL | 0x8000000000000000L;
+        return new UUID(msb, lsb).toString();
+    }
+
+}
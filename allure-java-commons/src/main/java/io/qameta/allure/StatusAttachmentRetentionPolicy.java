@@ -0,0 +1,138 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Retains attachments of given content types depending on test status, e.g.
+ * <pre>
+ * allure.attachments.retain.passed=text/plain, application/json
+ * allure.attachments.retain.skipped=none
+ * </pre>
+ * Each property is a comma separated list of content types, {@code type/*} patterns,
+ * {@code *} for all attachments (default) or {@code none}. Attachments of tests
+ * without status are always retained.
+ */
+public class StatusAttachmentRetentionPolicy implements AttachmentRetentionPolicy {
+
+    public static final String RETAIN_PROPERTY_PREFIX = "allure.attachments.retain.";
+
+    private static final String ANY = "*";
+
+    private static final String NONE = "none";
+
+    private final Map<Status, List<String>> retainedTypes;
+
+    /**
+     * Creates a new policy.
+     *
+     * @param retainedTypes the retained content type patterns for test statuses.
+     *                      All attachments are retained for missing statuses.
+     */
+    public StatusAttachmentRetentionPolicy(final Map<Status, List<String>> retainedTypes) {
+        this.retainedTypes = new EnumMap<>(Status.class);
+        retainedTypes.forEach((status, types) -> this.retainedTypes.put(status, normalize(types)));
+    }
+
+    /**
+     * Returns the policy configured by {@value #RETAIN_PROPERTY_PREFIX}{@code <status>}
+     * properties, or {@link AttachmentRetentionPolicy#RETAIN_ALL} if none is specified.
+     *
+     * @param properties the allure properties.
+     * @return the attachment retention policy.
+     */
+    public static AttachmentRetentionPolicy fromProperties(final Properties properties) {
+        final Map<Status, List<String>> retainedTypes = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            final String value = properties.getProperty(RETAIN_PROPERTY_PREFIX + status.value());
+            if (Objects.isNull(value)) {
+                continue;
+            }
+            retainedTypes.put(status, Arrays.asList(value.split(",")));
+        }
+        final StatusAttachmentRetentionPolicy policy = new StatusAttachmentRetentionPolicy(retainedTypes);
+        return policy.retainsAll() ? RETAIN_ALL : policy;
+    }
+
+    @Override
+    public boolean isRetained(final TestResult testResult, final Attachment attachment) {
+        final Status status = testResult.getStatus();
+        if (Objects.isNull(status)) {
+            return true;
+        }
+        final List<String> types = retainedTypes.get(status);
+        if (Objects.isNull(types)) {
+            return true;
+        }
+        final String type = Objects.isNull(attachment.getType())
+                ? null
+                : attachment.getType().trim().toLowerCase(Locale.ENGLISH);
+        for (String pattern : types) {
+            if (matches(pattern, type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean retainsAll() {
+        for (List<String> types : retainedTypes.values()) {
+            if (!types.contains(ANY)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(final String pattern, final String type) {
+        if (ANY.equals(pattern)) {
+            return true;
+        }
+        if (Objects.isNull(type)) {
+            return false;
+        }
+        if (pattern.endsWith("/*")) {
+            return type.startsWith(pattern.substring(0, pattern.length() - 1));
+        }
+        return pattern.equals(type);
+    }
+
+    private static List<String> normalize(final List<String> types) {
+        final List<String> result = new ArrayList<>();
+        for (String type : types) {
+            final String pattern = type.trim().toLowerCase(Locale.ENGLISH);
+            if ("*/*".equals(pattern)) {
+                result.add(ANY);
+            } else if (!pattern.isEmpty() && !NONE.equals(pattern)) {
+                result.add(pattern);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import io.qameta.allure.internal.AllureThreadContext;
+
+/**
+ * Test case and step context of a thread captured by {@link AllureLifecycle#captureContext()}.
+ * The snapshot is immutable, so it can be restored in any number of threads.
+ *
+ * @see AllureLifecycle#restoreContext(ThreadContextSnapshot)
+ * @see io.qameta.allure.util.ThreadContextUtils
+ */
+public final class ThreadContextSnapshot {
+
+    private final AllureThreadContext.Snapshot snapshot;
+
+    /* package-private */ ThreadContextSnapshot(final AllureThreadContext.Snapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /* package-private */ AllureThreadContext.Snapshot getSnapshot() {
+        return snapshot;
+    }
+}
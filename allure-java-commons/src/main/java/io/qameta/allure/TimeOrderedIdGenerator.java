@@ -0,0 +1,36 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates time-ordered (version 7) UUIDs: the first 48 bits contain Unix time
+ * in milliseconds, the rest are random. Results named after such ids are sorted
+ * in the order of creation on disk.
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+
+    @Override
+    public String nextId() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final long msb = System.currentTimeMillis() << 16 | 0x7000L | random.nextInt(0x1000);
+        final long lsb = random.nextLong() & 0x3fffffffffffffffL | 0x8000000000000000L;
+        return new UUID(msb, lsb).toString();
+    }
+
+}
@@ -17,10 +17,11 @@ package io.qameta.allure.aspects;
 
 import io.qameta.allure.Allure;
 import io.qameta.allure.AllureLifecycle;
-import io.qameta.allure.Step;
 import io.qameta.allure.model.Parameter;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StepResult;
+import io.qameta.allure.util.IdUtils;
+import io.qameta.allure.util.StepDescriptor;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.AfterThrowing;
@@ -30,10 +31,7 @@ import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
 
 import java.util.List;
-import java.util.UUID;
 
-import static io.qameta.allure.util.AspectUtils.getName;
-import static io.qameta.allure.util.AspectUtils.getParameters;
 import static io.qameta.allure.util.ResultsUtils.getStatus;
 import static io.qameta.allure.util.ResultsUtils.getStatusDetails;
 
@@ -66,11 +64,11 @@ public class StepsAspects {
     @Before("anyMethod() && withStepAnnotation()")
     public void stepStart(final JoinPoint joinPoint) {
         final MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        final Step step = methodSignature.getMethod().getAnnotation(Step.class);
+        final StepDescriptor descriptor = StepDescriptor.of(methodSignature);
 
-        final String uuid = UUID.randomUUID().toString();
-        final String name = getName(step.value(), joinPoint);
-        final List<Parameter> parameters = getParameters(methodSignature, joinPoint.getArgs());
+        final String uuid = IdUtils.nextId();
+        final String name = descriptor.getName(joinPoint);
+        final List<Parameter> parameters = descriptor.getParameters(joinPoint.getArgs());
 
         final StepResult result = new StepResult()
                 .setName(name)
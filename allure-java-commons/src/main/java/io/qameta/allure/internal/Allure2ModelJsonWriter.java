@@ -0,0 +1,353 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.internal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.ExecutableItem;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Link;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Stage;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Streaming serializer for Allure 2 model. Produces the same output as mapper
+ * created by {@link Allure2ModelJackson#createMapper()}, but doesn't use
+ * bean introspection.
+ *
+ * @see Allure2ModelJackson
+ */
+@SuppressWarnings({"PMD.ClassNamingConventions", "PMD.TooManyMethods"})
+public final class Allure2ModelJsonWriter {
+
+    private Allure2ModelJsonWriter() {
+        throw new IllegalStateException("Do not instance Allure2ModelJsonWriter");
+    }
+
+    /**
+     * Returns true if given value can be written by the serializer. Subclasses of
+     * the model classes may declare additional properties, so values that are or
+     * contain instances of such subclasses should be written by the mapper.
+     *
+     * @param value the value to check.
+     * @return true if value is supported, false otherwise.
+     */
+    public static boolean isSupported(final Object value) {
+        if (Objects.isNull(value)) {
+            return false;
+        }
+        if (value.getClass() == TestResult.class) {
+            final TestResult result = (TestResult) value;
+            return areExactly(result.getLabels(), Label.class)
+                    && areExactly(result.getLinks(), Link.class)
+                    && isSupportedItem(result);
+        }
+        if (value.getClass() == TestResultContainer.class) {
+            final TestResultContainer container = (TestResultContainer) value;
+            return areExactly(container.getLinks(), Link.class)
+                    && areSupportedFixtures(container.getBefores())
+                    && areSupportedFixtures(container.getAfters());
+        }
+        return false;
+    }
+
+    private static boolean areSupportedFixtures(final List<FixtureResult> fixtures) {
+        if (Objects.isNull(fixtures)) {
+            return true;
+        }
+        for (FixtureResult fixture : fixtures) {
+            if (Objects.nonNull(fixture) && (fixture.getClass() != FixtureResult.class || !isSupportedItem(fixture))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSupportedItem(final ExecutableItem item) {
+        if (!isExactly(item.getStatusDetails(), StatusDetails.class)
+                || !areExactly(item.getAttachments(), Attachment.class)
+                || !areExactly(item.getParameters(), Parameter.class)) {
+            return false;
+        }
+        final List<StepResult> steps = item.getSteps();
+        if (Objects.nonNull(steps)) {
+            for (StepResult step : steps) {
+                if (Objects.nonNull(step) && (step.getClass() != StepResult.class || !isSupportedItem(step))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean areExactly(final List<?> values, final Class<?> type) {
+        if (Objects.isNull(values)) {
+            return true;
+        }
+        for (Object value : values) {
+            if (!isExactly(value, type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isExactly(final Object value, final Class<?> type) {
+        return Objects.isNull(value) || value.getClass() == type;
+    }
+
+    public static void write(final JsonGenerator gen, final TestResult value) throws IOException {
+        gen.writeStartObject();
+        writeString(gen, "uuid", value.getUuid());
+        writeString(gen, "historyId", value.getHistoryId());
+        writeString(gen, "testCaseId", value.getTestCaseId());
+        writeString(gen, "testCaseName", value.getTestCaseName());
+        writeString(gen, "fullName", value.getFullName());
+        writeLabels(gen, value.getLabels());
+        writeLinks(gen, value.getLinks());
+        writeString(gen, "name", value.getName());
+        writeStatus(gen, value.getStatus());
+        writeStatusDetails(gen, value.getStatusDetails());
+        writeStage(gen, value.getStage());
+        writeString(gen, "description", value.getDescription());
+        writeString(gen, "descriptionHtml", value.getDescriptionHtml());
+        writeSteps(gen, value.getSteps());
+        writeAttachments(gen, value.getAttachments());
+        writeParameters(gen, value.getParameters());
+        writeLong(gen, "start", value.getStart());
+        writeLong(gen, "stop", value.getStop());
+        gen.writeEndObject();
+    }
+
+    public static void write(final JsonGenerator gen, final TestResultContainer value) throws IOException {
+        gen.writeStartObject();
+        writeString(gen, "uuid", value.getUuid());
+        writeString(gen, "name", value.getName());
+        if (Objects.nonNull(value.getChildren())) {
+            gen.writeArrayFieldStart("children");
+            for (String child : value.getChildren()) {
+                gen.writeString(child);
+            }
+            gen.writeEndArray();
+        }
+        writeString(gen, "description", value.getDescription());
+        writeString(gen, "descriptionHtml", value.getDescriptionHtml());
+        writeFixtures(gen, "befores", value.getBefores());
+        writeFixtures(gen, "afters", value.getAfters());
+        writeLinks(gen, value.getLinks());
+        writeLong(gen, "start", value.getStart());
+        writeLong(gen, "stop", value.getStop());
+        gen.writeEndObject();
+    }
+
+    private static void write(final JsonGenerator gen, final FixtureResult value) throws IOException {
+        gen.writeStartObject();
+        writeString(gen, "name", value.getName());
+        writeStatus(gen, value.getStatus());
+        writeStatusDetails(gen, value.getStatusDetails());
+        writeStage(gen, value.getStage());
+        writeString(gen, "description", value.getDescription());
+        writeString(gen, "descriptionHtml", value.getDescriptionHtml());
+        writeSteps(gen, value.getSteps());
+        writeAttachments(gen, value.getAttachments());
+        writeParameters(gen, value.getParameters());
+        writeLong(gen, "start", value.getStart());
+        writeLong(gen, "stop", value.getStop());
+        gen.writeEndObject();
+    }
+
+    private static void write(final JsonGenerator gen, final StepResult value) throws IOException {
+        gen.writeStartObject();
+        writeString(gen, "name", value.getName());
+        writeStatus(gen, value.getStatus());
+        writeStatusDetails(gen, value.getStatusDetails());
+        writeStage(gen, value.getStage());
+        writeString(gen, "description", value.getDescription());
+        writeString(gen, "descriptionHtml", value.getDescriptionHtml());
+        writeSteps(gen, value.getSteps());
+        writeAttachments(gen, value.getAttachments());
+        writeParameters(gen, value.getParameters());
+        writeLong(gen, "start", value.getStart());
+        writeLong(gen, "stop", value.getStop());
+        gen.writeEndObject();
+    }
+
+    private static void writeFixtures(final JsonGenerator gen,
+                                      final String fieldName,
+                                      final List<FixtureResult> fixtures) throws IOException {
+        if (Objects.isNull(fixtures)) {
+            return;
+        }
+        gen.writeArrayFieldStart(fieldName);
+        for (FixtureResult fixture : fixtures) {
+            if (Objects.isNull(fixture)) {
+                gen.writeNull();
+            } else {
+                write(gen, fixture);
+            }
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeSteps(final JsonGenerator gen, final List<StepResult> steps) throws IOException {
+        if (Objects.isNull(steps)) {
+            return;
+        }
+        gen.writeArrayFieldStart("steps");
+        for (StepResult step : steps) {
+            if (Objects.isNull(step)) {
+                gen.writeNull();
+            } else {
+                write(gen, step);
+            }
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeStatusDetails(final JsonGenerator gen, final StatusDetails value) throws IOException {
+        if (Objects.isNull(value)) {
+            return;
+        }
+        gen.writeObjectFieldStart("statusDetails");
+        gen.writeBooleanField("known", value.isKnown());
+        gen.writeBooleanField("muted", value.isMuted());
+        gen.writeBooleanField("flaky", value.isFlaky());
+        writeString(gen, "message", value.getMessage());
+        writeString(gen, "trace", value.getTrace());
+        gen.writeEndObject();
+    }
+
+    private static void writeLabels(final JsonGenerator gen, final List<Label> labels) throws IOException {
+        if (Objects.isNull(labels)) {
+            return;
+        }
+        gen.writeArrayFieldStart("labels");
+        for (Label label : labels) {
+            if (Objects.isNull(label)) {
+                gen.writeNull();
+                continue;
+            }
+            gen.writeStartObject();
+            writeString(gen, "name", label.getName());
+            writeString(gen, "value", label.getValue());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeLinks(final JsonGenerator gen, final List<Link> links) throws IOException {
+        if (Objects.isNull(links)) {
+            return;
+        }
+        gen.writeArrayFieldStart("links");
+        for (Link link : links) {
+            if (Objects.isNull(link)) {
+                gen.writeNull();
+                continue;
+            }
+            gen.writeStartObject();
+            writeString(gen, "name", link.getName());
+            writeString(gen, "url", link.getUrl());
+            writeString(gen, "type", link.getType());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeAttachments(final JsonGenerator gen,
+                                         final List<Attachment> attachments) throws IOException {
+        if (Objects.isNull(attachments)) {
+            return;
+        }
+        gen.writeArrayFieldStart("attachments");
+        for (Attachment attachment : attachments) {
+            if (Objects.isNull(attachment)) {
+                gen.writeNull();
+                continue;
+            }
+            gen.writeStartObject();
+            writeString(gen, "name", attachment.getName());
+            writeString(gen, "source", attachment.getSource());
+            writeString(gen, "type", attachment.getType());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeParameters(final JsonGenerator gen,
+                                        final List<Parameter> parameters) throws IOException {
+        if (Objects.isNull(parameters)) {
+            return;
+        }
+        gen.writeArrayFieldStart("parameters");
+        for (Parameter parameter : parameters) {
+            if (Objects.isNull(parameter)) {
+                gen.writeNull();
+                continue;
+            }
+            gen.writeStartObject();
+            writeString(gen, "name", parameter.getName());
+            writeString(gen, "value", parameter.getValue());
+            if (Objects.nonNull(parameter.getExcluded())) {
+                gen.writeBooleanField("excluded", parameter.getExcluded());
+            }
+            if (Objects.nonNull(parameter.getMode())) {
+                gen.writeStringField("mode", parameter.getMode().name().toLowerCase(Locale.ENGLISH));
+            }
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeStatus(final JsonGenerator gen, final Status value) throws IOException {
+        if (Objects.nonNull(value)) {
+            gen.writeStringField("status", value.name().toLowerCase(Locale.ENGLISH));
+        }
+    }
+
+    private static void writeStage(final JsonGenerator gen, final Stage value) throws IOException {
+        if (Objects.nonNull(value)) {
+            gen.writeStringField("stage", value.name().toLowerCase(Locale.ENGLISH));
+        }
+    }
+
+    private static void writeString(final JsonGenerator gen,
+                                    final String fieldName,
+                                    final String value) throws IOException {
+        if (Objects.nonNull(value)) {
+            gen.writeStringField(fieldName, value);
+        }
+    }
+
+    private static void writeLong(final JsonGenerator gen,
+                                  final String fieldName,
+                                  final Long value) throws IOException {
+        if (Objects.nonNull(value)) {
+            gen.writeNumberField(fieldName, value);
+        }
+    }
+}
@@ -24,11 +24,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
- * Internal Allure data storage.
+ * Internal Allure data storage. The storage doesn't use any global locks,
+ * so items started by different threads don't contend with each other.
+ * Mutations of stored items should be synchronized on the item itself.
  *
  * @since 2.0
  */
@@ -36,8 +36,6 @@ public class AllureStorage {
 
     private final Map<String, Object> storage = new ConcurrentHashMap<>();
 
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
-
     public Optional<TestResultContainer> getContainer(final String uuid) {
         return get(uuid, TestResultContainer.class);
     }
@@ -55,36 +53,22 @@ public class AllureStorage {
     }
 
     public <T> Optional<T> get(final String uuid, final Class<T> clazz) {
-        lock.readLock().lock();
-        try {
-            Objects.requireNonNull(uuid, "Can't get item from storage: uuid can't be null");
-            return Optional.ofNullable(storage.get(uuid))
-                    .filter(clazz::isInstance)
-                    .map(clazz::cast);
-        } finally {
-            lock.readLock().unlock();
-        }
+        Objects.requireNonNull(uuid, "Can't get item from storage: uuid can't be null");
+        final Object item = storage.get(uuid);
+        return clazz.isInstance(item)
+                ? Optional.of(clazz.cast(item))
+                : Optional.empty();
     }
 
     public <T> T put(final String uuid, final T item) {
-        lock.writeLock().lock();
-        try {
-            Objects.requireNonNull(uuid, "Can't put item to storage: uuid can't be null");
-            storage.put(uuid, item);
-            return item;
-        } finally {
-            lock.writeLock().unlock();
-        }
+        Objects.requireNonNull(uuid, "Can't put item to storage: uuid can't be null");
+        storage.put(uuid, item);
+        return item;
     }
 
     public void remove(final String uuid) {
-        lock.writeLock().lock();
-        try {
-            Objects.requireNonNull(uuid, "Can't remove item from storage: uuid can't be null");
-            storage.remove(uuid);
-        } finally {
-            lock.writeLock().unlock();
-        }
+        Objects.requireNonNull(uuid, "Can't remove item from storage: uuid can't be null");
+        storage.remove(uuid);
     }
 
 }
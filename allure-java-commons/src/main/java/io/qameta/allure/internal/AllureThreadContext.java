@@ -15,13 +15,15 @@
  */
 package io.qameta.allure.internal;
 
-import java.util.LinkedList;
 import java.util.Objects;
 import java.util.Optional;
 
 /**
  * Storage that stores information about not finished tests and steps.
  *
+ * <p>Uuids are kept in a persistent (immutable) stack, so threads started
+ * while a test is running share the parent's stack instead of copying it.
+ *
  * @author charlie (Dmitry Baev).
  */
 public class AllureThreadContext {
@@ -32,20 +34,20 @@ public class AllureThreadContext {
      * Returns last (most recent) uuid.
      */
     public Optional<String> getCurrent() {
-        final LinkedList<String> uuids = context.get();
-        return uuids.isEmpty()
+        final Frame frame = context.get();
+        return Objects.isNull(frame)
                 ? Optional.empty()
-                : Optional.of(uuids.getFirst());
+                : Optional.of(frame.uuid);
     }
 
     /**
      * Returns first (oldest) uuid.
      */
     public Optional<String> getRoot() {
-        final LinkedList<String> uuids = context.get();
-        return uuids.isEmpty()
+        final Frame frame = context.get();
+        return Objects.isNull(frame)
                 ? Optional.empty()
-                : Optional.of(uuids.getLast());
+                : Optional.of(frame.root);
     }
 
     /**
@@ -53,7 +55,7 @@ public class AllureThreadContext {
      */
     public void start(final String uuid) {
         Objects.requireNonNull(uuid, "step uuid");
-        context.get().push(uuid);
+        context.set(new Frame(uuid, context.get()));
     }
 
     /**
@@ -62,9 +64,10 @@ public class AllureThreadContext {
      * @return removed uuid.
      */
     public Optional<String> stop() {
-        final LinkedList<String> uuids = context.get();
-        if (!uuids.isEmpty()) {
-            return Optional.of(uuids.pop());
+        final Frame frame = context.get();
+        if (Objects.nonNull(frame)) {
+            context.set(frame.parent);
+            return Optional.of(frame.uuid);
         }
         return Optional.empty();
     }
@@ -77,18 +80,80 @@ public class AllureThreadContext {
     }
 
     /**
-     * Thread local context that stores information about not finished tests and steps.
+     * Captures uuids stored for current thread. The snapshot is immutable
+     * and can be restored in any thread.
+     *
+     * @return the snapshot of current thread context.
      */
-    private static final class Context extends InheritableThreadLocal<LinkedList<String>> {
+    public Snapshot snapshot() {
+        final Frame frame = context.get();
+        return Objects.isNull(frame)
+                ? Snapshot.EMPTY
+                : new Snapshot(frame);
+    }
 
-        @Override
-        public LinkedList<String> initialValue() {
-            return new LinkedList<>();
+    /**
+     * Replaces uuids stored for current thread with captured ones.
+     *
+     * @param snapshot the snapshot to restore.
+     * @return the snapshot of replaced context, should be restored once the work is done.
+     */
+    public Snapshot restore(final Snapshot snapshot) {
+        Objects.requireNonNull(snapshot, "context snapshot");
+        final Snapshot previous = snapshot();
+        if (Objects.isNull(snapshot.frame)) {
+            context.remove();
+        } else {
+            context.set(snapshot.frame);
         }
+        return previous;
+    }
+
+    /**
+     * Captured state of thread context.
+     *
+     * @see #snapshot()
+     * @see #restore(Snapshot)
+     */
+    public static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(null);
+
+        private final Frame frame;
+
+        private Snapshot(final Frame frame) {
+            this.frame = frame;
+        }
+    }
+
+    /**
+     * Immutable cell of the uuid stack. Each cell keeps the root uuid,
+     * so the oldest uuid is available without walking the stack.
+     */
+    private static final class Frame {
+
+        private final String uuid;
+
+        private final String root;
+
+        private final Frame parent;
+
+        Frame(final String uuid, final Frame parent) {
+            this.uuid = uuid;
+            this.root = Objects.isNull(parent) ? uuid : parent.root;
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * Thread local context that stores information about not finished tests and steps.
+     * Child threads start with the parent's stack; frames are immutable, so no copy is needed.
+     */
+    private static final class Context extends InheritableThreadLocal<Frame> {
 
         @Override
-        protected LinkedList<String> childValue(final LinkedList<String> parentStepContext) {
-            return new LinkedList<>(parentStepContext);
+        protected Frame childValue(final Frame parentStepContext) {
+            return parentStepContext;
         }
 
     }
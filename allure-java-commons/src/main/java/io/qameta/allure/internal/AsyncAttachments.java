@@ -0,0 +1,264 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static io.qameta.allure.util.PropertiesUtils.getPositive;
+
+/**
+ * Computes and writes content of asynchronous attachments on bounded pool of daemon threads
+ * and keeps track of attachments in progress, so the owning test isn't written before
+ * its attachments are. When all the threads are busy and the queue is full, attachments
+ * are processed on the calling thread.
+ *
+ * <p>Pending attachments are awaited on JVM shutdown.
+ */
+public class AsyncAttachments {
+
+    public static final String THREADS_PROPERTY_NAME = "allure.attachments.async.threads";
+    public static final String QUEUE_SIZE_PROPERTY_NAME = "allure.attachments.async.queueSize";
+    public static final String TIMEOUT_PROPERTY_NAME = "allure.attachments.async.timeout";
+
+    public static final int DEFAULT_THREADS = 4;
+    public static final int DEFAULT_QUEUE_SIZE = 256;
+    public static final long DEFAULT_TIMEOUT_MILLIS = 60_000L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncAttachments.class);
+
+    private static final AtomicInteger EXECUTOR_COUNTER = new AtomicInteger();
+
+    private static final long KEEP_ALIVE_SECONDS = 30L;
+
+    private final int threads;
+
+    private final int queueSize;
+
+    private final long timeoutMillis;
+
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Set<CompletableFuture<?>>> pendingByOwner = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private volatile ThreadPoolExecutor executor;
+
+    /**
+     * Creates a new instance. Threads are started on demand and stopped
+     * once idle, so unused instances don't hold any threads.
+     *
+     * @param threads       the maximum number of threads.
+     * @param queueSize     the maximum number of attachments waiting for a thread.
+     * @param timeoutMillis the maximum time to wait for pending attachments.
+     */
+    public AsyncAttachments(final int threads, final int queueSize, final long timeoutMillis) {
+        this.threads = Math.max(1, threads);
+        this.queueSize = Math.max(1, queueSize);
+        this.timeoutMillis = Math.max(1L, timeoutMillis);
+    }
+
+    /**
+     * Creates a new instance configured by {@link #THREADS_PROPERTY_NAME},
+     * {@link #QUEUE_SIZE_PROPERTY_NAME} and {@link #TIMEOUT_PROPERTY_NAME} properties.
+     * Defaults are used for invalid values, values less than 1 are replaced with 1.
+     *
+     * @param properties the properties.
+     * @return the new instance.
+     */
+    public static AsyncAttachments fromProperties(final Properties properties) {
+        return new AsyncAttachments(
+                (int) getPositive(properties, THREADS_PROPERTY_NAME, DEFAULT_THREADS),
+                (int) getPositive(properties, QUEUE_SIZE_PROPERTY_NAME, DEFAULT_QUEUE_SIZE),
+                getPositive(properties, TIMEOUT_PROPERTY_NAME, DEFAULT_TIMEOUT_MILLIS)
+        );
+    }
+
+    /**
+     * Computes attachment content and writes it asynchronously. Nothing is written
+     * if the content can't be computed.
+     *
+     * @param ownerUuid the uuid of test the attachment belongs to, may be null.
+     * @param body      the attachment content supplier.
+     * @param write     the consumer that writes attachment content.
+     * @param <T>       the type of attachment content.
+     * @return the future completed once attachment content is written.
+     */
+    public <T> CompletableFuture<T> submit(final String ownerUuid,
+                                           final Supplier<T> body,
+                                           final Consumer<? super T> write) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        track(ownerUuid, future);
+        final Runnable task = () -> {
+            try {
+                final T result = body.get();
+                write.accept(result);
+                future.complete(result);
+            } catch (Throwable e) {
+                LOGGER.error("Could not write Allure attachment", e);
+                future.completeExceptionally(e);
+            } finally {
+                untrack(ownerUuid, future);
+            }
+        };
+        getExecutor().execute(task);
+        return future;
+    }
+
+    /**
+     * Waits for pending attachments of given test, but no longer than configured timeout.
+     *
+     * @param ownerUuid the uuid of test.
+     */
+    public void await(final String ownerUuid) {
+        final Set<CompletableFuture<?>> owned = pendingByOwner.get(ownerUuid);
+        if (Objects.nonNull(owned)) {
+            await(new ArrayList<>(owned), ownerUuid);
+        }
+    }
+
+    /**
+     * Waits for all pending attachments, but no longer than configured timeout.
+     */
+    public void awaitAll() {
+        if (!pending.isEmpty()) {
+            await(new ArrayList<>(pending), null);
+        }
+    }
+
+    private void await(final Collection<CompletableFuture<?>> futures, final String ownerUuid) {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (CompletableFuture<?> future : futures) {
+            try {
+                future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException ignored) {
+                //already logged
+            } catch (TimeoutException e) {
+                LOGGER.warn("Attachments of {} are not written within {} ms",
+                        Objects.isNull(ownerUuid) ? "test run" : "test " + ownerUuid, timeoutMillis);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void track(final String ownerUuid, final CompletableFuture<?> future) {
+        pending.add(future);
+        if (Objects.nonNull(ownerUuid)) {
+            pendingByOwner.compute(ownerUuid, (uuid, owned) -> {
+                final Set<CompletableFuture<?>> result = Objects.isNull(owned)
+                        ? ConcurrentHashMap.newKeySet()
+                        : owned;
+                result.add(future);
+                return result;
+            });
+        }
+    }
+
+    private void untrack(final String ownerUuid, final CompletableFuture<?> future) {
+        pending.remove(future);
+        if (Objects.nonNull(ownerUuid)) {
+            pendingByOwner.computeIfPresent(ownerUuid, (uuid, owned) -> {
+                owned.remove(future);
+                return owned.isEmpty() ? null : owned;
+            });
+        }
+    }
+
+    private ThreadPoolExecutor getExecutor() {
+        ThreadPoolExecutor current = executor;
+        if (Objects.isNull(current)) {
+            synchronized (this) {
+                current = executor;
+                if (Objects.isNull(current)) {
+                    current = createExecutor();
+                    executor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private ThreadPoolExecutor createExecutor() {
+        final String prefix = "allure-attachments-" + EXECUTOR_COUNTER.incrementAndGet() + "-";
+        final AtomicInteger threadCounter = new AtomicInteger();
+        final ThreadPoolExecutor created = new ThreadPoolExecutor(
+                threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, prefix + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        created.allowCoreThreadTimeOut(true);
+        Shutdown.register(this);
+        return created;
+    }
+
+    /**
+     * Awaits pending attachments of all the instances on JVM shutdown. Instances
+     * are referenced weakly, so unused instances can be garbage collected.
+     */
+    private static final class Shutdown {
+
+        private static final Set<AsyncAttachments> INSTANCES = Collections.synchronizedSet(
+                Collections.newSetFromMap(new WeakHashMap<>())
+        );
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(Shutdown::awaitAll, "allure-attachments-shutdown"));
+        }
+
+        private Shutdown() {
+            throw new IllegalStateException("Do not instance");
+        }
+
+        static void register(final AsyncAttachments instance) {
+            INSTANCES.add(instance);
+        }
+
+        private static void awaitAll() {
+            final List<AsyncAttachments> instances;
+            synchronized (INSTANCES) {
+                instances = new ArrayList<>(INSTANCES);
+            }
+            instances.forEach(AsyncAttachments::awaitAll);
+        }
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.internal;
+
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.Attachment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Holds content of attachments in temporary files until the owning test is written,
+ * so the attachments can be either written by results writer or discarded. Attachments
+ * added as files are not copied, the spool keeps the path until the test is written.
+ *
+ * <p>The files are stored in a temporary directory created in results directory,
+ * so results writer is able to link them instead of copying. Temporary files of released
+ * attachments are deleted by {@link #purgeReleased()}, the directory is removed
+ * by {@link #purge()} or on JVM shutdown.
+ *
+ * <p>The spool uses {@link ReentrantLock}s rather than object monitors, and no content
+ * is copied while a lock is held, so virtual threads don't pin their carrier threads.
+ */
+public class AttachmentSpool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AttachmentSpool.class);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Map<String, List<Entry>> entriesByOwner = new ConcurrentHashMap<>();
+
+    /**
+     * Temporary files of retained attachments, deleted once the writer is flushed.
+     */
+    private final Queue<Path> releasedFiles = new ConcurrentLinkedQueue<>();
+
+    private final Path parentDirectory;
+
+    private final Lock directoryLock = new ReentrantLock();
+
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private volatile Path directory;
+
+    /**
+     * Creates a new spool.
+     *
+     * @param parentDirectory the directory to create temporary directory in, e.g. results directory.
+     */
+    public AttachmentSpool(final Path parentDirectory) {
+        this.parentDirectory = parentDirectory;
+    }
+
+    /**
+     * Registers attachment of given test. The content of the attachment
+     * will be held by the spool until the test is released.
+     *
+     * @param ownerUuid  the uuid of test.
+     * @param attachment the attachment.
+     */
+    public void register(final String ownerUuid, final Attachment attachment) {
+        final Entry entry = new Entry(attachment);
+        entries.put(attachment.getSource(), entry);
+        final List<Entry> owned = entriesByOwner.computeIfAbsent(
+                ownerUuid, uuid -> Collections.synchronizedList(new ArrayList<>())
+        );
+        owned.add(entry);
+    }
+
+    /**
+     * Stores content of registered attachment in temporary file.
+     *
+     * @param source the source of attachment.
+     * @param stream the content of attachment.
+     * @return true if the content is stored, false if the attachment isn't registered
+     * or its test is already released.
+     * @throws IOException if an I/O error occurs.
+     */
+    public boolean write(final String source, final InputStream stream) throws IOException {
+        final Entry entry = entries.get(source);
+        if (Objects.isNull(entry)) {
+            return false;
+        }
+        final Path file;
+        try (InputStream is = stream) {
+            if (entry.released) {
+                return false;
+            }
+            file = Files.createTempFile(getDirectory(), "attachment-", ".tmp");
+            try {
+                Files.copy(is, file, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                delete(file);
+                throw e;
+            }
+        }
+        final boolean stored;
+        final Path replaced;
+        entry.lock.lock();
+        try {
+            stored = !entry.released;
+            replaced = stored ? replaceFile(entry, file, true) : file;
+        } finally {
+            entry.lock.unlock();
+        }
+        delete(replaced);
+        return stored;
+    }
+
+    /**
+     * Holds path of registered attachment file. The file should stay in place
+     * until the test is released.
+     *
+     * @param source     the source of attachment.
+     * @param attachment the file that contains attachment content.
+     * @return true if the path is held, false if the attachment isn't registered
+     * or its test is already released.
+     */
+    public boolean write(final String source, final Path attachment) {
+        final Entry entry = entries.get(source);
+        if (Objects.isNull(entry)) {
+            return false;
+        }
+        final Path replaced;
+        entry.lock.lock();
+        try {
+            if (entry.released) {
+                return false;
+            }
+            replaced = replaceFile(entry, attachment, false);
+        } finally {
+            entry.lock.unlock();
+        }
+        delete(replaced);
+        return true;
+    }
+
+    /**
+     * Releases attachments of given test. Files of retained attachments are written
+     * by given writer, temporary files of other attachments are deleted. Temporary
+     * files of retained attachments are deleted by {@link #purgeReleased()}, as the writer
+     * may read them asynchronously.
+     *
+     * @param ownerUuid the uuid of test.
+     * @param retain    the predicate that returns true for attachments to retain.
+     * @param writer    the writer to write retained attachments.
+     * @return the discarded attachments.
+     */
+    public List<Attachment> release(final String ownerUuid,
+                                    final Predicate<Attachment> retain,
+                                    final AllureResultsWriter writer) {
+        final List<Entry> owned = entriesByOwner.remove(ownerUuid);
+        if (Objects.isNull(owned)) {
+            return Collections.emptyList();
+        }
+        final List<Attachment> discarded = new ArrayList<>();
+        final List<Entry> released = new ArrayList<>(owned);
+        for (Entry entry : released) {
+            if (!release(entry, retain, writer)) {
+                discarded.add(entry.attachment);
+            }
+        }
+        return discarded;
+    }
+
+    private boolean release(final Entry entry, final Predicate<Attachment> retain, final AllureResultsWriter writer) {
+        final Path file;
+        final boolean temporary;
+        entry.lock.lock();
+        try {
+            entry.released = true;
+            entries.remove(entry.attachment.getSource());
+            file = entry.file;
+            temporary = entry.temporary;
+            entry.file = null;
+        } finally {
+            entry.lock.unlock();
+        }
+        if (!retain.test(entry.attachment)) {
+            if (temporary) {
+                delete(file);
+            }
+            return false;
+        }
+        if (Objects.nonNull(file)) {
+            try {
+                writer.write(entry.attachment.getSource(), file);
+            } catch (Exception e) {
+                LOGGER.error("Could not write attachment {}", entry.attachment.getSource(), e);
+            }
+            if (temporary) {
+                releasedFiles.add(file);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Deletes temporary files of released attachments. Attachments of tests that are
+     * not released yet are kept, so the method can be called in the middle of the run.
+     * Should be called once the writer has read the files, e.g. after it is flushed.
+     */
+    public void purgeReleased() {
+        Path file;
+        while (Objects.nonNull(file = releasedFiles.poll())) {
+            delete(file);
+        }
+    }
+
+    /**
+     * Deletes content of all the attachments, including attachments of tests that
+     * are not released, and removes the temporary directory. Should be called once
+     * all the tests are written, e.g. on shutdown.
+     */
+    public void purge() {
+        purgeReleased();
+        entriesByOwner.clear();
+        for (Entry entry : entries.values()) {
+            final Path file;
+            entry.lock.lock();
+            try {
+                entry.released = true;
+                file = entry.temporary ? entry.file : null;
+                entry.file = null;
+                entry.temporary = false;
+            } finally {
+                entry.lock.unlock();
+            }
+            delete(file);
+        }
+        entries.clear();
+        directoryLock.lock();
+        try {
+            if (Objects.nonNull(directory)) {
+                Cleanup.delete(directory);
+                directory = null;
+            }
+        } finally {
+            directoryLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the file of given entry, should be called under the entry lock.
+     *
+     * @param entry     the entry.
+     * @param file      the new file.
+     * @param temporary true if the new file is a temporary file of the spool.
+     * @return the replaced temporary file to delete, if any.
+     */
+    private static Path replaceFile(final Entry entry, final Path file, final boolean temporary) {
+        final Path replaced = entry.temporary ? entry.file : null;
+        entry.file = file;
+        entry.temporary = temporary;
+        return replaced;
+    }
+
+    private Path getDirectory() throws IOException {
+        Path current = directory;
+        if (Objects.isNull(current)) {
+            directoryLock.lock();
+            try {
+                current = directory;
+                if (Objects.isNull(current)) {
+                    Files.createDirectories(parentDirectory);
+                    current = Files.createTempDirectory(parentDirectory, ".allure-attachments-");
+                    Cleanup.register(current);
+                    directory = current;
+                }
+            } finally {
+                directoryLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private static void delete(final Path file) {
+        if (Objects.isNull(file)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.debug("Could not delete temporary attachment file {}", file, e);
+        }
+    }
+
+    /**
+     * Removes temporary directories of all the spools on JVM shutdown.
+     */
+    private static final class Cleanup {
+
+        private static final Set<Path> DIRECTORIES = ConcurrentHashMap.newKeySet();
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(
+                    () -> DIRECTORIES.forEach(Cleanup::deleteRecursively), "allure-attachments-cleanup"
+            ));
+        }
+
+        private Cleanup() {
+            throw new IllegalStateException("Do not instance");
+        }
+
+        static void register(final Path directory) {
+            DIRECTORIES.add(directory);
+        }
+
+        static void delete(final Path directory) {
+            DIRECTORIES.remove(directory);
+            deleteRecursively(directory);
+        }
+
+        private static void deleteRecursively(final Path directory) {
+            if (!Files.exists(directory)) {
+                return;
+            }
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(AttachmentSpool::delete);
+            } catch (IOException | UncheckedIOException e) {
+                LOGGER.debug("Could not delete temporary attachments directory {}", directory, e);
+            }
+        }
+    }
+
+    /**
+     * Spooled attachment.
+     */
+    private static final class Entry {
+
+        private final Lock lock = new ReentrantLock();
+
+        private final Attachment attachment;
+
+        private Path file;
+
+        private boolean temporary;
+
+        @SuppressWarnings("PMD.AvoidUsingVolatile")
+        private volatile boolean released;
+
+        Entry(final Attachment attachment) {
+            this.attachment = attachment;
+        }
+    }
+}
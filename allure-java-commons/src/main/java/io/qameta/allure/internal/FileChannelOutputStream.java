@@ -0,0 +1,183 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.internal;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Output stream that writes to {@link FileChannel} through pooled direct buffers.
+ * Closing the stream closes the channel and returns the buffer to the pool.
+ */
+public class FileChannelOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int MAX_POOLED_BUFFERS = 32;
+
+    private static final Queue<ByteBuffer> POOL = new ConcurrentLinkedQueue<>();
+
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    private final FileChannel channel;
+
+    private ByteBuffer buffer;
+
+    public FileChannelOutputStream(final FileChannel channel) {
+        this.channel = channel;
+        this.buffer = acquire();
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        ensureOpen();
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int off, final int len) throws IOException {
+        ensureOpen();
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            final int chunk = Math.min(remaining, buffer.remaining());
+            buffer.put(bytes, offset, chunk);
+            offset += chunk;
+            remaining -= chunk;
+        }
+    }
+
+    /**
+     * Copies all the content of given stream to the channel. Content of regular files
+     * read by {@link FileInputStream} is transferred by the file system without copying
+     * it to user space, the rest of content is copied through the buffer.
+     *
+     * @param stream the stream to copy.
+     * @return the number of copied bytes.
+     * @throws IOException if an I/O error occurs.
+     */
+    public long transferFrom(final InputStream stream) throws IOException {
+        ensureOpen();
+        long total = 0;
+        if (stream.getClass() == FileInputStream.class) {
+            total += transferFrom(((FileInputStream) stream).getChannel());
+        }
+        final byte[] chunk = new byte[BUFFER_SIZE / 8];
+        int read;
+        while ((read = stream.read(chunk)) >= 0) {
+            write(chunk, 0, read);
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * Transfers the rest of file up to its current size. Subclasses of {@link FileInputStream}
+     * are not transferred, as they may override reading. Pipes and devices can't be positioned
+     * or report zero size, so they are not transferred either, and the transfer stops once
+     * it makes no progress.
+     */
+    private long transferFrom(final FileChannel source) throws IOException {
+        final long count;
+        try {
+            count = source.size() - source.position();
+        } catch (IOException e) {
+            //not a regular file, content is copied through the buffer
+            return 0;
+        }
+        if (count <= 0) {
+            return 0;
+        }
+        drain();
+        final long start = channel.position();
+        long transferred = 0;
+        while (transferred < count) {
+            final long chunk = channel.transferFrom(source, start + transferred, count - transferred);
+            if (chunk <= 0) {
+                break;
+            }
+            transferred += chunk;
+        }
+        channel.position(start + transferred);
+        return transferred;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (Objects.isNull(buffer)) {
+            return;
+        }
+        try {
+            drain();
+        } finally {
+            release(buffer);
+            buffer = null;
+            channel.close();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (Objects.isNull(buffer)) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private static ByteBuffer acquire() {
+        final ByteBuffer pooled = POOL.poll();
+        if (Objects.isNull(pooled)) {
+            return ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        POOLED.decrementAndGet();
+        return pooled;
+    }
+
+    private static void release(final ByteBuffer buffer) {
+        if (POOLED.incrementAndGet() > MAX_POOLED_BUFFERS) {
+            POOLED.decrementAndGet();
+            return;
+        }
+        buffer.clear();
+        POOL.offer(buffer);
+    }
+}
@@ -30,9 +30,13 @@ import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -44,6 +48,10 @@ import static java.util.Arrays.asList;
 /**
  * Collection of utils used by Allure integration to extract meta information from
  * test cases via reflection.
+ * <p>
+ * Metadata resolved for classes and methods is cached for the lifetime of the class,
+ * so repeated invocations of the same test don't walk meta annotations again. Each call
+ * returns new model objects that can be freely modified.
  *
  * @author charlie (Dmitry Baev).
  */
@@ -53,6 +61,21 @@ public final class AnnotationUtils {
 
     private static final String VALUE_METHOD_NAME = "value";
 
+    private static final ClassValue<AnnotationMetadata> CLASS_METADATA = new ClassValue<AnnotationMetadata>() {
+        @Override
+        protected AnnotationMetadata computeValue(final Class<?> type) {
+            return new AnnotationMetadata(type);
+        }
+    };
+
+    private static final ClassValue<Map<Method, AnnotationMetadata>> METHOD_METADATA
+            = new ClassValue<Map<Method, AnnotationMetadata>>() {
+                @Override
+                protected Map<Method, AnnotationMetadata> computeValue(final Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
     private AnnotationUtils() {
         throw new IllegalStateException("Do not instance");
     }
@@ -64,6 +87,10 @@ public final class AnnotationUtils {
      * @return true if {@link io.qameta.allure.Flaky} annotation is present, false otherwise.
      */
     public static boolean isFlaky(final AnnotatedElement annotatedElement) {
+        final AnnotationMetadata metadata = getMetadata(annotatedElement);
+        if (Objects.nonNull(metadata)) {
+            return metadata.flaky;
+        }
         return annotatedElement.isAnnotationPresent(Flaky.class);
     }
 
@@ -74,6 +101,10 @@ public final class AnnotationUtils {
      * @return true if {@link io.qameta.allure.Muted} annotation is present, false otherwise.
      */
     public static boolean isMuted(final AnnotatedElement annotatedElement) {
+        final AnnotationMetadata metadata = getMetadata(annotatedElement);
+        if (Objects.nonNull(metadata)) {
+            return metadata.muted;
+        }
         return annotatedElement.isAnnotationPresent(Muted.class);
     }
 
@@ -84,6 +115,12 @@ public final class AnnotationUtils {
      * @return discovered links.
      */
     public static Set<Link> getLinks(final AnnotatedElement annotatedElement) {
+        final AnnotationMetadata metadata = getMetadata(annotatedElement);
+        if (Objects.nonNull(metadata)) {
+            return metadata.getLinks().stream()
+                    .map(AnnotationUtils::copy)
+                    .collect(Collectors.toSet());
+        }
         return getLinks(annotatedElement.getAnnotations());
     }
 
@@ -116,6 +153,12 @@ public final class AnnotationUtils {
      * @return discovered labels.
      */
     public static Set<Label> getLabels(final AnnotatedElement annotatedElement) {
+        final AnnotationMetadata metadata = getMetadata(annotatedElement);
+        if (Objects.nonNull(metadata)) {
+            return metadata.labels.stream()
+                    .map(AnnotationUtils::copy)
+                    .collect(Collectors.toSet());
+        }
         return getLabels(annotatedElement.getAnnotations());
     }
 
@@ -140,6 +183,31 @@ public final class AnnotationUtils {
                 .collect(Collectors.toSet());
     }
 
+    private static AnnotationMetadata getMetadata(final AnnotatedElement annotatedElement) {
+        if (annotatedElement instanceof Class) {
+            return CLASS_METADATA.get((Class<?>) annotatedElement);
+        }
+        if (annotatedElement instanceof Method) {
+            final Method method = (Method) annotatedElement;
+            return METHOD_METADATA.get(method.getDeclaringClass())
+                    .computeIfAbsent(method, AnnotationMetadata::new);
+        }
+        return null;
+    }
+
+    private static Label copy(final Label label) {
+        return new Label()
+                .setName(label.getName())
+                .setValue(label.getValue());
+    }
+
+    private static Link copy(final Link link) {
+        return new Link()
+                .setName(link.getName())
+                .setUrl(link.getUrl())
+                .setType(link.getType());
+    }
+
     private static <T, U extends Annotation> Stream<T> extractMetaAnnotations(
             final Class<U> annotationType,
             final BiFunction<U, Annotation, Stream<T>> mapper,
@@ -262,4 +330,68 @@ public final class AnnotationUtils {
         return annotationType != null && annotationType.getName().startsWith("java.lang.annotation");
     }
 
+    /**
+     * Allure metadata resolved for class or method. Links are resolved again
+     * when patterns of their types are changed, since link urls depend on them.
+     */
+    private static final class AnnotationMetadata {
+
+        private final List<Annotation> annotations;
+
+        private final Set<Label> labels;
+
+        private final boolean flaky;
+
+        private final boolean muted;
+
+        @SuppressWarnings("PMD.AvoidUsingVolatile")
+        private volatile ResolvedLinks links;
+
+        AnnotationMetadata(final AnnotatedElement annotatedElement) {
+            this.annotations = asList(annotatedElement.getAnnotations());
+            this.labels = getLabels(annotations);
+            this.flaky = annotatedElement.isAnnotationPresent(Flaky.class);
+            this.muted = annotatedElement.isAnnotationPresent(Muted.class);
+        }
+
+        Set<Link> getLinks() {
+            final PropertiesUtils.Snapshot snapshot = PropertiesUtils.getSnapshot();
+            final ResolvedLinks current = links;
+            if (Objects.nonNull(current) && current.isValid(snapshot)) {
+                return current.links;
+            }
+            final ResolvedLinks resolved = new ResolvedLinks(snapshot, AnnotationUtils.getLinks(annotations));
+            links = resolved;
+            return resolved.links;
+        }
+    }
+
+    private static final class ResolvedLinks {
+
+        private final PropertiesUtils.Snapshot snapshot;
+
+        private final Set<Link> links;
+
+        private final Map<String, String> patterns = new HashMap<>();
+
+        ResolvedLinks(final PropertiesUtils.Snapshot snapshot, final Set<Link> links) {
+            this.snapshot = snapshot;
+            this.links = links;
+            for (Link link : links) {
+                patterns.put(link.getType(), snapshot.getLinkPattern(link.getType()));
+            }
+        }
+
+        boolean isValid(final PropertiesUtils.Snapshot current) {
+            if (snapshot != current) {
+                return false;
+            }
+            for (Map.Entry<String, String> entry : patterns.entrySet()) {
+                if (!Objects.equals(entry.getValue(), current.getLinkPattern(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.util;
+
+import io.qameta.allure.IdGenerator;
+import io.qameta.allure.RandomIdGenerator;
+import io.qameta.allure.TimeOrderedIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Provides ids for Allure results. The generator is the first {@link IdGenerator}
+ * registered as a service or, if there are none, the one specified in
+ * {@value #ID_GENERATOR_PROPERTY_NAME} property: {@code random} (default)
+ * or {@code time-ordered}.
+ */
+public final class IdUtils {
+
+    public static final String ID_GENERATOR_PROPERTY_NAME = "allure.results.idGenerator";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdUtils.class);
+
+    private IdUtils() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    /**
+     * Returns new unique id.
+     *
+     * @return the id.
+     */
+    public static String nextId() {
+        return Holder.GENERATOR.nextId();
+    }
+
+    /**
+     * Returns the id generator in use.
+     *
+     * @return the id generator.
+     */
+    public static IdGenerator getIdGenerator() {
+        return Holder.GENERATOR;
+    }
+
+    private static IdGenerator loadIdGenerator() {
+        final List<IdGenerator> generators = ServiceLoaderUtils.load(
+                IdGenerator.class,
+                Thread.currentThread().getContextClassLoader()
+        );
+        if (!generators.isEmpty()) {
+            return generators.get(0);
+        }
+        final String name = PropertiesUtils.loadAllureProperties()
+                .getProperty(ID_GENERATOR_PROPERTY_NAME, "random")
+                .trim()
+                .toLowerCase(Locale.ENGLISH);
+        switch (name) {
+            case "time-ordered":
+                return new TimeOrderedIdGenerator();
+            case "random":
+                return new RandomIdGenerator();
+            default:
+                LOGGER.warn("Unknown id generator {}, random is used", name);
+                return new RandomIdGenerator();
+        }
+    }
+
+    /**
+     * Lazy initialization holder.
+     */
+    private static final class Holder {
+
+        private static final IdGenerator GENERATOR = loadIdGenerator();
+
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Javadoc descriptions collected by allure-descriptions-javadoc processor. The processor
+ * creates a resource per top-level class, each resource is loaded once, on first access.
+ */
+final class JavadocDescriptionsIndex {
+
+    static final String DESCRIPTIONS_FOLDER = "META-INF/allureDescriptions/";
+
+    static final String DESCRIPTIONS_EXTENSION = ".properties";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JavadocDescriptionsIndex.class);
+
+    private static final Map<ClassLoader, Map<String, Map<String, String>>> INDEXES
+            = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private JavadocDescriptionsIndex() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    /**
+     * Returns description of the method with given signature,
+     * e.g. {@code com.example.SomeTest#someTest(int,java.util.List)}.
+     *
+     * @param classLoader    the class loader to search description resources in.
+     * @param declaringClass the class that declares the method.
+     * @param signature      the method signature.
+     * @return the description or null if there is no description for the method.
+     */
+    static String getDescription(final ClassLoader classLoader,
+                                 final Class<?> declaringClass,
+                                 final String signature) {
+        final String resourceName = DESCRIPTIONS_FOLDER + getTopLevelClass(declaringClass).getName()
+                + DESCRIPTIONS_EXTENSION;
+        return INDEXES.computeIfAbsent(classLoader, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(resourceName, name -> load(classLoader, name))
+                .get(signature);
+    }
+
+    private static Class<?> getTopLevelClass(final Class<?> type) {
+        Class<?> current = type;
+        Class<?> enclosing = current.getEnclosingClass();
+        while (Objects.nonNull(enclosing)) {
+            current = enclosing;
+            enclosing = current.getEnclosingClass();
+        }
+        return current;
+    }
+
+    private static Map<String, String> load(final ClassLoader classLoader, final String resourceName) {
+        try (InputStream stream = classLoader.getResourceAsStream(resourceName)) {
+            if (Objects.isNull(stream)) {
+                return Collections.emptyMap();
+            }
+            final Properties properties = new Properties();
+            try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            final Map<String, String> descriptions = new HashMap<>();
+            properties.stringPropertyNames()
+                    .forEach(name -> descriptions.put(name, properties.getProperty(name)));
+            return descriptions;
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read descriptions resource {}", resourceName, e);
+            return Collections.emptyMap();
+        }
+    }
+}
@@ -19,10 +19,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collector;
@@ -31,6 +34,9 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 /**
+ * Templates are parsed once and cached, as well as fields resolved
+ * for {@code {param.field}} placeholders.
+ *
  * @author charlie (Dmitry Baev).
  */
 public final class NamingUtils {
@@ -39,35 +45,40 @@ public final class NamingUtils {
 
     private static final Collector<CharSequence, ?, String> JOINER = Collectors.joining(", ", "[", "]");
 
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([^}]*)}");
+
+    private static final Pattern PATH_SEPARATOR = Pattern.compile("\\.");
+
+    private static final int MAX_CACHED_TEMPLATES = 4096;
+
+    private static final ConcurrentMap<String, Template> TEMPLATES = new ConcurrentHashMap<>();
+
+    private static final ClassValue<ConcurrentMap<String, Field>> FIELDS = new ClassValue<
+            ConcurrentMap<String, Field>>() {
+        @Override
+        protected ConcurrentMap<String, Field> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     private NamingUtils() {
         throw new IllegalStateException("Do not instance");
     }
 
     public static String processNameTemplate(final String template, final Map<String, Object> params) {
-        final Matcher matcher = Pattern.compile("\\{([^}]*)}").matcher(template);
-        final StringBuffer sb = new StringBuffer();
-        while (matcher.find()) {
-            final String pattern = matcher.group(1);
-            final String replacement = processPattern(pattern, params).orElseGet(matcher::group);
-            matcher.appendReplacement(sb, Matcher.quoteReplacement(replacement));
-        }
-        matcher.appendTail(sb);
-        return sb.toString();
+        return getTemplate(template).process(params);
     }
 
-    private static Optional<String> processPattern(final String pattern, final Map<String, Object> params) {
-        if (pattern.isEmpty()) {
-            LOGGER.error("Could not process empty pattern");
-            return Optional.empty();
+    /* package-private */ static Template getTemplate(final String template) {
+        final Template cached = TEMPLATES.get(template);
+        if (Objects.nonNull(cached)) {
+            return cached;
         }
-        final String[] parts = pattern.split("\\.");
-        final String parameterName = parts[0];
-        if (!params.containsKey(parameterName)) {
-            LOGGER.error("Could not find parameter " + parameterName);
-            return Optional.empty();
+        final Template compiled = Template.compile(template);
+        if (TEMPLATES.size() < MAX_CACHED_TEMPLATES) {
+            TEMPLATES.putIfAbsent(template, compiled);
         }
-        final Object param = params.get(parameterName);
-        return Optional.ofNullable(extractProperties(param, parts, 1));
+        return compiled;
     }
 
     @SuppressWarnings("ReturnCount")
@@ -94,26 +105,34 @@ public final class NamingUtils {
     }
 
     private static Object extractChild(final Object object, final String part) {
-        final Class<?> type = object == null ? Object.class : object.getClass();
+        final Class<?> type = object.getClass();
         try {
-            return extractField(object, part, type);
+            return fieldValue(object, getField(type, part));
         } catch (ReflectiveOperationException e) {
             throw new IllegalStateException("Unable to extract " + part + " value from " + type.getName(), e);
         }
     }
 
+    private static Field getField(final Class<?> type, final String part) throws NoSuchFieldException {
+        final ConcurrentMap<String, Field> fields = FIELDS.get(type);
+        final Field cached = fields.get(part);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        final Field field = findField(type, part);
+        final Field previous = fields.putIfAbsent(part, field);
+        return Objects.isNull(previous) ? field : previous;
+    }
+
     @SuppressWarnings("PMD.EmptyCatchBlock")
-    private static Object extractField(final Object object, final String part, final Class<?> type)
-            throws ReflectiveOperationException {
+    private static Field findField(final Class<?> type, final String part) throws NoSuchFieldException {
         try {
-            final Field field = type.getField(part);
-            return fieldValue(object, field);
+            return type.getField(part);
         } catch (NoSuchFieldException e) {
             Class<?> t = type;
             while (t != null) {
                 try {
-                    final Field declaredField = t.getDeclaredField(part);
-                    return fieldValue(object, declaredField);
+                    return t.getDeclaredField(part);
                 } catch (NoSuchFieldException ignore) {
                     // Ignore
                 }
@@ -131,4 +150,77 @@ public final class NamingUtils {
             return field.get(object);
         }
     }
+
+    /**
+     * Parsed name template: a sequence of text and placeholder parts.
+     */
+    /* package-private */ static final class Template {
+
+        private final String[] texts;
+
+        private final Placeholder[] placeholders;
+
+        private Template(final String[] texts, final Placeholder[] placeholders) {
+            this.texts = texts;
+            this.placeholders = placeholders;
+        }
+
+        static Template compile(final String template) {
+            final List<String> texts = new ArrayList<>();
+            final List<Placeholder> placeholders = new ArrayList<>();
+            final Matcher matcher = PLACEHOLDER.matcher(template);
+            int position = 0;
+            while (matcher.find()) {
+                texts.add(template.substring(position, matcher.start()));
+                placeholders.add(new Placeholder(matcher.group(), matcher.group(1)));
+                position = matcher.end();
+            }
+            texts.add(template.substring(position));
+            return new Template(texts.toArray(new String[0]), placeholders.toArray(new Placeholder[0]));
+        }
+
+        boolean hasPlaceholders() {
+            return placeholders.length > 0;
+        }
+
+        String process(final Map<String, Object> params) {
+            if (placeholders.length == 0) {
+                return texts[0];
+            }
+            final StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < placeholders.length; i++) {
+                builder.append(texts[i]).append(placeholders[i].process(params));
+            }
+            return builder.append(texts[placeholders.length]).toString();
+        }
+    }
+
+    /**
+     * Placeholder of name template, e.g. {@code {user.address.city}}.
+     */
+    private static final class Placeholder {
+
+        private final String raw;
+
+        private final String[] parts;
+
+        Placeholder(final String raw, final String pattern) {
+            this.raw = raw;
+            this.parts = pattern.isEmpty() ? new String[0] : PATH_SEPARATOR.split(pattern);
+        }
+
+        String process(final Map<String, Object> params) {
+            if (parts.length == 0) {
+                LOGGER.error("Could not process empty pattern");
+                return raw;
+            }
+            final String parameterName = parts[0];
+            if (!params.containsKey(parameterName)) {
+                LOGGER.error("Could not find parameter " + parameterName);
+                return raw;
+            }
+            final String value = extractProperties(params.get(parameterName), parts, 1);
+            return Objects.isNull(value) ? raw : value;
+        }
+    }
 }
@@ -18,7 +18,10 @@ package io.qameta.allure.util;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Array;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -30,6 +33,22 @@ public final class ObjectUtils {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ObjectUtils.class);
 
+    private static final String TRUNCATED = "...";
+
+    private static final char SIZE_SEPARATOR = '#';
+
+    private static final ClassValue<Boolean> JDK_TO_STRING = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            try {
+                final Package declaringPackage = type.getMethod("toString").getDeclaringClass().getPackage();
+                return Objects.nonNull(declaringPackage) && declaringPackage.getName().startsWith("java.util");
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
     /**
      * Do not instance.
      */
@@ -79,6 +98,88 @@ public final class ObjectUtils {
         }
     }
 
+    /**
+     * Returns string representation of given object limited to given length. Arrays,
+     * and JDK collections and maps are rendered element by element, up to given number
+     * of elements, so the full representation of large values is never built. Values
+     * that exceed the limit are truncated and end with {@code ...}.
+     *
+     * @param object      the given object.
+     * @param maxLength   the maximum length of the result.
+     * @param maxElements the maximum number of rendered elements for arrays, collections and maps.
+     * @return the string representation of given object.
+     */
+    public static String toString(final Object object, final int maxLength, final int maxElements) {
+        return toString(object, maxLength, maxElements, false);
+    }
+
+    /**
+     * Returns string representation of given object limited to given length. If {@code identifyTruncated}
+     * is true, md5 of the rendered prefix and of the sizes of truncated values is appended to truncated
+     * values, so values of different size don't collide. Truncated values are never rendered in full.
+     *
+     * @see #truncate(String, int, boolean)
+     */
+    /* package-private */ static String toString(final Object object, final int maxLength,
+                                                 final int maxElements, final boolean identifyTruncated) {
+        try {
+            final BoundedBuilder builder = new BoundedBuilder(maxLength, maxElements, identifyTruncated);
+            if (object instanceof byte[]) {
+                builder.append("<BINARY>");
+            } else if (Objects.nonNull(object) && object.getClass().isArray()) {
+                builder.appendArray(object);
+            } else {
+                builder.appendElement(object, null);
+            }
+            return builder.toString();
+        } catch (Exception e) {
+            LOGGER.error("Could not convert object to string", e);
+            return "<NPE>";
+        }
+    }
+
+    /**
+     * Truncates given string to given length. Truncated strings end with {@code ...}.
+     *
+     * @param value     the string to truncate.
+     * @param maxLength the maximum length of the result.
+     * @return the truncated string.
+     */
+    public static String truncate(final String value, final int maxLength) {
+        if (Objects.isNull(value) || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, Math.max(0, maxLength - TRUNCATED.length())) + TRUNCATED;
+    }
+
+    /**
+     * Truncates given string to given length. If {@code identify} is true, md5 of the prefix
+     * and the length of the value is appended to truncated value.
+     *
+     * @param value     the string to truncate.
+     * @param maxLength the maximum length of the result.
+     * @param identify  true to append the identity of truncated value.
+     * @return the truncated string.
+     */
+    /* package-private */ static String truncate(final String value, final int maxLength, final boolean identify) {
+        if (!identify || Objects.isNull(value) || value.length() <= maxLength) {
+            return truncate(value, maxLength);
+        }
+        return truncate(value, maxLength, value.substring(0, maxLength) + SIZE_SEPARATOR + value.length());
+    }
+
+    /**
+     * Truncates given string to given length and appends md5 of given identity, unless the length
+     * is too small to hold it.
+     */
+    private static String truncate(final String value, final int maxLength, final String identity) {
+        final String suffix = " (md5:" + ResultsUtils.md5(identity) + ")";
+        if (maxLength - suffix.length() <= TRUNCATED.length()) {
+            return truncate(value, maxLength);
+        }
+        return truncate(value, maxLength - suffix.length()) + suffix;
+    }
+
     public static String mapToString(final Map<String, String> map) {
         if (map == null || map.isEmpty()) {
             return "{}";
@@ -88,4 +189,123 @@ public final class ObjectUtils {
                 .map(key -> key + "=" + map.get(key))
                 .collect(Collectors.joining(",", "{", "}"));
     }
+
+    /**
+     * String builder that stops accepting content as soon as the limit is exceeded.
+     * Uses the same format as {@link Arrays#toString(Object[])},
+     * {@link java.util.AbstractCollection#toString()} and {@link java.util.AbstractMap#toString()}.
+     */
+    private static final class BoundedBuilder {
+
+        private final StringBuilder builder = new StringBuilder();
+
+        /**
+         * The sizes of truncated values, identify truncated value along with the rendered prefix.
+         */
+        private final StringBuilder sizes = new StringBuilder();
+
+        private final int maxLength;
+
+        private final int maxElements;
+
+        private final boolean identifyTruncated;
+
+        BoundedBuilder(final int maxLength, final int maxElements, final boolean identifyTruncated) {
+            this.maxLength = maxLength;
+            this.maxElements = maxElements;
+            this.identifyTruncated = identifyTruncated;
+        }
+
+        boolean isDone() {
+            return builder.length() > maxLength;
+        }
+
+        void append(final CharSequence value) {
+            final long room = (long) maxLength + 1 - builder.length();
+            if (value.length() > room) {
+                sizes.append(SIZE_SEPARATOR).append(value.length());
+            }
+            if (room > 0) {
+                builder.append(value, 0, (int) Math.min(room, value.length()));
+            }
+        }
+
+        void appendRest(final int rendered, final int size) {
+            if (rendered < size) {
+                sizes.append(SIZE_SEPARATOR).append(size);
+                append(rendered > 0 ? ", " + TRUNCATED : TRUNCATED);
+            }
+        }
+
+        void appendArray(final Object array) {
+            final int length = Array.getLength(array);
+            append("[");
+            int i = 0;
+            for (; i < length && i < maxElements && !isDone(); i++) {
+                if (i > 0) {
+                    append(", ");
+                }
+                appendElement(Array.get(array, i), null);
+            }
+            appendRest(i, length);
+            append("]");
+        }
+
+        void appendCollection(final Collection<?> collection) {
+            final Iterator<?> iterator = collection.iterator();
+            append("[");
+            int i = 0;
+            for (; iterator.hasNext() && i < maxElements && !isDone(); i++) {
+                if (i > 0) {
+                    append(", ");
+                }
+                appendElement(iterator.next(), collection);
+            }
+            if (iterator.hasNext()) {
+                appendRest(i, collection.size());
+            }
+            append("]");
+        }
+
+        void appendMap(final Map<?, ?> map) {
+            final Iterator<? extends Map.Entry<?, ?>> iterator = map.entrySet().iterator();
+            append("{");
+            int i = 0;
+            for (; iterator.hasNext() && i < maxElements && !isDone(); i++) {
+                if (i > 0) {
+                    append(", ");
+                }
+                final Map.Entry<?, ?> entry = iterator.next();
+                appendElement(entry.getKey(), map);
+                append("=");
+                appendElement(entry.getValue(), map);
+            }
+            if (iterator.hasNext()) {
+                appendRest(i, map.size());
+            }
+            append("}");
+        }
+
+        void appendElement(final Object element, final Object container) {
+            if (Objects.nonNull(element) && element == container) {
+                append(element instanceof Map ? "(this Map)" : "(this Collection)");
+            } else if (element instanceof Collection && JDK_TO_STRING.get(element.getClass())) {
+                appendCollection((Collection<?>) element);
+            } else if (element instanceof Map && JDK_TO_STRING.get(element.getClass())) {
+                appendMap((Map<?, ?>) element);
+            } else if (element instanceof CharSequence) {
+                append((CharSequence) element);
+            } else {
+                append(String.valueOf(element));
+            }
+        }
+
+        @Override
+        public String toString() {
+            if (!identifyTruncated || (!isDone() && sizes.length() == 0)) {
+                return truncate(builder.toString(), maxLength);
+            }
+            return truncate(builder.toString(), maxLength, builder.toString() + sizes);
+        }
+    }
 }
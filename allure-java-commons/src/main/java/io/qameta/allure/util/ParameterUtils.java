@@ -16,20 +16,45 @@
 package io.qameta.allure.util;
 
 import io.qameta.allure.Param;
+import io.qameta.allure.ParameterFormatter;
 import io.qameta.allure.model.Parameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Objects;
+import java.util.Properties;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
+ * Formats values of test and step parameters. Values are rendered by the registered
+ * {@link ParameterFormatter} services or, if none supports the value, by
+ * {@link ObjectUtils#toString(Object, int, int)}. The result can be limited by
+ * {@value #MAX_LENGTH_PROPERTY_NAME} characters and {@value #MAX_ELEMENTS_PROPERTY_NAME}
+ * elements of arrays and collections, both are disabled by default, so parameter values
+ * and history ids don't change unless configured. Values of hidden and excluded parameters
+ * are always limited by {@value #HIDDEN_MAX_LENGTH_PROPERTY_NAME} characters. Zero or
+ * negative limit disables it.
+ *
+ * <p>Truncated values, except for excluded ones, end with md5 of the rendered prefix and
+ * the sizes of truncated values, so parameters with values of different size still produce
+ * different history ids.
+ *
  * @author charlie (Dmitry Baev).
  */
 public final class ParameterUtils {
 
+    public static final String MAX_LENGTH_PROPERTY_NAME = "allure.parameters.maxLength";
+    public static final String MAX_ELEMENTS_PROPERTY_NAME = "allure.parameters.maxElements";
+    public static final String HIDDEN_MAX_LENGTH_PROPERTY_NAME = "allure.parameters.hidden.maxLength";
+
+    public static final int DEFAULT_HIDDEN_MAX_LENGTH = 256;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParameterUtils.class);
+
     private ParameterUtils() {
         throw new IllegalStateException("do not instance");
     }
@@ -61,4 +86,97 @@ public final class ParameterUtils {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Returns string representation of given parameter value.
+     *
+     * @param value the parameter value.
+     * @return the formatted value.
+     */
+    public static String formatValue(final Object value) {
+        return formatValue(value, null, null);
+    }
+
+    /**
+     * Returns string representation of given parameter value.
+     *
+     * @param value    the parameter value.
+     * @param excluded true if the parameter is excluded from history id.
+     * @param mode     the parameter mode.
+     * @return the formatted value.
+     */
+    public static String formatValue(final Object value, final Boolean excluded, final Parameter.Mode mode) {
+        if (Boolean.TRUE.equals(excluded) || mode == Parameter.Mode.HIDDEN) {
+            return formatValue(
+                    Holder.FORMATTERS, value,
+                    Math.min(Holder.MAX_LENGTH, Holder.HIDDEN_MAX_LENGTH), Holder.MAX_ELEMENTS,
+                    !Boolean.TRUE.equals(excluded)
+            );
+        }
+        return formatValue(Holder.FORMATTERS, value, Holder.MAX_LENGTH, Holder.MAX_ELEMENTS, true);
+    }
+
+    /* package-private */ static String formatValue(final List<ParameterFormatter> formatters,
+                                                    final Object value,
+                                                    final int maxLength,
+                                                    final int maxElements,
+                                                    final boolean identifyTruncated) {
+        if (Objects.nonNull(value)) {
+            for (ParameterFormatter formatter : formatters) {
+                final String formatted = format(formatter, value, maxLength);
+                if (Objects.nonNull(formatted)) {
+                    return ObjectUtils.truncate(formatted, maxLength, identifyTruncated);
+                }
+            }
+        }
+        return ObjectUtils.toString(value, maxLength, maxElements, identifyTruncated);
+    }
+
+    private static String format(final ParameterFormatter formatter, final Object value, final int maxLength) {
+        try {
+            return formatter.format(value, maxLength);
+        } catch (Exception e) {
+            LOGGER.error("Could not format parameter value using {}", formatter.getClass().getName(), e);
+            return null;
+        }
+    }
+
+    private static int getLimit(final Properties properties, final String name, final int defaultValue) {
+        final String value = properties.getProperty(name);
+        if (Objects.isNull(value)) {
+            return defaultValue;
+        }
+        try {
+            final int limit = Integer.parseInt(value.trim());
+            return limit > 0 ? limit : Integer.MAX_VALUE;
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid value {} of {} property, {} is used", value, name, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Lazy initialization holder.
+     */
+    private static final class Holder {
+
+        private static final Properties PROPERTIES = PropertiesUtils.loadAllureProperties();
+
+        private static final int MAX_LENGTH = getLimit(
+                PROPERTIES, MAX_LENGTH_PROPERTY_NAME, Integer.MAX_VALUE
+        );
+
+        private static final int MAX_ELEMENTS = getLimit(
+                PROPERTIES, MAX_ELEMENTS_PROPERTY_NAME, Integer.MAX_VALUE
+        );
+
+        private static final int HIDDEN_MAX_LENGTH = getLimit(
+                PROPERTIES, HIDDEN_MAX_LENGTH_PROPERTY_NAME, DEFAULT_HIDDEN_MAX_LENGTH
+        );
+
+        private static final List<ParameterFormatter> FORMATTERS = ServiceLoaderUtils.load(
+                ParameterFormatter.class,
+                Thread.currentThread().getContextClassLoader()
+        );
+
+    }
 }
@@ -20,7 +20,12 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.WeakHashMap;
 
 /**
  * The collection of properties utils methods.
@@ -31,17 +36,90 @@ public final class PropertiesUtils {
 
     private static final String ALLURE_PROPERTIES_FILE = "allure.properties";
 
+    private static final String LABEL_PREFIX = "allure.label.";
+
+    private static final String LINK_PREFIX = "allure.link.";
+
+    private static final String LINK_PATTERN_SUFFIX = ".pattern";
+
+    private static final Map<ClassLoader, Snapshot> SNAPSHOTS
+            = Collections.synchronizedMap(new WeakHashMap<>());
+
     private PropertiesUtils() {
     }
 
+    /**
+     * Returns allure.properties from the classpath merged with system properties.
+     * The file is read once per context class loader, system properties are read
+     * on every call. The returned properties can be freely modified.
+     *
+     * @return the allure properties.
+     */
     public static Properties loadAllureProperties() {
         final Properties properties = new Properties();
-        loadPropertiesFrom(ClassLoader.getSystemClassLoader(), properties);
-        loadPropertiesFrom(Thread.currentThread().getContextClassLoader(), properties);
+        properties.putAll(getSnapshot().fileProperties);
         properties.putAll(System.getProperties());
         return properties;
     }
 
+    /**
+     * Drops all the cached properties, so allure.properties is re-read from the classpath
+     * on the next access. System properties changes are picked up without invalidation.
+     */
+    public static void invalidateAllureProperties() {
+        SNAPSHOTS.clear();
+    }
+
+    /**
+     * Returns the value of positive numeric property. Values less than 1 are replaced with 1,
+     * values greater than {@link Integer#MAX_VALUE} are capped.
+     *
+     * @param properties   the properties.
+     * @param name         the property name.
+     * @param defaultValue the value used if the property is missing or is not a number.
+     * @return the property value.
+     */
+    public static long getPositive(final Properties properties, final String name, final long defaultValue) {
+        final String value = properties.getProperty(name);
+        if (Objects.isNull(value)) {
+            return defaultValue;
+        }
+        try {
+            final long parsed = Long.parseLong(value.trim());
+            if (parsed < 1) {
+                LOGGER.warn("Invalid value {} of {} property, 1 is used", value, name);
+                return 1;
+            }
+            return Math.min(parsed, Integer.MAX_VALUE);
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid value {} of {} property, {} is used", value, name, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Returns the cached snapshot of allure properties for the context class loader.
+     */
+    static Snapshot getSnapshot() {
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final Snapshot cached = SNAPSHOTS.get(classLoader);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        final Snapshot snapshot = new Snapshot(loadFileProperties(classLoader));
+        SNAPSHOTS.put(classLoader, snapshot);
+        return snapshot;
+    }
+
+    private static Properties loadFileProperties(final ClassLoader classLoader) {
+        final Properties properties = new Properties();
+        loadPropertiesFrom(ClassLoader.getSystemClassLoader(), properties);
+        if (Objects.nonNull(classLoader)) {
+            loadPropertiesFrom(classLoader, properties);
+        }
+        return properties;
+    }
+
     private static void loadPropertiesFrom(final ClassLoader classLoader, final Properties properties) {
         try (InputStream stream = classLoader.getResourceAsStream(ALLURE_PROPERTIES_FILE)) {
             if (stream != null) {
@@ -51,4 +129,62 @@ public final class PropertiesUtils {
             LOGGER.error("Error while reading allure.properties file from classpath: {}", e.getMessage());
         }
     }
+
+    private static void putLabels(final Properties properties, final Map<String, String> labels) {
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(LABEL_PREFIX)) {
+                labels.put(name.substring(LABEL_PREFIX.length()), properties.getProperty(name));
+            }
+        }
+    }
+
+    /**
+     * Properties from allure.properties files with precomputed provided labels and link
+     * patterns. System properties are looked up on access, so their changes are picked up
+     * without invalidation, and override the values from the files.
+     */
+    static final class Snapshot {
+
+        private final Properties fileProperties;
+
+        private final Map<String, String> fileLabels;
+
+        private final Map<String, String> fileLinkPatterns;
+
+        Snapshot(final Properties fileProperties) {
+            this.fileProperties = fileProperties;
+            final Map<String, String> labels = new HashMap<>();
+            putLabels(fileProperties, labels);
+            final Map<String, String> patterns = new HashMap<>();
+            for (String name : fileProperties.stringPropertyNames()) {
+                if (name.startsWith(LINK_PREFIX) && name.endsWith(LINK_PATTERN_SUFFIX)
+                        && name.length() >= LINK_PREFIX.length() + LINK_PATTERN_SUFFIX.length()) {
+                    patterns.put(name.substring(LINK_PREFIX.length(), name.length() - LINK_PATTERN_SUFFIX.length()),
+                            fileProperties.getProperty(name));
+                }
+            }
+            this.fileLabels = Collections.unmodifiableMap(labels);
+            this.fileLinkPatterns = Collections.unmodifiableMap(patterns);
+        }
+
+        String getProperty(final String name) {
+            final String value = System.getProperty(name);
+            return Objects.nonNull(value) ? value : fileProperties.getProperty(name);
+        }
+
+        /**
+         * Returns provided labels. Reads all the system properties, so should be called
+         * once per test.
+         */
+        Map<String, String> getProvidedLabels() {
+            final Map<String, String> labels = new HashMap<>(fileLabels);
+            putLabels(System.getProperties(), labels);
+            return labels;
+        }
+
+        String getLinkPattern(final String type) {
+            final String value = System.getProperty(LINK_PREFIX + type + LINK_PATTERN_SUFFIX);
+            return Objects.nonNull(value) ? value : fileLinkPatterns.get(String.valueOf(type));
+        }
+    }
 }
@@ -37,22 +37,22 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.lang.management.ManagementFactory;
 import java.lang.reflect.Method;
-import java.math.BigInteger;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Properties;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static io.qameta.allure.util.PropertiesUtils.loadAllureProperties;
 import static java.lang.Boolean.parseBoolean;
 import static java.util.Objects.nonNull;
 
@@ -99,8 +99,17 @@ public final class ResultsUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(ResultsUtils.class);
     private static final String ALLURE_DESCRIPTIONS_FOLDER = "META-INF/allureDescriptions/";
     private static final String MD_5 = "MD5";
+    private static final Pattern LINK_PLACEHOLDER = Pattern.compile("\\{}");
 
-    private static String cachedHost;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final Comparator<Parameter> PARAMETERS_ORDER = Comparator
+            .comparing(Parameter::getName)
+            .thenComparing(Parameter::getValue);
+
+    private static final ThreadLocal<MessageDigest> MD5_DIGEST = ThreadLocal.withInitial(ResultsUtils::getMd5Digest);
+
+    private static final ThreadLocal<ThreadName> THREAD_NAME = new ThreadLocal<>();
 
     private ResultsUtils() {
         throw new IllegalStateException("Do not instance");
@@ -114,7 +123,7 @@ public final class ResultsUtils {
                                             final Boolean excluded, final Parameter.Mode mode) {
         return new Parameter()
                 .setName(name)
-                .setValue(ObjectUtils.toString(value))
+                .setValue(ParameterUtils.formatValue(value, excluded, mode))
                 .setExcluded(excluded)
                 .setMode(mode);
     }
@@ -244,37 +253,36 @@ public final class ResultsUtils {
     }
 
     public static Set<Label> getProvidedLabels() {
-        final Properties properties = loadAllureProperties();
-        final Set<String> propertyNames = properties.stringPropertyNames();
-        return propertyNames.stream()
-                .filter(name -> name.startsWith("allure.label."))
-                .map(name -> {
-                    final String labelName = name.substring(13);
-                    final String labelValue = properties.getProperty(name);
-                    return new Label()
-                            .setName(labelName)
-                            .setValue(labelValue);
-                })
-                .filter(label -> nonNull(label.getValue()))
+        return PropertiesUtils.getSnapshot().getProvidedLabels().entrySet().stream()
+                .filter(entry -> nonNull(entry.getValue()))
+                .map(entry -> new Label()
+                        .setName(entry.getKey())
+                        .setValue(entry.getValue()))
                 .collect(Collectors.toSet());
     }
 
     public static String getHostName() {
         final String fromProperty = System.getProperty(ALLURE_HOST_NAME_SYSPROP);
+        if (nonNull(fromProperty)) {
+            return fromProperty;
+        }
         final String fromEnv = System.getenv(ALLURE_HOST_NAME_ENV);
-        return Stream.of(fromProperty, fromEnv)
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElseGet(ResultsUtils::getRealHostName);
+        if (nonNull(fromEnv)) {
+            return fromEnv;
+        }
+        return HostHolder.HOST_NAME;
     }
 
     public static String getThreadName() {
         final String fromProperty = System.getProperty(ALLURE_THREAD_NAME_SYSPROP);
+        if (nonNull(fromProperty)) {
+            return fromProperty;
+        }
         final String fromEnv = System.getenv(ALLURE_THREAD_NAME_ENV);
-        return Stream.of(fromProperty, fromEnv)
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElseGet(ResultsUtils::getRealThreadName);
+        if (nonNull(fromEnv)) {
+            return fromEnv;
+        }
+        return getRealThreadName();
     }
 
     public static Optional<Status> getStatus(final Throwable throwable) {
@@ -296,16 +304,24 @@ public final class ResultsUtils {
     public static Optional<String> getJavadocDescription(final ClassLoader classLoader,
                                                          final Method method) {
         final String name = method.getName();
-        final List<String> parameterTypes = Stream.of(method.getParameterTypes())
-                .map(Class::getTypeName)
-                .collect(Collectors.toList());
-
-        final String signatureHash = generateMethodSignatureHash(
-                method.getDeclaringClass().getName(),
-                name,
-                parameterTypes);
-
-        return readResource(classLoader, ALLURE_DESCRIPTIONS_FOLDER + signatureHash)
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+        final StringBuilder signature = new StringBuilder(method.getDeclaringClass().getName())
+                .append('#').append(name).append('(');
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                signature.append(',');
+            }
+            signature.append(parameterTypes[i].getTypeName());
+        }
+        signature.append(')');
+
+        final String indexed = JavadocDescriptionsIndex.getDescription(
+                classLoader, method.getDeclaringClass(), signature.toString()
+        );
+        final Optional<String> description = nonNull(indexed)
+                ? Optional.of(indexed)
+                : readLegacyJavadocDescription(classLoader, method);
+        return description
                 .map(desc -> separateLines() ? desc.replace("\n", "<br />") : desc);
     }
 
@@ -323,23 +339,64 @@ public final class ResultsUtils {
     public static String generateMethodSignatureHash(final String className,
                                                      final String methodName,
                                                      final List<String> parameterTypes) {
-        final MessageDigest md = getMd5Digest();
+        final MessageDigest md = getThreadLocalMd5Digest();
         md.update(className.getBytes(StandardCharsets.UTF_8));
         md.update(methodName.getBytes(StandardCharsets.UTF_8));
-        parameterTypes.stream()
-                .map(string -> string.getBytes(StandardCharsets.UTF_8))
-                .forEach(md::update);
+        for (String parameterType : parameterTypes) {
+            md.update(parameterType.getBytes(StandardCharsets.UTF_8));
+        }
         final byte[] bytes = md.digest();
         return bytesToHex(bytes);
     }
 
+    /**
+     * Generates history id from the test name and parameters. Parameters are sorted
+     * by name and value, so the id doesn't depend on parameters order.
+     *
+     * @param name       the name of test, usually full name.
+     * @param parameters the test parameters.
+     * @return the md5 hash of name and parameters.
+     */
+    public static String generateHistoryId(final String name, final List<Parameter> parameters) {
+        final MessageDigest digest = getThreadLocalMd5Digest();
+        digest.update(name.getBytes(StandardCharsets.UTF_8));
+        if (!parameters.isEmpty()) {
+            final Parameter[] sorted = parameters.toArray(new Parameter[0]);
+            Arrays.sort(sorted, PARAMETERS_ORDER);
+            for (Parameter parameter : sorted) {
+                digest.update(parameter.getName().getBytes(StandardCharsets.UTF_8));
+                digest.update(parameter.getValue().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        final byte[] bytes = digest.digest();
+        return bytesToHex(bytes);
+    }
+
     public static String md5(final String source) {
         Objects.requireNonNull(source, "null source");
-        return bytesToHex(getMd5Digest().digest(source.getBytes(StandardCharsets.UTF_8)));
+        return bytesToHex(getThreadLocalMd5Digest().digest(source.getBytes(StandardCharsets.UTF_8)));
     }
 
+    /**
+     * Returns hex representation of given bytes as unsigned number, i.e. without
+     * leading zeros. The same as {@code new BigInteger(1, bytes).toString(16)}.
+     *
+     * @param bytes the bytes to convert.
+     * @return the hex string.
+     */
     public static String bytesToHex(final byte[] bytes) {
-        return new BigInteger(1, bytes).toString(16);
+        final char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        int start = 0;
+        while (start < chars.length - 1 && chars[start] == '0') {
+            start++;
+        }
+        return chars.length == 0
+                ? "0"
+                : new String(chars, start, chars.length - start);
     }
 
     public static MessageDigest getMd5Digest() {
@@ -350,32 +407,32 @@ public final class ResultsUtils {
         }
     }
 
+    private static MessageDigest getThreadLocalMd5Digest() {
+        final MessageDigest digest = MD5_DIGEST.get();
+        digest.reset();
+        return digest;
+    }
+
     private static String getLinkUrl(final String name, final String type) {
-        final Properties properties = loadAllureProperties();
-        final String pattern = properties.getProperty(getLinkTypePatternPropertyName(type));
+        final String pattern = PropertiesUtils.getSnapshot().getLinkPattern(type);
         if (Objects.isNull(pattern)) {
             return null;
         }
-        return pattern.replaceAll("\\{}", Objects.isNull(name) ? "" : name);
-    }
-
-    private static String getRealHostName() {
-        if (Objects.isNull(cachedHost)) {
-            try {
-                cachedHost = InetAddress.getLocalHost().getHostName();
-            } catch (UnknownHostException e) {
-                LOGGER.debug("Could not get host name", e);
-                cachedHost = "default";
-            }
-        }
-        return cachedHost;
+        return LINK_PLACEHOLDER.matcher(pattern).replaceAll(Objects.isNull(name) ? "" : name);
     }
 
     private static String getRealThreadName() {
-        return String.format("%s.%s(%s)",
-                ManagementFactory.getRuntimeMXBean().getName(),
-                Thread.currentThread().getName(),
-                Thread.currentThread().getId());
+        final Thread thread = Thread.currentThread();
+        final String name = thread.getName();
+        final ThreadName cached = THREAD_NAME.get();
+        if (nonNull(cached) && cached.threadName.equals(name)) {
+            return cached.value;
+        }
+        final ThreadName created = new ThreadName(
+                name, ProcessHolder.PROCESS_NAME + '.' + name + '(' + thread.getId() + ')'
+        );
+        THREAD_NAME.set(created);
+        return created.value;
     }
 
     private static String getStackTraceAsString(final Throwable throwable) {
@@ -400,6 +457,24 @@ public final class ResultsUtils {
         }
     }
 
+    /**
+     * Reads description resource created by the processor of previous versions, that
+     * stores description of each method in a separate file named by signature hash.
+     */
+    private static Optional<String> readLegacyJavadocDescription(final ClassLoader classLoader,
+                                                                 final Method method) {
+        final List<String> parameterTypes = Stream.of(method.getParameterTypes())
+                .map(Class::getTypeName)
+                .collect(Collectors.toList());
+
+        final String signatureHash = generateMethodSignatureHash(
+                method.getDeclaringClass().getName(),
+                method.getName(),
+                parameterTypes);
+
+        return readResource(classLoader, ALLURE_DESCRIPTIONS_FOLDER + signatureHash);
+    }
+
     private static Optional<String> readResource(final ClassLoader classLoader, final String resourceName) {
         try (InputStream is = classLoader.getResourceAsStream(resourceName)) {
             if (Objects.isNull(is)) {
@@ -427,7 +502,48 @@ public final class ResultsUtils {
     }
 
     private static boolean separateLines() {
-        return parseBoolean(loadAllureProperties().getProperty(ALLURE_SEPARATE_LINES_SYSPROP));
+        return parseBoolean(PropertiesUtils.getSnapshot().getProperty(ALLURE_SEPARATE_LINES_SYSPROP));
+    }
+
+    /**
+     * Lazily resolved host name, the same for all the tests.
+     */
+    private static final class HostHolder {
+
+        private static final String HOST_NAME = resolveHostName();
+
+        private static String resolveHostName() {
+            try {
+                return InetAddress.getLocalHost().getHostName();
+            } catch (UnknownHostException e) {
+                LOGGER.debug("Could not get host name", e);
+                return "default";
+            }
+        }
     }
 
+    /**
+     * Lazily resolved process name. Kept apart from the host name, as resolving
+     * the host name may take a DNS lookup, which thread labels don't need.
+     */
+    private static final class ProcessHolder {
+
+        private static final String PROCESS_NAME = ManagementFactory.getRuntimeMXBean().getName();
+    }
+
+    /**
+     * Thread label value cached for the thread. Threads can be renamed,
+     * so the value is valid only while the thread name is the same.
+     */
+    private static final class ThreadName {
+
+        private final String threadName;
+
+        private final String value;
+
+        ThreadName(final String threadName, final String value) {
+            this.threadName = threadName;
+            this.value = value;
+        }
+    }
 }
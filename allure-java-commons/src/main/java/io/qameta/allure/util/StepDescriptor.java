@@ -0,0 +1,196 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.util;
+
+import io.qameta.allure.Param;
+import io.qameta.allure.Step;
+import io.qameta.allure.model.Parameter;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static io.qameta.allure.util.ResultsUtils.createParameter;
+
+/**
+ * Reflective information about step method that doesn't change between calls:
+ * the {@link Step} annotation, parsed name template, parameter names and
+ * {@link Param} settings. Descriptors are cached per method, so woven calls
+ * only need to process argument values.
+ */
+public final class StepDescriptor {
+
+    private static final ClassValue<ConcurrentMap<Method, StepDescriptor>> DESCRIPTORS = new ClassValue<
+            ConcurrentMap<Method, StepDescriptor>>() {
+        @Override
+        protected ConcurrentMap<Method, StepDescriptor> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Step step;
+
+    private final String methodName;
+
+    private final NamingUtils.Template template;
+
+    private final String[] parameterNames;
+
+    private final String[] parameterIndexes;
+
+    private final String[] names;
+
+    private final Boolean[] excluded;
+
+    private final Parameter.Mode[] modes;
+
+    private StepDescriptor(final Method method, final String[] parameterNames) {
+        this.step = method.getAnnotation(Step.class);
+        this.methodName = method.getName();
+        this.template = Objects.isNull(step) || step.value().isEmpty()
+                ? null
+                : NamingUtils.getTemplate(step.value());
+        this.parameterNames = parameterNames.clone();
+
+        final java.lang.reflect.Parameter[] params = method.getParameters();
+        final int count = parameterNames.length;
+        this.parameterIndexes = new String[count];
+        this.names = new String[count];
+        this.excluded = new Boolean[count];
+        this.modes = new Parameter.Mode[count];
+        for (int i = 0; i < count; i++) {
+            parameterIndexes[i] = Integer.toString(i);
+            names[i] = parameterNames[i];
+            final Param[] annotations = i < params.length
+                    ? params[i].getAnnotationsByType(Param.class)
+                    : new Param[0];
+            if (annotations.length > 0) {
+                final Param param = annotations[0];
+                names[i] = getParamName(param, parameterNames[i]);
+                excluded[i] = param.excluded();
+                modes[i] = param.mode();
+            }
+        }
+    }
+
+    /**
+     * Returns cached descriptor of the method from given signature.
+     *
+     * @param signature the method signature.
+     * @return the step descriptor.
+     */
+    public static StepDescriptor of(final MethodSignature signature) {
+        return of(signature.getMethod(), signature.getParameterNames());
+    }
+
+    /**
+     * Returns cached descriptor of given method.
+     *
+     * @param method         the method.
+     * @param parameterNames the names of method parameters.
+     * @return the step descriptor.
+     */
+    public static StepDescriptor of(final Method method, final String[] parameterNames) {
+        final ConcurrentMap<Method, StepDescriptor> descriptors = DESCRIPTORS.get(method.getDeclaringClass());
+        final StepDescriptor cached = descriptors.get(method);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        final StepDescriptor descriptor = create(method, parameterNames);
+        final StepDescriptor previous = descriptors.putIfAbsent(method, descriptor);
+        return Objects.isNull(previous) ? descriptor : previous;
+    }
+
+    /**
+     * Creates a new descriptor of given method, bypassing the cache.
+     *
+     * @param method         the method.
+     * @param parameterNames the names of method parameters.
+     * @return the step descriptor.
+     */
+    public static StepDescriptor create(final Method method, final String[] parameterNames) {
+        return new StepDescriptor(method, parameterNames);
+    }
+
+    /**
+     * Returns the {@link Step} annotation of the method, if any.
+     *
+     * @return the annotation or null if the method isn't annotated.
+     */
+    public Step getStep() {
+        return step;
+    }
+
+    public String getName(final JoinPoint joinPoint) {
+        return getName(joinPoint.getThis(), joinPoint.getArgs());
+    }
+
+    /**
+     * Returns the step name: processed {@link Step#value()} template, or
+     * the method name if template isn't specified.
+     *
+     * @param self the object the method is called on, null for static methods.
+     * @param args the method arguments.
+     * @return the step name.
+     */
+    public String getName(final Object self, final Object... args) {
+        if (Objects.isNull(template)) {
+            return methodName;
+        }
+        if (!template.hasPlaceholders()) {
+            return template.process(null);
+        }
+        return template.process(getParametersMap(self, args));
+    }
+
+    public List<Parameter> getParameters(final Object... args) {
+        final List<Parameter> parameters = new ArrayList<>(args.length);
+        for (int i = 0; i < args.length; i++) {
+            parameters.add(createParameter(names[i], args[i], excluded[i], modes[i]));
+        }
+        return parameters;
+    }
+
+    private Map<String, Object> getParametersMap(final Object self, final Object... args) {
+        final int count = Math.min(parameterNames.length, args.length);
+        final Map<String, Object> params = new HashMap<>(count * 4 + 4);
+        params.put("method", methodName);
+        for (int i = 0; i < count; i++) {
+            params.put(parameterNames[i], args[i]);
+            params.put(parameterIndexes[i], args[i]);
+        }
+        if (Objects.nonNull(self)) {
+            params.put("this", self);
+        }
+        return params;
+    }
+
+    private static String getParamName(final Param param, final String defaultName) {
+        final String value = param.value().trim();
+        if (!value.isEmpty()) {
+            return value;
+        }
+        final String name = param.name().trim();
+        return name.isEmpty() ? defaultName : name;
+    }
+}
@@ -0,0 +1,368 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.util;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.ThreadContextSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Propagates test case and step context to other threads. Threads inherit the context
+ * only when created, so tasks executed by thread pools, {@link java.util.concurrent.CompletableFuture}
+ * or parallel streams should be wrapped to add their steps to the right parent:
+ *
+ * <pre>{@code
+ * ThreadContextUtils.supplyAsync(() -> step("request", this::request))
+ *         .thenApplyAsync(wrapFunction(response -> step("parse", () -> parse(response))));
+ * items.parallelStream().forEach(wrapConsumer(item -> step("check " + item)));
+ * ForkJoinPool.commonPool().invoke(wrapForkJoinTask(new CheckTask(items)));
+ * }</pre>
+ *
+ * <p>The context is captured when the task is wrapped (for executors, when the task is
+ * submitted) and is restored for the time of task execution only. Functions of dependent
+ * {@link CompletableFuture} stages are executed by the thread that completes the previous
+ * stage, so each of them should be wrapped.
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class ThreadContextUtils {
+
+    private ThreadContextUtils() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    public static Runnable wrapRunnable(final Runnable runnable) {
+        return wrapRunnable(Allure.getLifecycle(), runnable);
+    }
+
+    public static Runnable wrapRunnable(final AllureLifecycle lifecycle, final Runnable runnable) {
+        final ThreadContextSnapshot snapshot = lifecycle.captureContext();
+        return () -> {
+            final ThreadContextSnapshot previous = lifecycle.restoreContext(snapshot);
+            try {
+                runnable.run();
+            } finally {
+                lifecycle.restoreContext(previous);
+            }
+        };
+    }
+
+    public static <T> Callable<T> wrapCallable(final Callable<T> callable) {
+        return wrapCallable(Allure.getLifecycle(), callable);
+    }
+
+    public static <T> Callable<T> wrapCallable(final AllureLifecycle lifecycle, final Callable<T> callable) {
+        final ThreadContextSnapshot snapshot = lifecycle.captureContext();
+        return () -> {
+            final ThreadContextSnapshot previous = lifecycle.restoreContext(snapshot);
+            try {
+                return callable.call();
+            } finally {
+                lifecycle.restoreContext(previous);
+            }
+        };
+    }
+
+    public static <T> Supplier<T> wrapSupplier(final Supplier<T> supplier) {
+        return wrapSupplier(Allure.getLifecycle(), supplier);
+    }
+
+    public static <T> Supplier<T> wrapSupplier(final AllureLifecycle lifecycle, final Supplier<T> supplier) {
+        final ThreadContextSnapshot snapshot = lifecycle.captureContext();
+        return () -> {
+            final ThreadContextSnapshot previous = lifecycle.restoreContext(snapshot);
+            try {
+                return supplier.get();
+            } finally {
+                lifecycle.restoreContext(previous);
+            }
+        };
+    }
+
+    public static <T, R> Function<T, R> wrapFunction(final Function<T, R> function) {
+        return wrapFunction(Allure.getLifecycle(), function);
+    }
+
+    public static <T, R> Function<T, R> wrapFunction(final AllureLifecycle lifecycle,
+                                                     final Function<T, R> function) {
+        final ThreadContextSnapshot snapshot = lifecycle.captureContext();
+        return value -> {
+            final ThreadContextSnapshot previous = lifecycle.restoreContext(snapshot);
+            try {
+                return function.apply(value);
+            } finally {
+                lifecycle.restoreContext(previous);
+            }
+        };
+    }
+
+    public static <T> Consumer<T> wrapConsumer(final Consumer<T> consumer) {
+        return wrapConsumer(Allure.getLifecycle(), consumer);
+    }
+
+    public static <T> Consumer<T> wrapConsumer(final AllureLifecycle lifecycle, final Consumer<T> consumer) {
+        final ThreadContextSnapshot snapshot = lifecycle.captureContext();
+        return value -> {
+            final ThreadContextSnapshot previous = lifecycle.restoreContext(snapshot);
+            try {
+                consumer.accept(value);
+            } finally {
+                lifecycle.restoreContext(previous);
+            }
+        };
+    }
+
+    /**
+     * Returns executor that runs tasks in context of the thread that submits them.
+     *
+     * @param executor the executor to delegate to.
+     * @return the wrapped executor.
+     */
+    public static Executor wrapExecutor(final Executor executor) {
+        return wrapExecutor(Allure.getLifecycle(), executor);
+    }
+
+    public static Executor wrapExecutor(final AllureLifecycle lifecycle, final Executor executor) {
+        return command -> executor.execute(wrapRunnable(lifecycle, command));
+    }
+
+    /**
+     * Returns executor service that runs tasks in context of the thread that submits them.
+     * Works with any implementation, including {@link java.util.concurrent.ForkJoinPool}.
+     *
+     * @param executorService the executor service to delegate to.
+     * @return the wrapped executor service.
+     */
+    public static ExecutorService wrapExecutorService(final ExecutorService executorService) {
+        return wrapExecutorService(Allure.getLifecycle(), executorService);
+    }
+
+    public static ExecutorService wrapExecutorService(final AllureLifecycle lifecycle,
+                                                      final ExecutorService executorService) {
+        return new ContextExecutorService(lifecycle, executorService);
+    }
+
+    /**
+     * Runs the supplier in {@link ForkJoinPool#commonPool()} in context of current thread.
+     *
+     * @param supplier the supplier to run.
+     * @return the future completed with the value returned by supplier.
+     */
+    public static <T> CompletableFuture<T> supplyAsync(final Supplier<T> supplier) {
+        return supplyAsync(supplier, ForkJoinPool.commonPool());
+    }
+
+    public static <T> CompletableFuture<T> supplyAsync(final Supplier<T> supplier, final Executor executor) {
+        return supplyAsync(Allure.getLifecycle(), supplier, executor);
+    }
+
+    public static <T> CompletableFuture<T> supplyAsync(final AllureLifecycle lifecycle,
+                                                       final Supplier<T> supplier,
+                                                       final Executor executor) {
+        return CompletableFuture.supplyAsync(wrapSupplier(lifecycle, supplier), executor);
+    }
+
+    /**
+     * Runs the runnable in {@link ForkJoinPool#commonPool()} in context of current thread.
+     *
+     * @param runnable the runnable to run.
+     * @return the future completed once the runnable is finished.
+     */
+    public static CompletableFuture<Void> runAsync(final Runnable runnable) {
+        return runAsync(runnable, ForkJoinPool.commonPool());
+    }
+
+    public static CompletableFuture<Void> runAsync(final Runnable runnable, final Executor executor) {
+        return runAsync(Allure.getLifecycle(), runnable, executor);
+    }
+
+    public static CompletableFuture<Void> runAsync(final AllureLifecycle lifecycle,
+                                                   final Runnable runnable,
+                                                   final Executor executor) {
+        return CompletableFuture.runAsync(wrapRunnable(lifecycle, runnable), executor);
+    }
+
+    /**
+     * Returns fork/join task that executes given task in context of current thread, e.g.
+     * {@link java.util.concurrent.RecursiveTask}. Subtasks forked by the task are executed
+     * in context of the forking thread only if they are wrapped as well.
+     *
+     * @param task the task to wrap.
+     * @return the wrapped task.
+     */
+    public static <T> ForkJoinTask<T> wrapForkJoinTask(final ForkJoinTask<T> task) {
+        return wrapForkJoinTask(Allure.getLifecycle(), task);
+    }
+
+    public static <T> ForkJoinTask<T> wrapForkJoinTask(final AllureLifecycle lifecycle, final ForkJoinTask<T> task) {
+        return new ContextForkJoinTask<>(lifecycle, lifecycle.captureContext(), task);
+    }
+
+    /**
+     * Fork/join task that invokes the wrapped task in captured context.
+     */
+    @SuppressWarnings("serial")
+    private static final class ContextForkJoinTask<T> extends ForkJoinTask<T> {
+
+        private final transient AllureLifecycle lifecycle;
+
+        private final transient ThreadContextSnapshot snapshot;
+
+        private final ForkJoinTask<T> task;
+
+        private transient T result;
+
+        ContextForkJoinTask(final AllureLifecycle lifecycle,
+                            final ThreadContextSnapshot snapshot,
+                            final ForkJoinTask<T> task) {
+            this.lifecycle = lifecycle;
+            this.snapshot = snapshot;
+            this.task = task;
+        }
+
+        @Override
+        public T getRawResult() {
+            return result;
+        }
+
+        @Override
+        protected void setRawResult(final T value) {
+            this.result = value;
+        }
+
+        @Override
+        protected boolean exec() {
+            final ThreadContextSnapshot previous = lifecycle.restoreContext(snapshot);
+            try {
+                result = task.invoke();
+                return true;
+            } finally {
+                lifecycle.restoreContext(previous);
+            }
+        }
+    }
+
+    /**
+     * Executor service that wraps submitted tasks.
+     */
+    @SuppressWarnings("PMD.TooManyMethods")
+    private static final class ContextExecutorService implements ExecutorService {
+
+        private final AllureLifecycle lifecycle;
+
+        private final ExecutorService delegate;
+
+        ContextExecutorService(final AllureLifecycle lifecycle, final ExecutorService delegate) {
+            this.lifecycle = lifecycle;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            delegate.execute(wrapRunnable(lifecycle, command));
+        }
+
+        @Override
+        public Future<?> submit(final Runnable task) {
+            return delegate.submit(wrapRunnable(lifecycle, task));
+        }
+
+        @Override
+        public <T> Future<T> submit(final Runnable task, final T result) {
+            return delegate.submit(wrapRunnable(lifecycle, task), result);
+        }
+
+        @Override
+        public <T> Future<T> submit(final Callable<T> task) {
+            return delegate.submit(wrapCallable(lifecycle, task));
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(final Collection<? extends Callable<T>> tasks)
+                throws InterruptedException {
+            return delegate.invokeAll(wrapAll(tasks));
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(final Collection<? extends Callable<T>> tasks,
+                                             final long timeout,
+                                             final TimeUnit unit) throws InterruptedException {
+            return delegate.invokeAll(wrapAll(tasks), timeout, unit);
+        }
+
+        @Override
+        public <T> T invokeAny(final Collection<? extends Callable<T>> tasks)
+                throws InterruptedException, ExecutionException {
+            return delegate.invokeAny(wrapAll(tasks));
+        }
+
+        @Override
+        public <T> T invokeAny(final Collection<? extends Callable<T>> tasks,
+                               final long timeout,
+                               final TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return delegate.invokeAny(wrapAll(tasks), timeout, unit);
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+
+        private <T> List<Callable<T>> wrapAll(final Collection<? extends Callable<T>> tasks) {
+            final List<Callable<T>> wrapped = new ArrayList<>(tasks.size());
+            for (Callable<T> task : tasks) {
+                wrapped.add(wrapCallable(lifecycle, task));
+            }
+            return wrapped;
+        }
+    }
+}
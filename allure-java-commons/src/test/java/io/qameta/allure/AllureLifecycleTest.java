@@ -17,10 +17,12 @@ package io.qameta.allure;
 
 import io.qameta.allure.model.Attachment;
 import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StepResult;
 import io.qameta.allure.model.TestResult;
 import io.qameta.allure.model.TestResultContainer;
 import io.qameta.allure.test.AllureResults;
+import io.qameta.allure.test.AllureResultsWriterStub;
 import io.qameta.allure.test.RunUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,6 +34,7 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -461,6 +464,88 @@ class AllureLifecycleTest {
         return name;
     }
 
+    @Test
+    void shouldDiscardAttachmentsNotRetainedByPolicy() {
+        final AllureResultsWriterStub results = new AllureResultsWriterStub();
+        final AllureLifecycle retaining = new AllureLifecycle(
+                results,
+                new StatusAttachmentRetentionPolicy(
+                        Collections.singletonMap(Status.PASSED, Collections.singletonList("text/plain"))
+                )
+        );
+
+        final String passed = runTestWithAttachments(retaining, Status.PASSED);
+        final String failed = runTestWithAttachments(retaining, Status.FAILED);
+        retaining.flush();
+
+        final TestResult passedResult = results.getTestResultByName(passed);
+        assertThat(passedResult.getAttachments())
+                .extracting(Attachment::getName)
+                .containsExactly("log");
+        assertThat(passedResult.getSteps())
+                .flatExtracting(StepResult::getAttachments)
+                .isEmpty();
+
+        final TestResult failedResult = results.getTestResultByName(failed);
+        assertThat(failedResult.getAttachments())
+                .extracting(Attachment::getName)
+                .containsExactly("log");
+        assertThat(failedResult.getSteps())
+                .flatExtracting(StepResult::getAttachments)
+                .extracting(Attachment::getName)
+                .containsExactly("screenshot");
+
+        assertThat(results.getAttachments())
+                .containsOnlyKeys(
+                        passedResult.getAttachments().get(0).getSource(),
+                        failedResult.getAttachments().get(0).getSource(),
+                        failedResult.getSteps().get(0).getAttachments().get(0).getSource()
+                );
+    }
+
+    @Test
+    void shouldWriteAsyncAttachmentsBeforeTestCase() {
+        final List<String> writtenBeforeTest = new CopyOnWriteArrayList<>();
+        final AllureResultsWriterStub results = new AllureResultsWriterStub() {
+            @Override
+            public void write(final TestResult testResult) {
+                writtenBeforeTest.addAll(getAttachments().keySet());
+                super.write(testResult);
+            }
+        };
+        final AllureLifecycle lifecycle = new AllureLifecycle(results);
+
+        final String uuid = randomId();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName(randomName()));
+        lifecycle.startTestCase(uuid);
+        final String source = lifecycle.prepareAttachment(randomName(), "text/plain", ".txt");
+        final CompletableFuture<InputStream> future = lifecycle.writeAttachmentAsync(
+                source, getStreamWithTimeout(1, randomString(100)), stream -> stream
+        );
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+
+        assertThat(future)
+                .isDone();
+        assertThat(writtenBeforeTest)
+                .containsExactly(source);
+    }
+
+    private static String runTestWithAttachments(final AllureLifecycle lifecycle, final Status status) {
+        final String uuid = randomId();
+        final String name = randomName();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName(name));
+        lifecycle.startTestCase(uuid);
+        lifecycle.addAttachment("log", "text/plain", "txt", randomString(10).getBytes(StandardCharsets.UTF_8));
+        lifecycle.startStep(randomId(), new StepResult().setName(randomName()));
+        lifecycle.addAttachment("screenshot", "image/png", "png", randomString(10).getBytes(StandardCharsets.UTF_8));
+        lifecycle.stopStep();
+        lifecycle.updateTestCase(uuid, result -> result.setStatus(status));
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+        return name;
+    }
+
     private static class StepCall implements Callable<Void> {
 
         private final AllureLifecycle lifecycle;
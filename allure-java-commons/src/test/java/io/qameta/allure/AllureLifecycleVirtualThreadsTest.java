@@ -0,0 +1,112 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.test.AllureResultsWriterStub;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs thousands of concurrent tests on virtual threads. Skipped on JDKs
+ * without virtual threads, the virtualThreadsTest task runs it on JDK 21.
+ */
+class AllureLifecycleVirtualThreadsTest {
+
+    private static final int TESTS_COUNT = 10_000;
+
+    private static final int STEPS_COUNT = 3;
+
+    @Test
+    void shouldKeepContextOfConcurrentVirtualThreadTests() throws Exception {
+        final ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        final AllureResultsWriterStub writer = new AllureResultsWriterStub();
+        final AllureLifecycle lifecycle = new AllureLifecycle(writer);
+        final CountDownLatch started = new CountDownLatch(TESTS_COUNT);
+
+        final List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < TESTS_COUNT; i++) {
+                final String uuid = "test-" + i;
+                futures.add(executor.submit(() -> runTest(lifecycle, uuid, started)));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(writer.getTestResults())
+                .hasSize(TESTS_COUNT)
+                .allSatisfy(result -> {
+                    assertThat(result.getSteps())
+                            .hasSize(1);
+                    final StepResult step = result.getSteps().get(0);
+                    assertThat(step.getName())
+                            .isEqualTo(result.getUuid());
+                    assertThat(step.getSteps())
+                            .extracting(StepResult::getName)
+                            .containsExactly(result.getUuid() + "-0", result.getUuid() + "-1", result.getUuid() + "-2");
+                });
+    }
+
+    private static Void runTest(final AllureLifecycle lifecycle,
+                                final String uuid,
+                                final CountDownLatch started) throws InterruptedException {
+        lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName(uuid));
+        lifecycle.startTestCase(uuid);
+        lifecycle.startStep(uuid + "-step", new StepResult().setName(uuid));
+
+        // keep all the tests running at the same time
+        started.countDown();
+        started.await();
+
+        for (int i = 0; i < STEPS_COUNT; i++) {
+            lifecycle.startStep(uuid + "-step-" + i, new StepResult().setName(uuid + "-" + i));
+            Thread.yield();
+            lifecycle.stopStep();
+        }
+        lifecycle.stopStep();
+        assertThat(lifecycle.getCurrentTestCaseOrStep())
+                .hasValue(uuid);
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+        return null;
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() throws ReflectiveOperationException {
+        Method factory = null;
+        try {
+            factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            assumeTrue(false, "virtual threads are not supported");
+        }
+        return (ExecutorService) factory.invoke(null);
+    }
+}
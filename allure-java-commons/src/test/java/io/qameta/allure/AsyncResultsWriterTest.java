@@ -0,0 +1,253 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import io.qameta.allure.test.AllureResultsWriterStub;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import static io.qameta.allure.test.TestData.randomId;
+import static io.qameta.allure.test.TestData.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncResultsWriterTest {
+
+    @Test
+    void shouldWriteResultsOnFlush() {
+        final AllureResultsWriterStub delegate = new AllureResultsWriterStub();
+        try (AsyncResultsWriter writer = new AsyncResultsWriter(delegate)) {
+            for (int i = 0; i < 100; i++) {
+                writer.write(new TestResult().setUuid(randomId()));
+                writer.write(new TestResultContainer().setUuid(randomId()));
+            }
+            writer.write("a-attachment.txt", stream(randomString(10)));
+            writer.flush();
+
+            assertThat(delegate.getTestResults())
+                    .hasSize(100);
+            assertThat(delegate.getTestResultContainers())
+                    .hasSize(100);
+            assertThat(delegate.getAttachments())
+                    .containsKey("a-attachment.txt");
+        }
+    }
+
+    @Test
+    void shouldDropAttachmentsWhenQueueIsFull() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AllureResultsWriterStub delegate = new AllureResultsWriterStub() {
+            @Override
+            public void write(final String source, final InputStream attachment) {
+                started.countDown();
+                await(release);
+                super.write(source, attachment);
+            }
+        };
+        try (AsyncResultsWriter writer = new AsyncResultsWriter(
+                delegate, 15, 1, AsyncResultsWriter.Backpressure.DROP_ATTACHMENTS
+        )) {
+            writer.write("first-attachment.txt", stream(randomString(10)));
+            started.await();
+            writer.write("second-attachment.txt", stream(randomString(10)));
+            writer.write("third-attachment.txt", stream(randomString(5)));
+            release.countDown();
+            writer.flush();
+
+            assertThat(delegate.getAttachments())
+                    .containsOnlyKeys("first-attachment.txt", "third-attachment.txt");
+        }
+    }
+
+    @Test
+    void shouldWriteOnCallerThreadWhenQueueIsFull() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AllureResultsWriterStub delegate = new AllureResultsWriterStub() {
+            @Override
+            public void write(final TestResultContainer testResultContainer) {
+                started.countDown();
+                await(release);
+                super.write(testResultContainer);
+            }
+        };
+        try (AsyncResultsWriter writer = new AsyncResultsWriter(
+                delegate, 1, 1, AsyncResultsWriter.Backpressure.CALLER_RUNS
+        )) {
+            writer.write(new TestResultContainer().setUuid(randomId()));
+            started.await();
+            writer.write(new TestResult().setUuid(randomId()));
+            writer.write(new TestResult().setUuid(randomId()));
+
+            assertThat(delegate.getTestResults())
+                    .hasSize(2);
+
+            release.countDown();
+            writer.flush();
+
+            assertThat(delegate.getTestResultContainers())
+                    .hasSize(1);
+        }
+    }
+
+    @Test
+    void shouldWriteResultsAsTheyWereOnWrite() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AllureResultsWriterStub delegate = new AllureResultsWriterStub() {
+            @Override
+            public void write(final TestResultContainer testResultContainer) {
+                started.countDown();
+                await(release);
+                super.write(testResultContainer);
+            }
+        };
+        try (AsyncResultsWriter writer = new AsyncResultsWriter(delegate)) {
+            writer.write(new TestResultContainer().setUuid(randomId()));
+            started.await();
+            final TestResult result = new TestResult().setUuid(randomId()).setName("first");
+            writer.write(result);
+            result.setName("second");
+            result.getLabels().add(new Label().setName("label").setValue(randomString(10)));
+            release.countDown();
+            writer.flush();
+
+            assertThat(delegate.getTestResults())
+                    .extracting(TestResult::getName)
+                    .containsExactly("first");
+            assertThat(delegate.getTestResults().get(0).getLabels())
+                    .isEmpty();
+        }
+    }
+
+    @Test
+    void shouldStopWaitingForResultsOnTimeout() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AllureResultsWriterStub delegate = new AllureResultsWriterStub() {
+            @Override
+            public void write(final TestResult testResult) {
+                started.countDown();
+                await(release);
+                super.write(testResult);
+            }
+        };
+        try (AsyncResultsWriter writer = new AsyncResultsWriter(
+                delegate, AsyncResultsWriter.DEFAULT_QUEUE_BYTES, 1, AsyncResultsWriter.Backpressure.BLOCK, 100
+        )) {
+            writer.write(new TestResult().setUuid(randomId()));
+            started.await();
+            writer.flush();
+
+            assertThat(delegate.getTestResults())
+                    .isEmpty();
+
+            release.countDown();
+        }
+        assertThat(delegate.getTestResults())
+                .hasSize(1);
+    }
+
+    @Test
+    void shouldReadAttachmentStreamsBeforeWriteReturns() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AllureResultsWriterStub delegate = new AllureResultsWriterStub() {
+            @Override
+            public void write(final TestResult testResult) {
+                started.countDown();
+                await(release);
+                super.write(testResult);
+            }
+        };
+        final byte[] small = randomString(100).getBytes(StandardCharsets.UTF_8);
+        final byte[] big = new byte[3 * 1024 * 1024 + 17];
+        new Random().nextBytes(big);
+        try (AsyncResultsWriter writer = new AsyncResultsWriter(delegate)) {
+            writer.write(new TestResult().setUuid(randomId()));
+            started.await();
+            final InputStream smallStream = new ClosingInputStream(small);
+            final InputStream bigStream = new ClosingInputStream(big);
+            writer.write("small-attachment.txt", smallStream);
+            writer.write("big-attachment.bin", bigStream);
+            smallStream.close();
+            bigStream.close();
+            release.countDown();
+            writer.flush();
+
+            assertThat(delegate.getAttachments().get("small-attachment.txt"))
+                    .isEqualTo(small);
+            assertThat(delegate.getAttachments().get("big-attachment.bin"))
+                    .isEqualTo(big);
+        }
+    }
+
+    @Test
+    void shouldWriteSynchronouslyAfterClose() {
+        final AllureResultsWriterStub delegate = new AllureResultsWriterStub();
+        final AsyncResultsWriter writer = new AsyncResultsWriter(delegate);
+        writer.close();
+        writer.write(new TestResult().setUuid(randomId()));
+
+        assertThat(delegate.getTestResults())
+                .hasSize(1);
+    }
+
+    private static InputStream stream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Stream that fails to read once closed, as streams of closed files or connections do.
+     */
+    private static final class ClosingInputStream extends ByteArrayInputStream {
+
+        private boolean closed;
+
+        ClosingInputStream(final byte[] content) {
+            super(content);
+        }
+
+        @Override
+        public synchronized int read(final byte[] b, final int off, final int len) {
+            if (closed) {
+                throw new IllegalStateException("Stream closed");
+            }
+            return super.read(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -15,15 +15,27 @@
  */
 package io.qameta.allure;
 
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.StepResult;
 import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static io.qameta.allure.FileSystemResultsWriter.generateTestResultName;
 import static io.qameta.allure.test.ThreadLocalEnhancedRandom.current;
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphabetic;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -53,4 +65,163 @@ public class FileSystemResultsWriterTest {
         assertThat(folder.resolve(fileName))
                 .isRegularFile();
     }
+
+    @Test
+    void shouldRecreateRemovedResultsDirectory(@TempDir final Path folder) throws IOException {
+        final Path directory = folder.resolve("some-directory");
+        FileSystemResultsWriter writer = new FileSystemResultsWriter(directory);
+        writer.write(new TestResult().setUuid(UUID.randomUUID().toString()));
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+
+        final String uuid = UUID.randomUUID().toString();
+        writer.write(new TestResult().setUuid(uuid));
+
+        assertThat(directory.resolve(generateTestResultName(uuid)))
+                .isRegularFile();
+    }
+
+    @Test
+    void shouldWriteAttachments(@TempDir final Path folder) throws IOException {
+        FileSystemResultsWriter writer = new FileSystemResultsWriter(folder);
+        final byte[] content = randomAlphabetic(200_000).getBytes(StandardCharsets.UTF_8);
+        writer.write("first-attachment.txt", new ByteArrayInputStream(content));
+        writer.write("second-attachment.txt", new FileInputStream(folder.resolve("first-attachment.txt").toFile()));
+
+        assertThat(folder.resolve("first-attachment.txt"))
+                .hasBinaryContent(content);
+        assertThat(folder.resolve("second-attachment.txt"))
+                .hasBinaryContent(content);
+    }
+
+    @Test
+    void shouldWriteAttachmentFromFile(@TempDir final Path folder) throws IOException {
+        final Path results = folder.resolve("results");
+        FileSystemResultsWriter writer = new FileSystemResultsWriter(results);
+        final byte[] content = randomAlphabetic(200_000).getBytes(StandardCharsets.UTF_8);
+        final Path file = Files.write(folder.resolve("video.mp4"), content);
+        writer.write("first-attachment.mp4", file);
+
+        assertThat(results.resolve("first-attachment.mp4"))
+                .hasBinaryContent(content);
+        assertThat(file)
+                .hasBinaryContent(content);
+        assertThat(Files.isSameFile(file, results.resolve("first-attachment.mp4")))
+                .as("attachment should be linked, not copied")
+                .isTrue();
+    }
+
+    @Test
+    void shouldStoreDuplicateAttachmentsOnce(@TempDir final Path folder) throws IOException {
+        FileSystemResultsWriter writer = new FileSystemResultsWriter(folder, true);
+        writer.write("first-attachment.txt", stream("content"));
+        writer.write("second-attachment.txt", stream("content"));
+        writer.write("third-attachment.json", stream("content"));
+        writer.write("fourth-attachment.txt", stream("other content"));
+
+        final TestResult testResult = new TestResult().setUuid(UUID.randomUUID().toString());
+        testResult.getAttachments().add(attachment("second-attachment.txt"));
+        testResult.getSteps().add(new StepResult().setName("step"));
+        testResult.getSteps().get(0).getAttachments().add(attachment("fourth-attachment.txt"));
+        writer.write(testResult);
+
+        final TestResultContainer container = new TestResultContainer().setUuid(UUID.randomUUID().toString());
+        container.getBefores().add(new FixtureResult().setName("fixture"));
+        container.getBefores().get(0).getAttachments().add(attachment("third-attachment.json"));
+        writer.write(container);
+
+        assertThat(testResult.getAttachments())
+                .extracting(Attachment::getSource)
+                .containsExactly("first-attachment.txt");
+        assertThat(testResult.getSteps().get(0).getAttachments())
+                .extracting(Attachment::getSource)
+                .containsExactly("fourth-attachment.txt");
+        assertThat(container.getBefores().get(0).getAttachments())
+                .extracting(Attachment::getSource)
+                .containsExactly("third-attachment.json");
+        try (Stream<Path> files = Files.list(folder)) {
+            assertThat(files.map(file -> file.getFileName().toString()))
+                    .containsExactlyInAnyOrder(
+                            "first-attachment.txt",
+                            "third-attachment.json",
+                            "fourth-attachment.txt",
+                            generateTestResultName(testResult.getUuid()),
+                            container.getUuid() + AllureConstants.TEST_RESULT_CONTAINER_FILE_SUFFIX
+                    );
+        }
+    }
+
+    @Test
+    void shouldKeepDuplicateAttachmentReferencedByWrittenResult(@TempDir final Path folder) {
+        FileSystemResultsWriter writer = new FileSystemResultsWriter(folder, true);
+        writer.write("first-attachment.txt", stream("content"));
+
+        final TestResult testResult = new TestResult().setUuid(UUID.randomUUID().toString());
+        testResult.getAttachments().add(attachment("second-attachment.txt"));
+        writer.write(testResult);
+        writer.write("second-attachment.txt", stream("content"));
+
+        assertThat(testResult.getAttachments())
+                .extracting(Attachment::getSource)
+                .containsExactly("second-attachment.txt");
+        assertThat(folder.resolve("second-attachment.txt"))
+                .hasContent("content");
+    }
+
+    @Test
+    void shouldKeepDeduplicationStateOnFlush(@TempDir final Path folder) {
+        FileSystemResultsWriter writer = new FileSystemResultsWriter(folder, true);
+        writer.write("first-attachment.txt", stream("content"));
+        writer.write("second-attachment.txt", stream("content"));
+
+        final TestResult referencing = new TestResult().setUuid(UUID.randomUUID().toString());
+        referencing.getAttachments().add(attachment("third-attachment.txt"));
+        writer.write(referencing);
+        writer.flush();
+        writer.write("third-attachment.txt", stream("content"));
+
+        final TestResult testResult = new TestResult().setUuid(UUID.randomUUID().toString());
+        testResult.getAttachments().add(attachment("second-attachment.txt"));
+        writer.write(testResult);
+
+        assertThat(folder.resolve("third-attachment.txt"))
+                .hasContent("content");
+        assertThat(testResult.getAttachments())
+                .extracting(Attachment::getSource)
+                .containsExactly("first-attachment.txt");
+    }
+
+    @Test
+    void shouldStoreContentAgainOnceForgotten(@TempDir final Path folder) throws IOException {
+        FileSystemResultsWriter writer = new FileSystemResultsWriter(folder, true, 1);
+        writer.write("first-attachment.txt", stream("content"));
+        writer.write("second-attachment.txt", stream("other content"));
+        writer.write("third-attachment.txt", stream("content"));
+
+        final TestResult testResult = new TestResult().setUuid(UUID.randomUUID().toString());
+        testResult.getAttachments().add(attachment("third-attachment.txt"));
+        writer.write(testResult);
+
+        assertThat(testResult.getAttachments())
+                .extracting(Attachment::getSource)
+                .containsExactly("third-attachment.txt");
+        assertThat(folder.resolve("third-attachment.txt"))
+                .hasContent("content");
+        try (Stream<Path> files = Files.list(folder)) {
+            assertThat(files.map(file -> file.getFileName().toString()))
+                    .noneMatch(name -> name.endsWith(".tmp"));
+        }
+    }
+
+    private static Attachment attachment(final String source) {
+        return new Attachment().setSource(source);
+    }
+
+    private static ByteArrayInputStream stream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
 }
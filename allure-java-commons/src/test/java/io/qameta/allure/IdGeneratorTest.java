@@ -0,0 +1,66 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdGeneratorTest {
+
+    @Test
+    void shouldGenerateRandomUuids() {
+        final IdGenerator generator = new RandomIdGenerator();
+        final Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            final UUID uuid = UUID.fromString(generator.nextId());
+            assertThat(uuid.version()).isEqualTo(4);
+            assertThat(uuid.variant()).isEqualTo(2);
+            ids.add(uuid.toString());
+        }
+        assertThat(ids).hasSize(10_000);
+    }
+
+    @Test
+    void shouldGenerateTimeOrderedUuids() throws InterruptedException {
+        final IdGenerator generator = new TimeOrderedIdGenerator();
+        final List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final UUID uuid = UUID.fromString(generator.nextId());
+            assertThat(uuid.version()).isEqualTo(7);
+            assertThat(uuid.variant()).isEqualTo(2);
+            ids.add(uuid.toString());
+            Thread.sleep(2);
+        }
+        assertThat(ids).isSorted();
+    }
+
+    @Test
+    void shouldEncodeCreationTime() {
+        final long before = System.currentTimeMillis();
+        final UUID uuid = UUID.fromString(new TimeOrderedIdGenerator().nextId());
+        final long after = System.currentTimeMillis();
+
+        assertThat(uuid.getMostSignificantBits() >>> 16)
+                .isBetween(before, after);
+    }
+}
@@ -17,6 +17,7 @@ package io.qameta.allure;
 
 import io.github.glytching.junit.extension.system.SystemProperty;
 import io.github.glytching.junit.extension.system.SystemPropertyExtension;
+import io.qameta.allure.model.Parameter;
 import io.qameta.allure.util.ResultsUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,7 +26,13 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.lang.annotation.Annotation;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Objects;
+import java.util.Random;
 import java.util.stream.Stream;
 
 import static io.qameta.allure.util.ResultsUtils.ISSUE_LINK_TYPE;
@@ -197,6 +204,75 @@ class ResultsUtilsTest {
         }
     }
 
+    @Test
+    void shouldCreateThreadLabelForRenamedThread() {
+        final Thread thread = Thread.currentThread();
+        final String name = thread.getName();
+        try {
+            thread.setName("first-name");
+            assertThat(ResultsUtils.createThreadLabel().getValue())
+                    .endsWith(".first-name(" + thread.getId() + ")");
+
+            thread.setName("second-name");
+            assertThat(ResultsUtils.createThreadLabel().getValue())
+                    .endsWith(".second-name(" + thread.getId() + ")");
+        } finally {
+            thread.setName(name);
+        }
+    }
+
+    @SystemProperty(name = "allure.threadName", value = "custom-thread")
+    @Test
+    void shouldCreateThreadLabelFromSystemProperty() {
+        assertThat(ResultsUtils.createThreadLabel().getValue())
+                .isEqualTo("custom-thread");
+    }
+
+    @Test
+    void shouldCreateNewLabelsForEachCall() {
+        assertThat(ResultsUtils.createHostLabel())
+                .isNotSameAs(ResultsUtils.createHostLabel())
+                .isEqualTo(ResultsUtils.createHostLabel());
+    }
+
+    @Test
+    void shouldConvertBytesToHexSameAsBigInteger() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            final byte[] bytes = new byte[16];
+            random.nextBytes(bytes);
+            if (i % 3 == 0) {
+                bytes[0] = 0;
+            }
+            if (i % 9 == 0) {
+                bytes[1] = (byte) random.nextInt(16);
+            }
+            assertThat(ResultsUtils.bytesToHex(bytes))
+                    .isEqualTo(new BigInteger(1, bytes).toString(16));
+        }
+        assertThat(ResultsUtils.bytesToHex(new byte[16]))
+                .isEqualTo(new BigInteger(1, new byte[16]).toString(16));
+        assertThat(ResultsUtils.bytesToHex(new byte[0]))
+                .isEqualTo(new BigInteger(1, new byte[0]).toString(16));
+    }
+
+    @Test
+    void shouldGenerateHistoryIdIndependentOfParametersOrder() throws Exception {
+        final Parameter first = new Parameter().setName("a").setValue("1");
+        final Parameter second = new Parameter().setName("b").setValue("2");
+
+        final MessageDigest digest = MessageDigest.getInstance("MD5");
+        digest.update("test".getBytes(StandardCharsets.UTF_8));
+        digest.update("a1b2".getBytes(StandardCharsets.UTF_8));
+        final String expected = new BigInteger(1, digest.digest()).toString(16);
+
+        assertThat(ResultsUtils.generateHistoryId("test", Arrays.asList(second, first)))
+                .isEqualTo(expected)
+                .isEqualTo(ResultsUtils.generateHistoryId("test", Arrays.asList(first, second)));
+        assertThat(ResultsUtils.generateHistoryId("test", Collections.emptyList()))
+                .isEqualTo(ResultsUtils.md5("test"));
+    }
+
     private static io.qameta.allure.model.Link link(String name, String url, String type) {
         return new io.qameta.allure.model.Link().setName(name).setUrl(url).setType(type);
     }
@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatusAttachmentRetentionPolicyTest {
+
+    @Test
+    void shouldRetainAllByDefault() {
+        assertThat(StatusAttachmentRetentionPolicy.fromProperties(new Properties()))
+                .isSameAs(AttachmentRetentionPolicy.RETAIN_ALL);
+
+        final Properties properties = new Properties();
+        properties.setProperty("allure.attachments.retain.failed", "*/*");
+        assertThat(StatusAttachmentRetentionPolicy.fromProperties(properties))
+                .isSameAs(AttachmentRetentionPolicy.RETAIN_ALL);
+    }
+
+    @Test
+    void shouldRetainAttachmentsByStatusAndType() {
+        final Properties properties = new Properties();
+        properties.setProperty("allure.attachments.retain.passed", "text/plain, Image/*");
+        properties.setProperty("allure.attachments.retain.skipped", "none");
+        final AttachmentRetentionPolicy policy = StatusAttachmentRetentionPolicy.fromProperties(properties);
+
+        assertThat(policy.isRetained(result(Status.PASSED), attachment("text/plain")))
+                .isTrue();
+        assertThat(policy.isRetained(result(Status.PASSED), attachment("image/png")))
+                .isTrue();
+        assertThat(policy.isRetained(result(Status.PASSED), attachment("text/html")))
+                .isFalse();
+        assertThat(policy.isRetained(result(Status.PASSED), attachment(null)))
+                .isFalse();
+        assertThat(policy.isRetained(result(Status.SKIPPED), attachment("text/plain")))
+                .isFalse();
+        assertThat(policy.isRetained(result(Status.BROKEN), attachment("text/html")))
+                .isTrue();
+        assertThat(policy.isRetained(result(null), attachment("text/html")))
+                .isTrue();
+    }
+
+    private static TestResult result(final Status status) {
+        return new TestResult().setStatus(status);
+    }
+
+    private static Attachment attachment(final String type) {
+        return new Attachment().setType(type);
+    }
+}
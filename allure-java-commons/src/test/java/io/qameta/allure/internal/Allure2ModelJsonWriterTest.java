@@ -0,0 +1,147 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.internal;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static io.qameta.allure.test.ThreadLocalEnhancedRandom.current;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Allure2ModelJsonWriterTest {
+
+    private final ObjectMapper mapper = Allure2ModelJackson.createMapper();
+
+    @RepeatedTest(10)
+    void shouldWriteTestResultSameAsMapper() throws IOException {
+        final TestResult result = current().nextObject(TestResult.class, "steps");
+        final StepResult step = current().nextObject(StepResult.class, "steps")
+                .setSteps(Arrays.asList(
+                        current().nextObject(StepResult.class, "steps"),
+                        null
+                ));
+        result.setSteps(Arrays.asList(step, current().nextObject(StepResult.class, "steps")));
+        result.getParameters().add(new Parameter().setName("hidden").setMode(Parameter.Mode.HIDDEN));
+        result.setDescription(null);
+
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        try (JsonGenerator generator = createGenerator(actual)) {
+            Allure2ModelJsonWriter.write(generator, result);
+        }
+
+        assertThat(actual.toByteArray())
+                .isEqualTo(mapper.writeValueAsBytes(result));
+    }
+
+    @RepeatedTest(10)
+    void shouldWriteTestResultContainerSameAsMapper() throws IOException {
+        final TestResultContainer container = current().nextObject(TestResultContainer.class, "befores", "afters")
+                .setBefores(Arrays.asList(
+                        current().nextObject(FixtureResult.class, "steps"),
+                        current().nextObject(FixtureResult.class, "steps")
+                ))
+                .setAfters(null)
+                .setLinks(null);
+
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        try (JsonGenerator generator = createGenerator(actual)) {
+            Allure2ModelJsonWriter.write(generator, container);
+        }
+
+        assertThat(actual.toByteArray())
+                .isEqualTo(mapper.writeValueAsBytes(container));
+    }
+
+    @Test
+    void shouldWriteEmptyCollectionsOfNewResults() throws IOException {
+        final TestResult result = new TestResult()
+                .setUuid("some-uuid")
+                .setSteps(new ArrayList<>(Collections.singletonList(new StepResult().setName("step"))));
+
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        try (JsonGenerator generator = createGenerator(actual)) {
+            Allure2ModelJsonWriter.write(generator, result);
+        }
+
+        assertThat(actual.toByteArray())
+                .isEqualTo(mapper.writeValueAsBytes(result));
+        final JsonNode step = mapper.readTree(actual.toByteArray()).path("steps").path(0);
+        assertThat(step.path("steps").isArray() && step.path("steps").isEmpty())
+                .isTrue();
+        assertThat(step.path("attachments").isArray() && step.path("attachments").isEmpty())
+                .isTrue();
+        assertThat(step.path("parameters").isArray() && step.path("parameters").isEmpty())
+                .isTrue();
+    }
+
+    @Test
+    void shouldNotSupportSubclasses() {
+        assertThat(Allure2ModelJsonWriter.isSupported(new TestResult()))
+                .isTrue();
+        assertThat(Allure2ModelJsonWriter.isSupported(new TestResult() {
+            private static final long serialVersionUID = 1L;
+        }))
+                .isFalse();
+    }
+
+    @Test
+    void shouldNotSupportNestedSubclasses() {
+        final StepResult step = new StepResult() {
+            private static final long serialVersionUID = 1L;
+        };
+        final TestResult result = new TestResult()
+                .setSteps(new ArrayList<>(Collections.singletonList(new StepResult()
+                        .setSteps(new ArrayList<>(Collections.singletonList(step)))
+                )));
+        assertThat(Allure2ModelJsonWriter.isSupported(result))
+                .isFalse();
+
+        final TestResultContainer container = new TestResultContainer()
+                .setBefores(new ArrayList<>(Collections.singletonList(new FixtureResult()
+                        .setParameters(new ArrayList<>(Collections.singletonList(new Parameter() {
+                            private static final long serialVersionUID = 1L;
+                        })))
+                )));
+        assertThat(Allure2ModelJsonWriter.isSupported(container))
+                .isFalse();
+        assertThat(Allure2ModelJsonWriter.isSupported(new TestResult().setLabels(null)))
+                .isTrue();
+    }
+
+    private JsonGenerator createGenerator(final ByteArrayOutputStream os) throws IOException {
+        final JsonGenerator generator = mapper.getFactory().createGenerator(os, JsonEncoding.UTF8);
+        if (mapper.isEnabled(SerializationFeature.INDENT_OUTPUT)) {
+            generator.useDefaultPrettyPrinter();
+        }
+        return generator;
+    }
+}
@@ -143,4 +143,38 @@ class AllureThreadContextTest {
 
         }
     }
+
+    @Test
+    void shouldInheritParentContextWithoutSharingChanges() throws InterruptedException {
+        final AllureThreadContext context = new AllureThreadContext();
+        final String first = UUID.randomUUID().toString();
+        final String second = UUID.randomUUID().toString();
+        final String child = UUID.randomUUID().toString();
+
+        context.start(first);
+        context.start(second);
+
+        final List<Optional<String>> values = new ArrayList<>();
+        final Thread thread = new Thread(() -> {
+            values.add(context.getRoot());
+            values.add(context.getCurrent());
+            context.stop();
+            context.start(child);
+            values.add(context.getRoot());
+            values.add(context.getCurrent());
+        });
+        thread.start();
+        thread.join();
+
+        assertThat(values)
+                .containsExactly(Optional.of(first), Optional.of(second), Optional.of(first), Optional.of(child));
+
+        assertThat(context.getCurrent())
+                .hasValue(second);
+
+        context.stop();
+
+        assertThat(context.getCurrent())
+                .hasValue(first);
+    }
 }
@@ -0,0 +1,43 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncAttachmentsTest {
+
+    @Test
+    void shouldUseDefaultsForInvalidProperties() throws Exception {
+        final Properties properties = new Properties();
+        properties.setProperty(AsyncAttachments.THREADS_PROPERTY_NAME, "four");
+        properties.setProperty(AsyncAttachments.QUEUE_SIZE_PROPERTY_NAME, "0");
+        properties.setProperty(AsyncAttachments.TIMEOUT_PROPERTY_NAME, "-1");
+
+        final AsyncAttachments attachments = AsyncAttachments.fromProperties(properties);
+        final List<String> written = new CopyOnWriteArrayList<>();
+        attachments.submit("test", () -> "content", written::add).get();
+        attachments.await("test");
+
+        assertThat(written)
+                .containsExactly("content");
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.internal;
+
+import io.qameta.allure.FileSystemResultsWriter;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.test.AllureResultsWriterStub;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttachmentSpoolTest {
+
+    @Test
+    void shouldSpoolAttachmentsInParentDirectory(@TempDir final Path folder) throws IOException {
+        final AttachmentSpool spool = new AttachmentSpool(folder);
+        spool.register("test", new Attachment().setSource("attachment.txt"));
+
+        assertThat(spool.write("attachment.txt", stream("content")))
+                .isTrue();
+        assertThat(listFiles(folder))
+                .hasSize(1)
+                .allSatisfy(directory -> assertThat(directory.getFileName().toString())
+                        .startsWith(".allure-attachments-"));
+    }
+
+    @Test
+    void shouldDeleteAttachmentsOfNotReleasedTestsOnPurge(@TempDir final Path folder) throws IOException {
+        final AllureResultsWriterStub writer = new AllureResultsWriterStub();
+        final AttachmentSpool spool = new AttachmentSpool(folder);
+        spool.register("released", new Attachment().setSource("released.txt"));
+        spool.register("aborted", new Attachment().setSource("aborted.txt"));
+        spool.write("released.txt", stream("released"));
+        spool.write("aborted.txt", stream("aborted"));
+
+        spool.release("released", attachment -> true, writer);
+        spool.purge();
+
+        assertThat(writer.getAttachments())
+                .containsOnlyKeys("released.txt");
+        assertThat(listFiles(folder))
+                .isEmpty();
+        assertThat(spool.write("aborted.txt", stream("aborted")))
+                .isFalse();
+    }
+
+    @Test
+    void shouldKeepAttachmentsOfNotReleasedTestsOnPurgeReleased(@TempDir final Path folder) throws IOException {
+        final AllureResultsWriterStub writer = new AllureResultsWriterStub();
+        final AttachmentSpool spool = new AttachmentSpool(folder);
+        spool.register("released", new Attachment().setSource("released.txt"));
+        spool.register("running", new Attachment().setSource("running.txt"));
+        spool.write("released.txt", stream("released"));
+        spool.write("running.txt", stream("running"));
+
+        spool.release("released", attachment -> true, writer);
+        spool.purgeReleased();
+
+        assertThat(listSpooledFiles(folder))
+                .hasSize(1);
+
+        spool.release("running", attachment -> true, writer);
+
+        assertThat(writer.getAttachments())
+                .containsOnlyKeys("released.txt", "running.txt");
+        assertThat(writer.getAttachments().get("running.txt"))
+                .isEqualTo("running".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldLinkSpooledAttachmentsToResults(@TempDir final Path folder) throws IOException {
+        final Path results = folder.resolve("results");
+        final FileSystemResultsWriter writer = new FileSystemResultsWriter(results);
+        final AttachmentSpool spool = new AttachmentSpool(results);
+        final Path file = Files.write(folder.resolve("video.mp4"), "video".getBytes(StandardCharsets.UTF_8));
+        spool.register("test", new Attachment().setSource("video.mp4"));
+        spool.register("test", new Attachment().setSource("log.txt"));
+
+        assertThat(spool.write("video.mp4", file))
+                .isTrue();
+        assertThat(spool.write("log.txt", stream("log")))
+                .isTrue();
+        spool.release("test", attachment -> true, writer);
+        spool.purge();
+
+        assertThat(Files.isSameFile(file, results.resolve("video.mp4")))
+                .as("file attachment should be linked, not copied")
+                .isTrue();
+        assertThat(results.resolve("log.txt"))
+                .hasContent("log");
+        assertThat(listFiles(results))
+                .extracting(path -> path.getFileName().toString())
+                .containsExactlyInAnyOrder("video.mp4", "log.txt");
+    }
+
+    private static List<Path> listFiles(final Path folder) throws IOException {
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    private static List<Path> listSpooledFiles(final Path folder) throws IOException {
+        try (Stream<Path> files = Files.walk(folder)) {
+            return files.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+    }
+
+    private static ByteArrayInputStream stream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileChannelOutputStreamTest {
+
+    @Test
+    void shouldTransferRestOfFile(@TempDir final Path folder) throws IOException {
+        final Path source = folder.resolve("source.txt");
+        Files.write(source, "skipped content".getBytes(StandardCharsets.UTF_8));
+        final Path target = folder.resolve("target.txt");
+
+        try (InputStream is = new FileInputStream(source.toFile());
+             FileChannelOutputStream os = open(target)) {
+            os.write("head ".getBytes(StandardCharsets.UTF_8));
+            assertThat(is.skip(8))
+                    .isEqualTo(8);
+            assertThat(os.transferFrom(is))
+                    .isEqualTo(7);
+            os.write(" tail".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThat(new String(Files.readAllBytes(target), StandardCharsets.UTF_8))
+                .isEqualTo("head content tail");
+    }
+
+    @Test
+    void shouldReadSubclassesOfFileInputStream(@TempDir final Path folder) throws IOException {
+        final Path source = folder.resolve("source.txt");
+        Files.write(source, "content".getBytes(StandardCharsets.UTF_8));
+        final Path target = folder.resolve("target.txt");
+
+        try (InputStream is = new UpperCaseInputStream(source);
+             FileChannelOutputStream os = open(target)) {
+            assertThat(os.transferFrom(is))
+                    .isEqualTo(7);
+        }
+
+        assertThat(new String(Files.readAllBytes(target), StandardCharsets.UTF_8))
+                .isEqualTo("CONTENT");
+    }
+
+    private static FileChannelOutputStream open(final Path file) throws IOException {
+        return new FileChannelOutputStream(FileChannel.open(
+                file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE
+        ));
+    }
+
+    private static final class UpperCaseInputStream extends FileInputStream {
+
+        UpperCaseInputStream(final Path file) throws IOException {
+            super(file.toFile());
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int off, final int len) throws IOException {
+            final int read = super.read(bytes, off, len);
+            for (int i = off; i < off + read; i++) {
+                bytes[i] = (byte) Character.toUpperCase(bytes[i]);
+            }
+            return read;
+        }
+
+        @Override
+        public int read(final byte[] bytes) throws IOException {
+            return read(bytes, 0, bytes.length);
+        }
+    }
+}
@@ -451,4 +451,35 @@ class AnnotationUtilsTest {
                         tuple("example", "custom")
                 );
     }
+
+    @Test
+    void shouldReturnNewLabelsOnEachCall() {
+        final Set<Label> first = getLabels(InheritedChildTest1.class);
+        first.forEach(label -> label.setValue("modified"));
+
+        assertThat(getLabels(InheritedChildTest1.class))
+                .extracting(Label::getName, Label::getValue)
+                .containsExactlyInAnyOrder(
+                        tuple("feature", "a"),
+                        tuple("story", "b")
+                );
+    }
+
+    @ResourceLock(value = SYSTEM_PROPERTIES, mode = READ_WRITE)
+    @Test
+    void shouldResolveCachedLinksWhenPatternChanged() {
+        System.setProperty("allure.link.custom.pattern", "https://example.org/first/{}");
+        try {
+            assertThat(getLinks(WithCustomLink.class))
+                    .extracting(io.qameta.allure.model.Link::getUrl)
+                    .contains("https://example.org/first/LINK-1");
+
+            System.setProperty("allure.link.custom.pattern", "https://example.org/second/{}");
+            assertThat(getLinks(WithCustomLink.class))
+                    .extracting(io.qameta.allure.model.Link::getUrl)
+                    .contains("https://example.org/second/LINK-1");
+        } finally {
+            System.clearProperty("allure.link.custom.pattern");
+        }
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JavadocDescriptionsIndexTest {
+
+    @Test
+    void shouldReadDescriptionsOfTopLevelClass(@TempDir final Path directory) throws Exception {
+        final Method method = JavadocDescriptionsIndexTest.class
+                .getDeclaredMethod("describedMethod", int.class, String[].class);
+        final Method nestedMethod = Nested.class.getDeclaredMethod("nestedMethod");
+
+        writeDescriptions(directory, JavadocDescriptionsIndexTest.class.getName(),
+                JavadocDescriptionsIndexTest.class.getName()
+                        + "#describedMethod(int,java.lang.String[])=First line\\nSecond line ü\n"
+                        + Nested.class.getName() + "#nestedMethod()=Nested description\n");
+
+        try (URLClassLoader classLoader = classLoader(directory)) {
+            assertThat(ResultsUtils.getJavadocDescription(classLoader, method))
+                    .hasValue("First line\nSecond line ü");
+            assertThat(ResultsUtils.getJavadocDescription(classLoader, nestedMethod))
+                    .hasValue("Nested description");
+        }
+    }
+
+    @Test
+    void shouldReturnEmptyForMissingDescription(@TempDir final Path directory) throws Exception {
+        final Method method = JavadocDescriptionsIndexTest.class
+                .getDeclaredMethod("describedMethod", int.class, String[].class);
+        try (URLClassLoader classLoader = classLoader(directory)) {
+            assertThat(ResultsUtils.getJavadocDescription(classLoader, method))
+                    .isEmpty();
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private void describedMethod(final int count, final String... values) {
+        //do nothing
+    }
+
+    static class Nested {
+
+        @SuppressWarnings("unused")
+        void nestedMethod() {
+            //do nothing
+        }
+    }
+
+    private static void writeDescriptions(final Path root,
+                                          final String className,
+                                          final String content) throws IOException {
+        final Path resource = root.resolve(JavadocDescriptionsIndex.DESCRIPTIONS_FOLDER
+                + className + JavadocDescriptionsIndex.DESCRIPTIONS_EXTENSION);
+        Files.createDirectories(resource.getParent());
+        Files.write(resource, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static URLClassLoader classLoader(final Path... roots) throws IOException {
+        final URL[] urls = new URL[roots.length];
+        for (int i = 0; i < roots.length; i++) {
+            urls[i] = roots[i].toUri().toURL();
+        }
+        return new URLClassLoader(urls, null);
+    }
+}
@@ -15,7 +15,9 @@
  */
 package io.qameta.allure.util;
 
+import io.qameta.allure.testdata.DummyCard;
 import io.qameta.allure.testdata.DummyUser;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -67,4 +69,18 @@ class NamingUtilsTest {
                 .describedAs("Should process template \"%s\" as \"%s\"", template, expected)
                 .isEqualTo(expected);
     }
+
+    @Test
+    public void shouldProcessSameTemplateWithDifferentParameters() {
+        final String template = "Card {user.card.number} of {user.password} with {$1}";
+
+        assertThat(processNameTemplate(template, Collections.singletonMap(
+                "user", new DummyUser(null, "123", new DummyCard("4111"))
+        )))
+                .isEqualTo("Card 4111 of 123 with {$1}");
+        assertThat(processNameTemplate(template, Collections.singletonMap(
+                "user", new DummyUser(null, "$2\\", null)
+        )))
+                .isEqualTo("Card null of $2\\ with {$1}");
+    }
 }
@@ -18,6 +18,11 @@ package io.qameta.allure.util;
 import io.qameta.allure.Issue;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -34,6 +39,42 @@ class ObjectUtilsTest {
                 .isEqualTo("<NPE>");
     }
 
+    @Test
+    void shouldRenderBoundedValueSameAsFullIfFits() {
+        final Object[] values = {
+                null,
+                "value",
+                new int[]{1, 2, 3},
+                new byte[]{1, 2},
+                new Object[]{"a", Arrays.asList("b", "c"), null},
+                Collections.singletonMap("a", Arrays.asList(1, 2))
+        };
+        for (Object value : values) {
+            assertThat(ObjectUtils.toString(value, 100, 10))
+                    .isEqualTo(ObjectUtils.toString(value));
+        }
+    }
+
+    @Test
+    void shouldLimitRenderedElements() {
+        final List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            values.add(i);
+        }
+        assertThat(ObjectUtils.toString(values, 1000, 3))
+                .isEqualTo("[0, 1, 2, ...]");
+        assertThat(ObjectUtils.toString(new long[]{1, 2, 3, 4}, 1000, 3))
+                .isEqualTo("[1, 2, 3, ...]");
+    }
+
+    @Test
+    void shouldTruncateRenderedValue() {
+        final String value = ObjectUtils.toString(Arrays.asList("first", "second", "third"), 12, 10);
+        assertThat(value)
+                .isEqualTo("[first, s...")
+                .isEqualTo(ObjectUtils.truncate(value, 12));
+    }
+
     public class MyNpeClass {
 
         Integer value = null;
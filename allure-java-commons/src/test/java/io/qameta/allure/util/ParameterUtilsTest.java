@@ -0,0 +1,148 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.util;
+
+import io.qameta.allure.ParameterFormatter;
+import io.qameta.allure.model.Parameter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParameterUtilsTest {
+
+    @Test
+    void shouldFormatValueUsingFirstSupportingFormatter() {
+        final List<ParameterFormatter> formatters = Arrays.asList(
+                (value, maxLength) -> value instanceof Integer ? "int " + value : null,
+                (value, maxLength) -> "any " + value
+        );
+
+        assertThat(ParameterUtils.formatValue(formatters, 1, 100, 10, true))
+                .isEqualTo("int 1");
+        assertThat(ParameterUtils.formatValue(formatters, "a", 100, 10, true))
+                .isEqualTo("any a");
+        assertThat(ParameterUtils.formatValue(formatters, null, 100, 10, true))
+                .isEqualTo("null");
+    }
+
+    @Test
+    void shouldTruncateFormattedValue() {
+        final List<ParameterFormatter> formatters = Collections.singletonList(
+                (value, maxLength) -> "formatted " + value
+        );
+
+        assertThat(ParameterUtils.formatValue(formatters, "value", 10, 10, true))
+                .isEqualTo("formatt...");
+    }
+
+    @Test
+    void shouldFallbackToDefaultFormattingOnError() {
+        final List<ParameterFormatter> formatters = Collections.singletonList(
+                (value, maxLength) -> {
+                    throw new IllegalStateException("could not format");
+                }
+        );
+
+        assertThat(ParameterUtils.formatValue(formatters, Arrays.asList(1, 2), 100, 2, true))
+                .isEqualTo("[1, 2]");
+        assertThat(ParameterUtils.formatValue(formatters, Arrays.asList(1, 2, 3), 100, 2, true))
+                .startsWith("[1, 2, ...] (md5:");
+    }
+
+    @Test
+    void shouldKeepTruncatedValuesOfDifferentSizeDistinct() {
+        final List<Integer> first = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            first.add(i);
+        }
+        final List<Integer> second = new ArrayList<>(first);
+        second.add(1000);
+
+        final String firstValue = ParameterUtils.formatValue(Collections.emptyList(), first, 100, 10, true);
+        final String secondValue = ParameterUtils.formatValue(Collections.emptyList(), second, 100, 10, true);
+        assertThat(firstValue)
+                .startsWith("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9, ...] (md5:")
+                .isNotEqualTo(secondValue);
+        assertThat(ParameterUtils.formatValue(Collections.emptyList(), first, 100, 10, false))
+                .isEqualTo("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9, ...]");
+        assertThat(ParameterUtils.formatValue(Collections.emptyList(), first.toString(), 100, 10, true))
+                .hasSize(100)
+                .isNotEqualTo(ParameterUtils.formatValue(Collections.emptyList(), second.toString(), 100, 10, true));
+    }
+
+    @Test
+    void shouldNotRenderElementsBeyondLimit() {
+        final AtomicInteger rendered = new AtomicInteger();
+        final List<Object> values = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            values.add(new Object() {
+                @Override
+                public String toString() {
+                    rendered.incrementAndGet();
+                    return "value";
+                }
+            });
+        }
+
+        assertThat(ParameterUtils.formatValue(Collections.emptyList(), values, 100, 1000, true))
+                .hasSize(100);
+        assertThat(rendered.get())
+                .isLessThan(20);
+    }
+
+    @Test
+    void shouldKeepHistoryIdOfValuesBelowLimit() {
+        final List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(i);
+        }
+        final Parameter expected = new Parameter()
+                .setName("values")
+                .setValue(ObjectUtils.toString(values));
+
+        assertThat(ResultsUtils.createParameter("values", values).getValue())
+                .isEqualTo(expected.getValue());
+        assertThat(ResultsUtils.generateHistoryId("test", Collections.singletonList(
+                ResultsUtils.createParameter("values", values)
+        ))).isEqualTo(ResultsUtils.generateHistoryId("test", Collections.singletonList(expected)));
+        assertThat(ParameterUtils.formatValue(Collections.emptyList(), values, 10_000, 1000, true))
+                .isEqualTo(expected.getValue());
+    }
+
+    @Test
+    void shouldLimitHiddenAndExcludedValues() {
+        final char[] chars = new char[ParameterUtils.DEFAULT_HIDDEN_MAX_LENGTH * 2];
+        Arrays.fill(chars, 'a');
+        final String value = new String(chars);
+
+        assertThat(ParameterUtils.formatValue(value))
+                .isEqualTo(value);
+        assertThat(ParameterUtils.formatValue(value, true, null))
+                .hasSize(ParameterUtils.DEFAULT_HIDDEN_MAX_LENGTH)
+                .endsWith("...");
+        assertThat(ParameterUtils.formatValue(value, false, Parameter.Mode.HIDDEN))
+                .hasSize(ParameterUtils.DEFAULT_HIDDEN_MAX_LENGTH)
+                .contains("(md5:");
+        assertThat(ResultsUtils.createParameter("name", value, null, Parameter.Mode.HIDDEN).getValue())
+                .hasSize(ParameterUtils.DEFAULT_HIDDEN_MAX_LENGTH);
+    }
+}
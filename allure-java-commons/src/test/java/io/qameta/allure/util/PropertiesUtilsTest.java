@@ -0,0 +1,110 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.util;
+
+import io.github.glytching.junit.extension.system.SystemProperty;
+import io.qameta.allure.model.Label;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.util.Properties;
+
+import static io.qameta.allure.util.PropertiesUtils.loadAllureProperties;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.parallel.ResourceAccessMode.READ_WRITE;
+import static org.junit.jupiter.api.parallel.Resources.SYSTEM_PROPERTIES;
+
+class PropertiesUtilsTest {
+
+    @Test
+    void shouldReturnModifiableCopy() {
+        final Properties first = loadAllureProperties();
+        first.setProperty("allure.label.modified", "value");
+
+        assertThat(loadAllureProperties())
+                .containsEntry("allure.results.directory", "build/allure-results")
+                .doesNotContainKey("allure.label.modified");
+    }
+
+    @ResourceLock(value = SYSTEM_PROPERTIES, mode = READ_WRITE)
+    @Test
+    void shouldPickUpSystemPropertiesChanges() {
+        assertThat(ResultsUtils.getProvidedLabels())
+                .extracting(Label::getName)
+                .doesNotContain("snapshot");
+
+        System.setProperty("allure.label.snapshot", "first");
+        try {
+            assertThat(ResultsUtils.getProvidedLabels())
+                    .extracting(Label::getName, Label::getValue)
+                    .contains(tuple("snapshot", "first"));
+
+            System.setProperty("allure.label.snapshot", "second");
+            assertThat(ResultsUtils.getProvidedLabels())
+                    .extracting(Label::getName, Label::getValue)
+                    .contains(tuple("snapshot", "second"));
+        } finally {
+            System.clearProperty("allure.label.snapshot");
+        }
+
+        assertThat(ResultsUtils.getProvidedLabels())
+                .extracting(Label::getName)
+                .doesNotContain("snapshot");
+    }
+
+    @ResourceLock(value = SYSTEM_PROPERTIES, mode = READ_WRITE)
+    @Test
+    void shouldPickUpLinkPatternChangesWithoutInvalidation() {
+        final PropertiesUtils.Snapshot snapshot = PropertiesUtils.getSnapshot();
+
+        System.setProperty("allure.link.changed.pattern", "https://example.org/first/{}");
+        try {
+            assertThat(snapshot.getLinkPattern("changed"))
+                    .isEqualTo("https://example.org/first/{}");
+
+            System.setProperty("allure.link.changed.pattern", "https://example.org/second/{}");
+            assertThat(PropertiesUtils.getSnapshot())
+                    .isSameAs(snapshot);
+            assertThat(snapshot.getLinkPattern("changed"))
+                    .isEqualTo("https://example.org/second/{}");
+        } finally {
+            System.clearProperty("allure.link.changed.pattern");
+        }
+
+        assertThat(snapshot.getLinkPattern("changed"))
+                .isNull();
+    }
+
+    @ResourceLock(value = SYSTEM_PROPERTIES, mode = READ_WRITE)
+    @SystemProperty(name = "allure.link.snapshot.pattern", value = "https://example.org/snapshot/{}")
+    @Test
+    void shouldCacheSnapshot() {
+        final PropertiesUtils.Snapshot snapshot = PropertiesUtils.getSnapshot();
+
+        assertThat(PropertiesUtils.getSnapshot())
+                .isSameAs(snapshot);
+        assertThat(snapshot.getLinkPattern("snapshot"))
+                .isEqualTo("https://example.org/snapshot/{}");
+        assertThat(snapshot.getLinkPattern("issue"))
+                .isEqualTo("https://github.com/allure-framework/allure-java/issues/{}");
+
+        PropertiesUtils.invalidateAllureProperties();
+
+        assertThat(PropertiesUtils.getSnapshot())
+                .isNotSameAs(snapshot);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.util;
+
+import io.qameta.allure.Param;
+import io.qameta.allure.Step;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.testdata.DummyCard;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class StepDescriptorTest {
+
+    private static final String[] NAMES = {"card", "secret"};
+
+    @Test
+    void shouldCacheDescriptorPerMethod() throws Exception {
+        final Method method = getMethod("templateStep");
+
+        assertThat(StepDescriptor.of(method, NAMES))
+                .isSameAs(StepDescriptor.of(method, NAMES))
+                .isNotSameAs(StepDescriptor.create(method, NAMES));
+    }
+
+    @Test
+    void shouldProcessNameTemplate() throws Exception {
+        final StepDescriptor descriptor = StepDescriptor.of(getMethod("templateStep"), NAMES);
+
+        assertThat(descriptor.getStep().value())
+                .isEqualTo("Pay with {card.number} by {0} in {method}, {this}");
+        assertThat(descriptor.getName("self", new DummyCard("4111"), "123"))
+                .isEqualTo("Pay with 4111 by DummyCard{number='4111'} in templateStep, self");
+        assertThat(descriptor.getName(null, new DummyCard("5555"), "123"))
+                .isEqualTo("Pay with 5555 by DummyCard{number='5555'} in templateStep, {this}");
+    }
+
+    @Test
+    void shouldUseMethodNameIfTemplateIsEmpty() throws Exception {
+        final StepDescriptor descriptor = StepDescriptor.of(getMethod("emptyStep"), NAMES);
+
+        assertThat(descriptor.getName(this, new DummyCard("4111"), "123"))
+                .isEqualTo("emptyStep");
+    }
+
+    @Test
+    void shouldCreateParameters() throws Exception {
+        final StepDescriptor descriptor = StepDescriptor.of(getMethod("templateStep"), NAMES);
+
+        assertThat(descriptor.getParameters(new DummyCard("4111"), "123"))
+                .extracting(Parameter::getName, Parameter::getValue, Parameter::getExcluded, Parameter::getMode)
+                .containsExactly(
+                        tuple("card", "DummyCard{number='4111'}", null, null),
+                        tuple("password", "123", true, Parameter.Mode.MASKED)
+                );
+    }
+
+    private static Method getMethod(final String name) throws NoSuchMethodException {
+        return StepDescriptorTest.class.getDeclaredMethod(name, DummyCard.class, String.class);
+    }
+
+    @Step("Pay with {card.number} by {0} in {method}, {this}")
+    void templateStep(final DummyCard card,
+                      @Param(name = "password", mode = Parameter.Mode.MASKED, excluded = true) final String secret) {
+        //do nothing
+    }
+
+    @Step
+    void emptyStep(final DummyCard card, final String secret) {
+        //do nothing
+    }
+}
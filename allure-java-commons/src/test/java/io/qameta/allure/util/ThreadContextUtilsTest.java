@@ -0,0 +1,206 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.util;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.test.AllureResultsWriterStub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+import static io.qameta.allure.test.TestData.randomId;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThreadContextUtilsTest {
+
+    private AllureResultsWriterStub writer;
+
+    private AllureLifecycle lifecycle;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        writer = new AllureResultsWriterStub();
+        lifecycle = new AllureLifecycle(writer);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldAddStepsFromExecutorTasksToSubmittingStep() throws Exception {
+        final ExecutorService wrapped = ThreadContextUtils.wrapExecutorService(lifecycle, executor);
+        // start the worker thread outside of test context
+        executor.submit(() -> {
+        }).get();
+
+        final String uuid = runTest(() -> {
+            startStep("parent");
+            wrapped.submit(() -> startStep("child")).get();
+            wrapped.invokeAll(Arrays.asList(() -> startStep("first"), () -> startStep("second")));
+            lifecycle.stopStep();
+            return null;
+        });
+
+        final TestResult result = getTestResult(uuid);
+        assertThat(result.getSteps())
+                .extracting(StepResult::getName)
+                .containsExactly("parent");
+        assertThat(result.getSteps().get(0).getSteps())
+                .extracting(StepResult::getName)
+                .containsExactly("child", "first", "second");
+        assertThat(executor.submit(lifecycle::getCurrentTestCaseOrStep).get())
+                .isEmpty();
+    }
+
+    @Test
+    void shouldAddStepsFromWrappedSupplierToTestCase() throws Exception {
+        final String uuid = runTest(() -> CompletableFuture
+                .supplyAsync(ThreadContextUtils.wrapSupplier(lifecycle, () -> startStep("async")), executor)
+                .get());
+
+        assertThat(getTestResult(uuid).getSteps())
+                .extracting(StepResult::getName)
+                .containsExactly("async");
+    }
+
+    @Test
+    void shouldAddStepsFromAsyncStagesToTestCase() throws Exception {
+        final String uuid = runTest(() -> ThreadContextUtils
+                .supplyAsync(lifecycle, () -> startStep("supply"), executor)
+                .thenAcceptAsync(ThreadContextUtils.wrapConsumer(lifecycle, value -> startStep("accept")), executor)
+                .thenCompose(ThreadContextUtils.wrapFunction(lifecycle,
+                        value -> ThreadContextUtils.runAsync(lifecycle, () -> startStep("run"), executor)))
+                .get());
+
+        assertThat(getTestResult(uuid).getSteps())
+                .extracting(StepResult::getName)
+                .containsExactly("supply", "accept", "run");
+    }
+
+    @Test
+    void shouldAddStepsFromForkJoinTasksToTestCase() throws Exception {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final String uuid = runTest(() -> pool.invoke(
+                    ThreadContextUtils.wrapForkJoinTask(lifecycle, new StepsTask(0, 4))
+            ));
+
+            assertThat(getTestResult(uuid).getSteps())
+                    .extracting(StepResult::getName)
+                    .containsExactlyInAnyOrder("step-0", "step-1", "step-2", "step-3");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRestoreReplacedContext() {
+        final String first = randomId();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(first).setName(first));
+        lifecycle.startTestCase(first);
+
+        final Optional<?>[] current = new Optional<?>[1];
+        final Runnable task = ThreadContextUtils.wrapRunnable(
+                lifecycle, () -> current[0] = lifecycle.getCurrentTestCaseOrStep()
+        );
+
+        final String second = randomId();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(second).setName(second));
+        lifecycle.startTestCase(second);
+        task.run();
+
+        assertThat(current[0])
+                .hasValue(first);
+        assertThat(lifecycle.getCurrentTestCaseOrStep())
+                .hasValue(second);
+    }
+
+    private Optional<String> startStep(final String name) {
+        lifecycle.startStep(randomId(), new StepResult().setName(name));
+        lifecycle.stopStep();
+        return lifecycle.getCurrentTestCaseOrStep();
+    }
+
+    private String runTest(final ThrowingCallable body) throws Exception {
+        final String uuid = randomId();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName(uuid));
+        lifecycle.startTestCase(uuid);
+        body.call();
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+        return uuid;
+    }
+
+    private TestResult getTestResult(final String uuid) {
+        return writer.getTestResults().stream()
+                .filter(result -> uuid.equals(result.getUuid()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("test result not found: " + uuid));
+    }
+
+    /**
+     * Splits the range in halves, starts a step for each index.
+     */
+    private final class StepsTask extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+
+        private final int to;
+
+        StepsTask(final int from, final int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from == 1) {
+                startStep("step-" + from);
+                return 1;
+            }
+            final int middle = (from + to) / 2;
+            final ForkJoinTask<Integer> left = ThreadContextUtils
+                    .wrapForkJoinTask(lifecycle, new StepsTask(from, middle))
+                    .fork();
+            return new StepsTask(middle, to).compute() + left.join();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingCallable {
+        Object call() throws Exception;
+    }
+}
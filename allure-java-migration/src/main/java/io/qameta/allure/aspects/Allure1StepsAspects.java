@@ -20,6 +20,7 @@ import io.qameta.allure.AllureLifecycle;
 import io.qameta.allure.model.Parameter;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StepResult;
+import io.qameta.allure.util.IdUtils;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.AfterThrowing;
@@ -31,7 +32,6 @@ import ru.yandex.qatools.allure.annotations.Step;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -63,7 +63,7 @@ public class Allure1StepsAspects {
     @Before("anyMethod() && withStepAnnotation()")
     public void stepStart(final JoinPoint joinPoint) {
         final MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        final String uuid = UUID.randomUUID().toString();
+        final String uuid = IdUtils.nextId();
         final StepResult result = new StepResult()
                 .setName(createTitle(joinPoint))
                 .setParameters(getParameters(methodSignature, joinPoint.getArgs()));
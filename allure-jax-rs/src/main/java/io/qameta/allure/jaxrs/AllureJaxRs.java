@@ -19,7 +19,7 @@ import io.qameta.allure.attachment.AttachmentData;
 import io.qameta.allure.attachment.AttachmentProcessor;
 import io.qameta.allure.attachment.AttachmentRenderer;
 import io.qameta.allure.attachment.DefaultAttachmentProcessor;
-import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.FreemarkerRendererRegistry;
 import io.qameta.allure.attachment.http.HttpRequestAttachment;
 import io.qameta.allure.attachment.http.HttpResponseAttachment;
 
@@ -49,8 +49,8 @@ public class AllureJaxRs implements ClientRequestFilter, ClientResponseFilter {
     @SuppressWarnings("unused")
     public AllureJaxRs() {
         this(
-                new FreemarkerAttachmentRenderer("http-request.ftl"),
-                new FreemarkerAttachmentRenderer("http-response.ftl"),
+                FreemarkerRendererRegistry.getRenderer("http-request.ftl"),
+                FreemarkerRendererRegistry.getRenderer("http-response.ftl"),
                 new DefaultAttachmentProcessor()
         );
     }
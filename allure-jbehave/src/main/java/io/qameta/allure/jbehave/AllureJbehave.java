@@ -24,40 +24,36 @@ import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StatusDetails;
 import io.qameta.allure.model.StepResult;
 import io.qameta.allure.model.TestResult;
+import io.qameta.allure.util.IdUtils;
 import org.jbehave.core.failures.UUIDExceptionWrapper;
 import org.jbehave.core.model.ExamplesTable;
 import org.jbehave.core.model.Scenario;
 import org.jbehave.core.model.Story;
 import org.jbehave.core.reporters.NullStoryReporter;
 
-import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
-import static io.qameta.allure.util.ResultsUtils.bytesToHex;
 import static io.qameta.allure.util.ResultsUtils.createFrameworkLabel;
 import static io.qameta.allure.util.ResultsUtils.createHostLabel;
 import static io.qameta.allure.util.ResultsUtils.createLanguageLabel;
 import static io.qameta.allure.util.ResultsUtils.createParameter;
 import static io.qameta.allure.util.ResultsUtils.createStoryLabel;
 import static io.qameta.allure.util.ResultsUtils.createThreadLabel;
-import static io.qameta.allure.util.ResultsUtils.getMd5Digest;
+import static io.qameta.allure.util.ResultsUtils.generateHistoryId;
 import static io.qameta.allure.util.ResultsUtils.getStatus;
 import static io.qameta.allure.util.ResultsUtils.getStatusDetails;
-import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
-import static java.util.Comparator.comparing;
 
 /**
  * @author charlie (Dmitry Baev).
@@ -111,7 +107,7 @@ public class AllureJbehave extends NullStoryReporter {
         currentScenario.set(scenario);
 
         if (notParameterised(scenario)) {
-            final String uuid = UUID.randomUUID().toString();
+            final String uuid = IdUtils.nextId();
             usingWriteLock(() -> scenarioUuids.put(scenario, new ArrayList<>(singletonList(uuid))));
             startTestCase(uuid, scenario, emptyMap());
         } else {
@@ -139,7 +135,7 @@ public class AllureJbehave extends NullStoryReporter {
             return;
         }
         final Scenario scenario = currentScenario.get();
-        final String uuid = UUID.randomUUID().toString();
+        final String uuid = IdUtils.nextId();
         usingWriteLock(() -> scenarioUuids.getOrDefault(scenario, new ArrayList<>()).add(uuid));
         startTestCase(uuid, scenario, tableRow);
     }
@@ -160,7 +156,7 @@ public class AllureJbehave extends NullStoryReporter {
 
     @Override
     public void beforeStep(final String step) {
-        final String stepUuid = UUID.randomUUID().toString();
+        final String stepUuid = IdUtils.nextId();
         getLifecycle().startStep(stepUuid, new StepResult().setName(step));
     }
 
@@ -264,16 +260,7 @@ public class AllureJbehave extends NullStoryReporter {
     }
 
     protected String getHistoryId(final String fullName, final List<Parameter> parameters) {
-        final MessageDigest digest = getMd5Digest();
-        digest.update(fullName.getBytes(UTF_8));
-        parameters.stream()
-                .sorted(comparing(Parameter::getName).thenComparing(Parameter::getValue))
-                .forEachOrdered(parameter -> {
-                    digest.update(parameter.getName().getBytes(UTF_8));
-                    digest.update(parameter.getValue().getBytes(UTF_8));
-                });
-        final byte[] bytes = digest.digest();
-        return bytesToHex(bytes);
+        return generateHistoryId(fullName, parameters);
     }
 
     private boolean isGivenStory() {
@@ -19,6 +19,7 @@ import io.qameta.allure.Allure;
 import io.qameta.allure.AllureLifecycle;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StepResult;
+import io.qameta.allure.util.IdUtils;
 import org.jooq.ExecuteContext;
 import org.jooq.ExecuteListener;
 import org.jooq.Formattable;
@@ -27,7 +28,6 @@ import org.jooq.Record;
 import org.jooq.Routine;
 
 import java.util.Objects;
-import java.util.UUID;
 
 import static java.lang.Boolean.FALSE;
 
@@ -59,7 +59,7 @@ public class AllureJooq implements ExecuteListener {
         }
 
         final String stepName = stepName(ctx);
-        final String uuid = UUID.randomUUID().toString();
+        final String uuid = IdUtils.nextId();
         ctx.data(STEP_UUID, uuid);
         lifecycle.startStep(uuid, new StepResult()
                 .setName(stepName)
@@ -16,7 +16,7 @@
 package io.qameta.allure.jsonunit;
 
 import io.qameta.allure.attachment.DefaultAttachmentProcessor;
-import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.FreemarkerRendererRegistry;
 import net.javacrumbs.jsonunit.core.listener.DifferenceListener;
 
 import org.hamcrest.Description;
@@ -68,6 +68,6 @@ public final class JsonPatchMatcher<T> extends AbstractJsonPatchMatcher<AllureCo
         final JsonPatchListener jsonDiffListener = (JsonPatchListener) listener;
         final DiffAttachment attachment = new DiffAttachment(jsonDiffListener.getDiffModel());
         new DefaultAttachmentProcessor().addAttachment(attachment,
-                new FreemarkerAttachmentRenderer("diff.ftl"));
+                FreemarkerRendererRegistry.getRenderer("diff.ftl"));
     }
 }
@@ -29,6 +29,7 @@ import io.qameta.allure.model.StatusDetails;
 import io.qameta.allure.model.TestResult;
 import io.qameta.allure.model.TestResultContainer;
 import io.qameta.allure.util.AnnotationUtils;
+import io.qameta.allure.util.IdUtils;
 import io.qameta.allure.util.ResultsUtils;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.platform.engine.TestExecutionResult;
@@ -47,7 +48,6 @@ import org.slf4j.LoggerFactory;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
-import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -58,7 +58,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -77,8 +76,8 @@ import static io.qameta.allure.util.ResultsUtils.createSuiteLabel;
 import static io.qameta.allure.util.ResultsUtils.createTestClassLabel;
 import static io.qameta.allure.util.ResultsUtils.createTestMethodLabel;
 import static io.qameta.allure.util.ResultsUtils.createThreadLabel;
-import static io.qameta.allure.util.ResultsUtils.getMd5Digest;
 import static io.qameta.allure.util.ResultsUtils.getProvidedLabels;
+import static io.qameta.allure.util.ResultsUtils.md5;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
@@ -222,6 +221,7 @@ public class AllureJunitPlatform implements TestExecutionListener {
 
     @Override
     public void testPlanExecutionFinished(final TestPlan testPlan) {
+        getLifecycle().flush();
         testPlanStorage.remove();
         tests.remove();
         containers.remove();
@@ -669,11 +669,6 @@ public class AllureJunitPlatform implements TestExecutionListener {
         return md5(testIdentifier.getUniqueId());
     }
 
-    private String md5(final String source) {
-        final byte[] bytes = getMd5Digest().digest(source.getBytes(UTF_8));
-        return new BigInteger(1, bytes).toString(16);
-    }
-
     private Optional<SeverityLevel> getSeverity(final AnnotatedElement annotatedElement) {
         return getAnnotations(annotatedElement, Severity.class)
                 .map(Severity::value)
@@ -756,7 +751,7 @@ public class AllureJunitPlatform implements TestExecutionListener {
         private String getOrCreate(final TestIdentifier testIdentifier) {
             try {
                 lock.writeLock().lock();
-                return storage.computeIfAbsent(testIdentifier, ti -> UUID.randomUUID().toString());
+                return storage.computeIfAbsent(testIdentifier, ti -> IdUtils.nextId());
             } finally {
                 lock.writeLock().unlock();
             }
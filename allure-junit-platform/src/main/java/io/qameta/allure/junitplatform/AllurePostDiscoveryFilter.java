@@ -18,6 +18,7 @@ package io.qameta.allure.junitplatform;
 import io.qameta.allure.model.Label;
 import io.qameta.allure.testfilter.FileTestPlanSupplier;
 import io.qameta.allure.testfilter.TestPlan;
+import io.qameta.allure.testfilter.TestPlanIndex;
 import io.qameta.allure.testfilter.TestPlanV1_0;
 import io.qameta.allure.util.AnnotationUtils;
 import org.junit.platform.engine.FilterResult;
@@ -77,24 +78,17 @@ public class AllurePostDiscoveryFilter implements PostDiscoveryFilter {
                                final String fullName) {
         if (testPlan instanceof TestPlanV1_0) {
             final TestPlanV1_0 tp = (TestPlanV1_0) testPlan;
-            return Objects.isNull(tp.getTests()) || tp.getTests()
-                    .stream()
-                    .filter(Objects::nonNull)
-                    .anyMatch(tc -> match(tc, allureId, uniqueId, fullName));
+            if (!tp.hasTests()) {
+                return true;
+            }
+            final TestPlanIndex index = tp.getIndex();
+            return index.containsId(allureId)
+                    || index.containsSelector(uniqueId)
+                    || index.containsSelector(fullName);
         }
         return true;
     }
 
-    @SuppressWarnings("BooleanExpressionComplexity")
-    private boolean match(final TestPlanV1_0.TestCase tc,
-                          final String allureId,
-                          final String uniqueId,
-                          final String fullName) {
-        return Objects.nonNull(tc.getId()) && tc.getId().equals(allureId)
-                || Objects.nonNull(tc.getSelector()) && tc.getSelector().equals(uniqueId)
-                || Objects.nonNull(tc.getSelector()) && tc.getSelector().equals(fullName);
-    }
-
     private String findAllureId(final TestDescriptor object) {
         return object.getSource()
                 .flatMap(AllureJunitPlatformUtils::getTestMethod)
@@ -23,6 +23,7 @@ import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StatusDetails;
 import io.qameta.allure.model.TestResult;
 import io.qameta.allure.util.AnnotationUtils;
+import io.qameta.allure.util.IdUtils;
 import org.junit.Ignore;
 import org.junit.runner.Description;
 import org.junit.runner.Result;
@@ -35,7 +36,6 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -77,7 +77,7 @@ public class AllureJunit4 extends RunListener {
     private final ThreadLocal<String> testCases = new InheritableThreadLocal<String>() {
         @Override
         protected String initialValue() {
-            return UUID.randomUUID().toString();
+            return IdUtils.nextId();
         }
     };
 
@@ -102,7 +102,7 @@ public class AllureJunit4 extends RunListener {
 
     @Override
     public void testRunFinished(final Result result) {
-        //do nothing
+        getLifecycle().flush();
     }
 
     @Override
@@ -18,6 +18,7 @@ package io.qameta.allure.junit4;
 import io.qameta.allure.model.Label;
 import io.qameta.allure.testfilter.FileTestPlanSupplier;
 import io.qameta.allure.testfilter.TestPlan;
+import io.qameta.allure.testfilter.TestPlanIndex;
 import io.qameta.allure.testfilter.TestPlanV1_0;
 import io.qameta.allure.util.AnnotationUtils;
 import org.junit.runner.Description;
@@ -69,22 +70,15 @@ public class AllureJunit4Filter extends Filter {
                                final String fullName) {
         if (testPlan instanceof TestPlanV1_0) {
             final TestPlanV1_0 tp = (TestPlanV1_0) testPlan;
-            return Objects.isNull(tp.getTests()) || tp.getTests()
-                    .stream()
-                    .filter(Objects::nonNull)
-                    .anyMatch(tc -> match(tc, allureId, fullName));
+            if (!tp.hasTests()) {
+                return true;
+            }
+            final TestPlanIndex index = tp.getIndex();
+            return index.containsId(allureId) || index.containsSelector(fullName);
         }
         return true;
     }
 
-    @SuppressWarnings("BooleanExpressionComplexity")
-    private boolean match(final TestPlanV1_0.TestCase tc,
-                          final String allureId,
-                          final String fullName) {
-        return Objects.nonNull(tc.getId()) && tc.getId().equals(allureId)
-               || Objects.nonNull(tc.getSelector()) && tc.getSelector().equals(fullName);
-    }
-
     private static Optional<String> findAllureId(final Description description) {
         return AnnotationUtils.getLabels(description.getAnnotations())
                 .stream()
@@ -19,6 +19,7 @@ import io.qameta.allure.Allure;
 import io.qameta.allure.AllureLifecycle;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StepResult;
+import io.qameta.allure.util.IdUtils;
 import io.qameta.allure.util.ObjectUtils;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
@@ -31,7 +32,6 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 import static io.qameta.allure.util.ResultsUtils.getStatus;
@@ -67,7 +67,7 @@ public class AllureJunit5Assert {
     @Before("anyAssert()")
     public void stepStart(final JoinPoint joinPoint) {
         if (joinPoint.getArgs().length > 1) {
-            final String uuid = UUID.randomUUID().toString();
+            final String uuid = IdUtils.nextId();
             final String assertName = joinPoint.getSignature().getName();
             String name;
             if (joinPoint.getSignature().getName().equalsIgnoreCase("assertAll")) {
@@ -99,7 +99,7 @@ public class AllureJunit5Assert {
             final String actual = joinPoint.getArgs().length > 0
                     ? ObjectUtils.toString(joinPoint.getArgs()[0])
                     : "<?>";
-            final String uuid = UUID.randomUUID().toString();
+            final String uuid = IdUtils.nextId();
             final String assertName = joinPoint.getSignature().getName();
             final String name = String.format(assertName + " \'%s\'", actual);
 
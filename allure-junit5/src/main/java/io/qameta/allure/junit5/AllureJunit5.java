@@ -18,7 +18,8 @@ package io.qameta.allure.junit5;
 import io.qameta.allure.Param;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StatusDetails;
-import io.qameta.allure.util.ObjectUtils;
+import io.qameta.allure.util.IdUtils;
+import io.qameta.allure.util.ParameterUtils;
 import io.qameta.allure.util.ResultsUtils;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.InvocationInterceptor;
@@ -30,7 +31,6 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.stream.Stream;
 
 import static io.qameta.allure.junitplatform.AllureJunitPlatform.ALLURE_FIXTURE;
@@ -73,20 +73,24 @@ public class AllureJunit5 implements InvocationInterceptor {
             final Object value = invocationContext.getArguments().get(i);
             final Map<String, String> map = new HashMap<>();
             map.put(ALLURE_PARAMETER, parameter.getName());
-            map.put(ALLURE_PARAMETER_VALUE_KEY, ObjectUtils.toString(value));
 
-            Stream.of(parameter.getAnnotationsByType(Param.class))
-                    .findFirst()
-                    .ifPresent(param -> {
-                        Stream.of(param.value(), param.name())
-                                .map(String::trim)
-                                .filter(name -> name.length() > 0)
-                                .findFirst()
-                                .ifPresent(name -> map.put(ALLURE_PARAMETER, name));
-
-                        map.put(ALLURE_PARAMETER_MODE_KEY, param.mode().name());
-                        map.put(ALLURE_PARAMETER_EXCLUDED_KEY, Boolean.toString(param.excluded()));
-                    });
+            final Optional<Param> annotation = Stream.of(parameter.getAnnotationsByType(Param.class))
+                    .findFirst();
+            map.put(ALLURE_PARAMETER_VALUE_KEY, ParameterUtils.formatValue(
+                    value,
+                    annotation.map(Param::excluded).orElse(null),
+                    annotation.map(Param::mode).orElse(null)
+            ));
+            annotation.ifPresent(param -> {
+                Stream.of(param.value(), param.name())
+                        .map(String::trim)
+                        .filter(name -> name.length() > 0)
+                        .findFirst()
+                        .ifPresent(name -> map.put(ALLURE_PARAMETER, name));
+
+                map.put(ALLURE_PARAMETER_MODE_KEY, param.mode().name());
+                map.put(ALLURE_PARAMETER_EXCLUDED_KEY, Boolean.toString(param.excluded()));
+            });
 
             extensionContext.publishReportEntry(wrap(map));
         }
@@ -128,7 +132,7 @@ public class AllureJunit5 implements InvocationInterceptor {
                                   final Invocation<Void> invocation,
                                   final ReflectiveInvocationContext<Method> invocationContext,
                                   final ExtensionContext extensionContext) throws Throwable {
-        final String uuid = UUID.randomUUID().toString();
+        final String uuid = IdUtils.nextId();
         try {
             extensionContext.publishReportEntry(wrap(buildStartEvent(
                     type,
@@ -26,6 +26,7 @@ import com.intuit.karate.core.Step;
 import com.intuit.karate.core.StepResult;
 import io.qameta.allure.Allure;
 import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriteException;
 import io.qameta.allure.model.Attachment;
 import io.qameta.allure.model.Label;
 import io.qameta.allure.model.Link;
@@ -34,14 +35,11 @@ import io.qameta.allure.model.Stage;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StatusDetails;
 import io.qameta.allure.model.TestResult;
+import io.qameta.allure.util.IdUtils;
 import io.qameta.allure.util.ResultsUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -49,7 +47,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
@@ -93,7 +90,7 @@ public class AllureKarate implements RuntimeHook {
         final String featureNameQualified = feature.getResource().getRelativePath();
         final Scenario scenario = sr.scenario;
 
-        final String uuid = UUID.randomUUID().toString();
+        final String uuid = IdUtils.nextId();
         sr.magicVariables.put(ALLURE_UUID, uuid);
 
         final String nameOrLine = getName(scenario, String.valueOf(scenario.getLine()));
@@ -231,14 +228,14 @@ public class AllureKarate implements RuntimeHook {
 
         if (Objects.nonNull(result.getEmbeds())) {
             result.getEmbeds().forEach(embed -> {
-                try (InputStream is = new BufferedInputStream(Files.newInputStream(embed.getFile().toPath()))) {
+                try {
                     lifecycle.addAttachment(
                             embed.getFile().getName(),
                             embed.getResourceType().contentType,
                             embed.getResourceType().getExtension(),
-                            is
+                            embed.getFile().toPath()
                     );
-                } catch (IOException e) {
+                } catch (AllureResultsWriteException e) {
                     LOGGER.warn("could not save embedding", e);
                 }
             });
@@ -39,9 +39,9 @@ public class FixtureResult implements Serializable, ExecutableItem {
     private Stage stage;
     private String description;
     private String descriptionHtml;
-    private List<StepResult> steps = new ArrayList<>();
-    private List<Attachment> attachments = new ArrayList<>();
-    private List<Parameter> parameters = new ArrayList<>();
+    private List<StepResult> steps;
+    private List<Attachment> attachments;
+    private List<Parameter> parameters;
     private Long start;
     private Long stop;
 
@@ -174,6 +174,9 @@ public class FixtureResult implements Serializable, ExecutableItem {
      */
     @Override
     public List<StepResult> getSteps() {
+        if (Objects.isNull(steps)) {
+            steps = new ArrayList<>();
+        }
         return steps;
     }
 
@@ -195,6 +198,9 @@ public class FixtureResult implements Serializable, ExecutableItem {
      */
     @Override
     public List<Attachment> getAttachments() {
+        if (Objects.isNull(attachments)) {
+            attachments = new ArrayList<>();
+        }
         return attachments;
     }
 
@@ -216,6 +222,9 @@ public class FixtureResult implements Serializable, ExecutableItem {
      */
     @Override
     public List<Parameter> getParameters() {
+        if (Objects.isNull(parameters)) {
+            parameters = new ArrayList<>();
+        }
         return parameters;
     }
 
@@ -42,9 +42,9 @@ public class StepResult implements Serializable, ExecutableItem {
     private Stage stage;
     private String description;
     private String descriptionHtml;
-    private List<StepResult> steps = new ArrayList<>();
-    private List<Attachment> attachments = new ArrayList<>();
-    private List<Parameter> parameters = new ArrayList<>();
+    private List<StepResult> steps;
+    private List<Attachment> attachments;
+    private List<Parameter> parameters;
     private Long start;
     private Long stop;
 
@@ -177,6 +177,9 @@ public class StepResult implements Serializable, ExecutableItem {
      */
     @Override
     public List<StepResult> getSteps() {
+        if (Objects.isNull(steps)) {
+            steps = new ArrayList<>();
+        }
         return steps;
     }
 
@@ -198,6 +201,9 @@ public class StepResult implements Serializable, ExecutableItem {
      */
     @Override
     public List<Attachment> getAttachments() {
+        if (Objects.isNull(attachments)) {
+            attachments = new ArrayList<>();
+        }
         return attachments;
     }
 
@@ -219,6 +225,9 @@ public class StepResult implements Serializable, ExecutableItem {
      */
     @Override
     public List<Parameter> getParameters() {
+        if (Objects.isNull(parameters)) {
+            parameters = new ArrayList<>();
+        }
         return parameters;
     }
 
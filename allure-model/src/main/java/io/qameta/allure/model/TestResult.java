@@ -44,17 +44,17 @@ public class TestResult implements Serializable, ExecutableItem, WithLinks {
     private String testCaseId;
     private String testCaseName;
     private String fullName;
-    private List<Label> labels = new ArrayList<>();
-    private List<Link> links = new ArrayList<>();
+    private List<Label> labels;
+    private List<Link> links;
     private String name;
     private Status status;
     private StatusDetails statusDetails;
     private Stage stage;
     private String description;
     private String descriptionHtml;
-    private List<StepResult> steps = new ArrayList<>();
-    private List<Attachment> attachments = new ArrayList<>();
-    private List<Parameter> parameters = new ArrayList<>();
+    private List<StepResult> steps;
+    private List<Attachment> attachments;
+    private List<Parameter> parameters;
     private Long start;
     private Long stop;
 
@@ -164,6 +164,9 @@ public class TestResult implements Serializable, ExecutableItem, WithLinks {
      * @return the labels
      */
     public List<Label> getLabels() {
+        if (Objects.isNull(labels)) {
+            labels = new ArrayList<>();
+        }
         return labels;
     }
 
@@ -186,6 +189,9 @@ public class TestResult implements Serializable, ExecutableItem, WithLinks {
      */
     @Override
     public List<Link> getLinks() {
+        if (Objects.isNull(links)) {
+            links = new ArrayList<>();
+        }
         return links;
     }
 
@@ -331,6 +337,9 @@ public class TestResult implements Serializable, ExecutableItem, WithLinks {
      */
     @Override
     public List<StepResult> getSteps() {
+        if (Objects.isNull(steps)) {
+            steps = new ArrayList<>();
+        }
         return steps;
     }
 
@@ -352,6 +361,9 @@ public class TestResult implements Serializable, ExecutableItem, WithLinks {
      */
     @Override
     public List<Attachment> getAttachments() {
+        if (Objects.isNull(attachments)) {
+            attachments = new ArrayList<>();
+        }
         return attachments;
     }
 
@@ -374,6 +386,9 @@ public class TestResult implements Serializable, ExecutableItem, WithLinks {
      */
     @Override
     public List<Parameter> getParameters() {
+        if (Objects.isNull(parameters)) {
+            parameters = new ArrayList<>();
+        }
         return parameters;
     }
 
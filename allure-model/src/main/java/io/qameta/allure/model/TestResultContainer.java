@@ -40,11 +40,11 @@ public class TestResultContainer implements Serializable, WithLinks {
 
     private String uuid;
     private String name;
-    private List<String> children = new ArrayList<>();
+    private List<String> children;
     private String description;
     private String descriptionHtml;
-    private List<FixtureResult> befores = new ArrayList<>();
-    private List<FixtureResult> afters = new ArrayList<>();
+    private List<FixtureResult> befores;
+    private List<FixtureResult> afters;
     private List<Link> links;
     private Long start;
     private Long stop;
@@ -175,6 +175,9 @@ public class TestResultContainer implements Serializable, WithLinks {
      * @return the children
      */
     public List<String> getChildren() {
+        if (Objects.isNull(children)) {
+            children = new ArrayList<>();
+        }
         return children;
     }
 
@@ -195,6 +198,9 @@ public class TestResultContainer implements Serializable, WithLinks {
      * @return the befores
      */
     public List<FixtureResult> getBefores() {
+        if (Objects.isNull(befores)) {
+            befores = new ArrayList<>();
+        }
         return befores;
     }
 
@@ -215,6 +221,9 @@ public class TestResultContainer implements Serializable, WithLinks {
      * @return the afters
      */
     public List<FixtureResult> getAfters() {
+        if (Objects.isNull(afters)) {
+            afters = new ArrayList<>();
+        }
         return afters;
     }
 
@@ -18,7 +18,7 @@ package io.qameta.allure.okhttp;
 import io.qameta.allure.attachment.AttachmentData;
 import io.qameta.allure.attachment.AttachmentProcessor;
 import io.qameta.allure.attachment.DefaultAttachmentProcessor;
-import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.FreemarkerRendererRegistry;
 import io.qameta.allure.attachment.http.HttpRequestAttachment;
 import io.qameta.allure.attachment.http.HttpResponseAttachment;
 import com.squareup.okhttp.Interceptor;
@@ -87,7 +87,7 @@ public class AllureOkHttp implements Interceptor {
             requestAttachmentBuilder.setBody(readRequestBody(requestBody));
         }
         final HttpRequestAttachment requestAttachment = requestAttachmentBuilder.build();
-        processor.addAttachment(requestAttachment, new FreemarkerAttachmentRenderer(requestTemplatePath));
+        processor.addAttachment(requestAttachment, FreemarkerRendererRegistry.getRenderer(requestTemplatePath));
 
         final Response response = chain.proceed(request);
         final HttpResponseAttachment.Builder responseAttachmentBuilder = HttpResponseAttachment.Builder
@@ -106,7 +106,7 @@ public class AllureOkHttp implements Interceptor {
         }
 
         final HttpResponseAttachment responseAttachment = responseAttachmentBuilder.build();
-        processor.addAttachment(responseAttachment, new FreemarkerAttachmentRenderer(responseTemplatePath));
+        processor.addAttachment(responseAttachment, FreemarkerRendererRegistry.getRenderer(responseTemplatePath));
 
         return responseBuilder.build();
     }
@@ -16,7 +16,7 @@
 package io.qameta.allure.restassured;
 
 import io.qameta.allure.attachment.DefaultAttachmentProcessor;
-import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.FreemarkerRendererRegistry;
 import io.qameta.allure.attachment.http.HttpRequestAttachment;
 import io.qameta.allure.attachment.http.HttpResponseAttachment;
 import io.restassured.filter.FilterContext;
@@ -115,7 +115,7 @@ public class AllureRestAssured implements OrderedFilter {
 
         new DefaultAttachmentProcessor().addAttachment(
                 requestAttachment,
-                new FreemarkerAttachmentRenderer(requestTemplatePath)
+                FreemarkerRendererRegistry.getRenderer(requestTemplatePath)
         );
 
         final Response response = filterContext.next(requestSpec, responseSpec);
@@ -131,7 +131,7 @@ public class AllureRestAssured implements OrderedFilter {
 
         new DefaultAttachmentProcessor().addAttachment(
                 responseAttachment,
-                new FreemarkerAttachmentRenderer(responseTemplatePath)
+                FreemarkerRendererRegistry.getRenderer(responseTemplatePath)
         );
 
         return response;
@@ -16,12 +16,13 @@
 package io.qameta.allure.scalatest
 
 import java.lang.annotation.Annotation
-import java.util.{Objects, UUID}
+import java.util.Objects
 import java.util.concurrent.TimeUnit
 import java.util.concurrent.locks.ReentrantReadWriteLock
 
 import io.qameta.allure._
 import io.qameta.allure.model.{Status, StatusDetails, TestResult}
+import io.qameta.allure.util.IdUtils
 import io.qameta.allure.util.ResultsUtils._
 import org.scalatest.Reporter
 import org.scalatest.events._
@@ -177,7 +178,7 @@ class AllureScalatest(val lifecycle: AllureLifecycle) extends Reporter {
                         location: Option[Location],
                         testName: String,
                         threadId: Option[String]): Unit = {
-    val uuid = UUID.randomUUID().toString
+    val uuid = IdUtils.nextId()
     var labels = mutable.ListBuffer(
       createSuiteLabel(suiteName),
       createLabel(THREAD_LABEL_NAME, getScalaTestThreadName(threadId)),
@@ -25,6 +25,7 @@ import io.qameta.allure.AllureLifecycle;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StatusDetails;
 import io.qameta.allure.model.StepResult;
+import io.qameta.allure.util.IdUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriverException;
@@ -34,7 +35,6 @@ import org.slf4j.LoggerFactory;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.logging.Level;
 
 import static io.qameta.allure.util.ResultsUtils.getStatus;
@@ -120,7 +120,7 @@ public class AllureSelenide implements LogEventListener {
     public void beforeEvent(final LogEvent event) {
         if (stepsShouldBeLogged(event)) {
             lifecycle.getCurrentTestCaseOrStep().ifPresent(parentUuid -> {
-                final String uuid = UUID.randomUUID().toString();
+                final String uuid = IdUtils.nextId();
                 lifecycle.startStep(parentUuid, uuid, new StepResult().setName(event.toString()));
             });
         }
@@ -25,6 +25,7 @@ import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StatusDetails;
 import io.qameta.allure.model.TestResult;
 import io.qameta.allure.util.AnnotationUtils;
+import io.qameta.allure.util.IdUtils;
 import org.junit.runner.Description;
 import org.spockframework.runtime.AbstractRunListener;
 import org.spockframework.runtime.extension.IGlobalExtension;
@@ -36,16 +37,12 @@ import org.spockframework.runtime.model.SpecInfo;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Repeatable;
 import java.lang.reflect.Method;
-import java.math.BigInteger;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -62,11 +59,10 @@ import static io.qameta.allure.util.ResultsUtils.createTestClassLabel;
 import static io.qameta.allure.util.ResultsUtils.createTestMethodLabel;
 import static io.qameta.allure.util.ResultsUtils.createThreadLabel;
 import static io.qameta.allure.util.ResultsUtils.firstNonEmpty;
+import static io.qameta.allure.util.ResultsUtils.generateHistoryId;
 import static io.qameta.allure.util.ResultsUtils.getProvidedLabels;
 import static io.qameta.allure.util.ResultsUtils.getStatus;
 import static io.qameta.allure.util.ResultsUtils.getStatusDetails;
-import static java.nio.charset.StandardCharsets.UTF_8;
-import static java.util.Comparator.comparing;
 
 /**
  * @author charlie (Dmitry Baev).
@@ -79,10 +75,8 @@ import static java.util.Comparator.comparing;
 })
 public class AllureSpock extends AbstractRunListener implements IGlobalExtension {
 
-    private static final String MD_5 = "md5";
-
     private final ThreadLocal<String> testResults
-            = InheritableThreadLocal.withInitial(() -> UUID.randomUUID().toString());
+            = InheritableThreadLocal.withInitial(IdUtils::nextId);
 
     private final AllureLifecycle lifecycle;
 
@@ -184,24 +178,7 @@ public class AllureSpock extends AbstractRunListener implements IGlobalExtension
     }
 
     private String getHistoryId(final String name, final List<Parameter> parameters) {
-        final MessageDigest digest = getMessageDigest();
-        digest.update(name.getBytes(UTF_8));
-        parameters.stream()
-                .sorted(comparing(Parameter::getName).thenComparing(Parameter::getValue))
-                .forEachOrdered(parameter -> {
-                    digest.update(parameter.getName().getBytes(UTF_8));
-                    digest.update(parameter.getValue().getBytes(UTF_8));
-                });
-        final byte[] bytes = digest.digest();
-        return new BigInteger(1, bytes).toString(16);
-    }
-
-    private MessageDigest getMessageDigest() {
-        try {
-            return MessageDigest.getInstance(MD_5);
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("Could not find md5 hashing algorithm", e);
-        }
+        return generateHistoryId(name, parameters);
     }
 
     private boolean isFlaky(final IterationInfo iteration) {
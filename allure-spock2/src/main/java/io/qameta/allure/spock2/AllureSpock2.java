@@ -28,9 +28,11 @@ import io.qameta.allure.model.TestResult;
 import io.qameta.allure.model.TestResultContainer;
 import io.qameta.allure.testfilter.FileTestPlanSupplier;
 import io.qameta.allure.testfilter.TestPlan;
+import io.qameta.allure.testfilter.TestPlanIndex;
 import io.qameta.allure.testfilter.TestPlanV1_0;
 import io.qameta.allure.util.AnnotationUtils;
 import io.qameta.allure.util.ExceptionUtils;
+import io.qameta.allure.util.IdUtils;
 import io.qameta.allure.util.ResultsUtils;
 import org.spockframework.runtime.AbstractRunListener;
 import org.spockframework.runtime.extension.IGlobalExtension;
@@ -45,18 +47,15 @@ import org.spockframework.runtime.model.SpecInfo;
 import org.spockframework.runtime.model.TestTag;
 
 import java.lang.reflect.Method;
-import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
-import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-import static io.qameta.allure.util.ResultsUtils.bytesToHex;
 import static io.qameta.allure.util.ResultsUtils.createFrameworkLabel;
 import static io.qameta.allure.util.ResultsUtils.createHostLabel;
 import static io.qameta.allure.util.ResultsUtils.createLanguageLabel;
@@ -69,13 +68,11 @@ import static io.qameta.allure.util.ResultsUtils.createTestClassLabel;
 import static io.qameta.allure.util.ResultsUtils.createTestMethodLabel;
 import static io.qameta.allure.util.ResultsUtils.createThreadLabel;
 import static io.qameta.allure.util.ResultsUtils.firstNonEmpty;
-import static io.qameta.allure.util.ResultsUtils.getMd5Digest;
+import static io.qameta.allure.util.ResultsUtils.generateHistoryId;
 import static io.qameta.allure.util.ResultsUtils.getProvidedLabels;
 import static io.qameta.allure.util.ResultsUtils.getStatus;
 import static io.qameta.allure.util.ResultsUtils.getStatusDetails;
 import static io.qameta.allure.util.ResultsUtils.md5;
-import static java.nio.charset.StandardCharsets.UTF_8;
-import static java.util.Comparator.comparing;
 
 /**
  * @author charlie (Dmitry Baev).
@@ -88,7 +85,7 @@ public class AllureSpock2 extends AbstractRunListener implements IGlobalExtensio
     private final ThreadLocal<String> testResults = new InheritableThreadLocal<String>() {
         @Override
         protected String initialValue() {
-            return UUID.randomUUID().toString();
+            return IdUtils.nextId();
         }
     };
 
@@ -116,7 +113,7 @@ public class AllureSpock2 extends AbstractRunListener implements IGlobalExtensio
 
         spec.addListener(this);
 
-        final String specContainerUuid = UUID.randomUUID().toString();
+        final String specContainerUuid = IdUtils.nextId();
         spec.addInterceptor(new AllureContainerInterceptor(specContainerUuid));
 
         spec.getAllFixtureMethods().forEach(methodInfo -> {
@@ -243,16 +240,7 @@ public class AllureSpock2 extends AbstractRunListener implements IGlobalExtensio
     }
 
     private String getHistoryId(final String name, final List<Parameter> parameters) {
-        final MessageDigest digest = getMd5Digest();
-        digest.update(name.getBytes(UTF_8));
-        parameters.stream()
-                .sorted(comparing(Parameter::getName).thenComparing(Parameter::getValue))
-                .forEachOrdered(parameter -> {
-                    digest.update(parameter.getName().getBytes(UTF_8));
-                    digest.update(parameter.getValue().getBytes(UTF_8));
-                });
-        final byte[] bytes = digest.digest();
-        return bytesToHex(bytes);
+        return generateHistoryId(name, parameters);
     }
 
     private boolean isSkipped(final FeatureInfo featureInfo) {
@@ -261,14 +249,12 @@ public class AllureSpock2 extends AbstractRunListener implements IGlobalExtensio
         }
         if (this.testPlan instanceof TestPlanV1_0) {
             final TestPlanV1_0 tp = (TestPlanV1_0) testPlan;
-            return !Objects.isNull(tp.getTests()) && tp.getTests()
-                    .stream()
-                    .filter(Objects::nonNull)
-                    .noneMatch(tc -> this.match(
-                            tc,
-                            this.getAllureId(featureInfo),
-                            this.getQualifiedName(featureInfo))
-                    );
+            if (!tp.hasTests()) {
+                return false;
+            }
+            final TestPlanIndex index = tp.getIndex();
+            return !index.containsId(this.getAllureId(featureInfo))
+                    && !index.containsSelector(this.getQualifiedName(featureInfo));
         }
         return false;
     }
@@ -281,10 +267,6 @@ public class AllureSpock2 extends AbstractRunListener implements IGlobalExtensio
         return null;
     }
 
-    private boolean match(final TestPlanV1_0.TestCase tc, final String allureId, final String qualifiedName) {
-        return Objects.equals(allureId, tc.getId()) || Objects.equals(qualifiedName, tc.getSelector());
-    }
-
     @Override
     public void error(final ErrorInfo error) {
         final String uuid = testResults.get();
@@ -329,7 +311,7 @@ public class AllureSpock2 extends AbstractRunListener implements IGlobalExtensio
     private class AllureFeatureFixtureMethodInterceptor extends AllureSpecFixtureMethodInterceptor {
 
         private AllureFeatureFixtureMethodInterceptor() {
-            this(UUID.randomUUID().toString());
+            this(IdUtils.nextId());
         }
 
         private AllureFeatureFixtureMethodInterceptor(final String containerUuid) {
@@ -376,7 +358,7 @@ public class AllureSpock2 extends AbstractRunListener implements IGlobalExtensio
 
         @Override
         public void intercept(final IMethodInvocation invocation) throws Throwable {
-            final String fixtureUuid = UUID.randomUUID().toString();
+            final String fixtureUuid = IdUtils.nextId();
 
             final MethodKind kind = invocation.getMethod().getKind();
             final String fixtureName = kind.name().toLowerCase(Locale.ENGLISH).replace('_', ' ');
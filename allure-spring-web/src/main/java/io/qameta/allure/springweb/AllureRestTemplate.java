@@ -19,7 +19,7 @@ import io.qameta.allure.attachment.AttachmentData;
 import io.qameta.allure.attachment.AttachmentProcessor;
 import io.qameta.allure.attachment.AttachmentRenderer;
 import io.qameta.allure.attachment.DefaultAttachmentProcessor;
-import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.FreemarkerRendererRegistry;
 import io.qameta.allure.attachment.http.HttpRequestAttachment;
 import io.qameta.allure.attachment.http.HttpResponseAttachment;
 import org.springframework.http.HttpRequest;
@@ -62,11 +62,11 @@ public class AllureRestTemplate implements ClientHttpRequestInterceptor {
     }
 
     protected AttachmentRenderer<AttachmentData> getRequestRenderer() {
-        return new FreemarkerAttachmentRenderer(getRequestTemplatePath());
+        return FreemarkerRendererRegistry.getRenderer(getRequestTemplatePath());
     }
 
     protected AttachmentRenderer<AttachmentData> getResponseRenderer() {
-        return new FreemarkerAttachmentRenderer(getResponseTemplatePath());
+        return FreemarkerRendererRegistry.getRenderer(getResponseTemplatePath());
     }
 
     protected AttachmentProcessor<AttachmentData> getAttachmentProcessor() {
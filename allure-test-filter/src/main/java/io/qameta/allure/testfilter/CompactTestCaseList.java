@@ -0,0 +1,51 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.testfilter;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list of test cases backed by arrays of ids and selectors.
+ * Test case objects are created on access.
+ */
+/* package-private */ final class CompactTestCaseList extends AbstractList<TestPlanV1_0.TestCase>
+        implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String[] ids;
+
+    private final String[] selectors;
+
+    /* package-private */ CompactTestCaseList(final String[] ids, final String[] selectors) {
+        this.ids = ids;
+        this.selectors = selectors;
+    }
+
+    @Override
+    public TestPlanV1_0.TestCase get(final int index) {
+        return new TestPlanV1_0.TestCase()
+                .setId(ids[index])
+                .setSelector(selectors[index]);
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+}
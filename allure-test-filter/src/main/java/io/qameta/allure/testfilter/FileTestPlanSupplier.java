@@ -15,23 +15,24 @@
  */
 package io.qameta.allure.testfilter;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The {@link TestPlanSupplier} that reads test plan from file, specified
- * in {@code ALLURE_TESTPLAN_PATH} environment variable.
+ * in {@code ALLURE_TESTPLAN_PATH} environment variable. The file is parsed
+ * once per JVM, as long as it is not modified.
  *
  * @author charlie (Dmitry Baev).
  */
@@ -44,8 +45,7 @@ public class FileTestPlanSupplier implements TestPlanSupplier {
      */
     private static final String[] ENV_TESTPLAN_PATH = {"ALLURE_TESTPLAN_PATH", "AS_TESTPLAN_PATH"};
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
-            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final Map<Path, CachedTestPlan> CACHE = new ConcurrentHashMap<>();
 
     /**
      * Supply test plan.
@@ -68,8 +68,16 @@ public class FileTestPlanSupplier implements TestPlanSupplier {
     }
 
     private Optional<TestPlan> readTestPlan(final Path path) {
-        try (InputStream stream = Files.newInputStream(path)) {
-            return Optional.of(OBJECT_MAPPER.readValue(stream, TestPlan.class));
+        try {
+            final Path key = path.toAbsolutePath().normalize();
+            final BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+            final CachedTestPlan cached = CACHE.get(key);
+            if (Objects.nonNull(cached) && cached.isUpToDate(attributes)) {
+                return Optional.of(cached.testPlan);
+            }
+            final TestPlan testPlan = TestPlanReader.read(key);
+            CACHE.put(key, new CachedTestPlan(attributes, testPlan));
+            return Optional.of(testPlan);
         } catch (IOException e) {
             LOGGER.warn("could not read test plan file {}", path, e);
             return Optional.empty();
@@ -85,4 +93,23 @@ public class FileTestPlanSupplier implements TestPlanSupplier {
         }
     }
 
+    private static final class CachedTestPlan {
+
+        private final long size;
+
+        private final long lastModified;
+
+        private final TestPlan testPlan;
+
+        CachedTestPlan(final BasicFileAttributes attributes, final TestPlan testPlan) {
+            this.size = attributes.size();
+            this.lastModified = attributes.lastModifiedTime().toMillis();
+            this.testPlan = testPlan;
+        }
+
+        boolean isUpToDate(final BasicFileAttributes attributes) {
+            return size == attributes.size()
+                    && lastModified == attributes.lastModifiedTime().toMillis();
+        }
+    }
 }
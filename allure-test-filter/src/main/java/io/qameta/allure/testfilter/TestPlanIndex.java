@@ -0,0 +1,80 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.testfilter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Hash index of test plan ids and selectors. Lookups take constant time,
+ * regardless of the number of tests in the test plan.
+ */
+public final class TestPlanIndex {
+
+    private final Set<String> ids;
+
+    private final Set<String> selectors;
+
+    /* package-private */ TestPlanIndex(final Set<String> ids, final Set<String> selectors) {
+        this.ids = ids;
+        this.selectors = selectors;
+    }
+
+    /**
+     * Builds index for given test cases. Null test cases, ids and selectors are ignored.
+     *
+     * @param tests the test cases to index.
+     * @return the index.
+     */
+    public static TestPlanIndex of(final Collection<TestPlanV1_0.TestCase> tests) {
+        if (Objects.isNull(tests)) {
+            return new TestPlanIndex(Collections.emptySet(), Collections.emptySet());
+        }
+        final Set<String> ids = new HashSet<>();
+        final Set<String> selectors = new HashSet<>();
+        for (TestPlanV1_0.TestCase test : tests) {
+            if (Objects.isNull(test)) {
+                continue;
+            }
+            if (Objects.nonNull(test.getId())) {
+                ids.add(test.getId());
+            }
+            if (Objects.nonNull(test.getSelector())) {
+                selectors.add(test.getSelector());
+            }
+        }
+        return new TestPlanIndex(ids, selectors);
+    }
+
+    /**
+     * @param id the test case id, can be null.
+     * @return true if test plan contains test case with given id, false otherwise.
+     */
+    public boolean containsId(final String id) {
+        return Objects.nonNull(id) && ids.contains(id);
+    }
+
+    /**
+     * @param selector the test case selector, can be null.
+     * @return true if test plan contains test case with given selector, false otherwise.
+     */
+    public boolean containsSelector(final String selector) {
+        return Objects.nonNull(selector) && selectors.contains(selector);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.testfilter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Reads test plan using Jackson streaming API. Test cases are collected into
+ * compact arrays and hash index without creating an object per entry,
+ * so large test plans don't cause heap spikes. Null test cases are skipped.
+ */
+public final class TestPlanReader {
+
+    private static final String VERSION_1_0 = "1.0";
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private TestPlanReader() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    /**
+     * Reads test plan from given file. The file is streamed into the parser
+     * and closed once the plan is read.
+     *
+     * @param path the path to test plan file.
+     * @return the test plan.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static TestPlan read(final Path path) throws IOException {
+        try (InputStream stream = Files.newInputStream(path)) {
+            return read(stream);
+        }
+    }
+
+    /**
+     * Reads test plan from given stream. The stream is not closed.
+     *
+     * @param stream the stream to read test plan from.
+     * @return the test plan.
+     * @throws IOException if an I/O error occurs or content is not valid json.
+     */
+    @SuppressWarnings("PMD.CognitiveComplexity")
+    public static TestPlan read(final InputStream stream) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(stream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new TestPlanUnknown();
+            }
+            String version = null;
+            TestCases tests = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                final JsonToken value = parser.nextToken();
+                if ("version".equals(field)) {
+                    version = parser.getValueAsString();
+                } else if ("tests".equals(field) && value == JsonToken.START_ARRAY) {
+                    tests = readTests(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (!VERSION_1_0.equals(version)) {
+                return new TestPlanUnknown();
+            }
+            if (Objects.isNull(tests)) {
+                return new TestPlanV1_0();
+            }
+            return new TestPlanV1_0(tests.toList(), tests.toIndex());
+        }
+    }
+
+    private static TestCases readTests(final JsonParser parser) throws IOException {
+        final TestCases tests = new TestCases();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            String id = null;
+            String selector = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("id".equals(field)) {
+                    id = parser.getValueAsString();
+                } else if ("selector".equals(field)) {
+                    selector = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            tests.add(id, selector);
+        }
+        return tests;
+    }
+
+    /**
+     * Test cases collected while parsing.
+     */
+    private static final class TestCases {
+
+        private final List<String> ids = new ArrayList<>();
+
+        private final List<String> selectors = new ArrayList<>();
+
+        private final Set<String> idIndex = new HashSet<>();
+
+        private final Set<String> selectorIndex = new HashSet<>();
+
+        void add(final String id, final String selector) {
+            ids.add(id);
+            selectors.add(selector);
+            if (Objects.nonNull(id)) {
+                idIndex.add(id);
+            }
+            if (Objects.nonNull(selector)) {
+                selectorIndex.add(selector);
+            }
+        }
+
+        List<TestPlanV1_0.TestCase> toList() {
+            return new CompactTestCaseList(
+                    ids.toArray(new String[0]),
+                    selectors.toArray(new String[0])
+            );
+        }
+
+        TestPlanIndex toIndex() {
+            return new TestPlanIndex(idIndex, selectorIndex);
+        }
+    }
+}
@@ -15,10 +15,11 @@
  */
 package io.qameta.allure.testfilter;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 
 import java.io.Serializable;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -36,13 +37,44 @@ public class TestPlanV1_0 implements TestPlan, Serializable {
      */
     private List<TestCase> tests;
 
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private transient volatile TestPlanIndex index;
+
+    public TestPlanV1_0() {
+        //do nothing
+    }
+
+    /* package-private */ TestPlanV1_0(final List<TestCase> tests, final TestPlanIndex index) {
+        this.tests = tests;
+        this.index = index;
+    }
+
     /**
-     * Gets the value of the tests property.
+     * Gets the value of the tests property. Test plans read by {@link TestPlanReader}
+     * keep test cases in compact form, which is copied to a modifiable list on first call.
+     * Use {@link #hasTests()} and {@link #getIndex()} to avoid the copy.
      *
      * @return tests.
      */
     public List<TestCase> getTests() {
-        return tests;
+        synchronized (this) {
+            if (tests instanceof CompactTestCaseList) {
+                tests = new ArrayList<>(tests);
+            }
+            return tests;
+        }
+    }
+
+    /**
+     * Returns true if the tests property is set. A plan without the property selects
+     * all the tests, a plan with an empty list selects none.
+     *
+     * @return true if the tests property is set, false otherwise.
+     */
+    public boolean hasTests() {
+        synchronized (this) {
+            return Objects.nonNull(tests);
+        }
     }
 
     /**
@@ -52,19 +84,39 @@ public class TestPlanV1_0 implements TestPlan, Serializable {
      * @return current instance.
      */
     public TestPlanV1_0 setTests(final List<TestCase> tests) {
-        this.tests = tests;
+        synchronized (this) {
+            this.tests = tests;
+            this.index = null;
+        }
         return this;
     }
 
+    /**
+     * Returns index of test ids and selectors. The index is built on first access,
+     * so changes of the tests list made after that are not visible until
+     * {@link #setTests(List)} is called.
+     *
+     * @return the index.
+     */
+    @JsonIgnore
+    public TestPlanIndex getIndex() {
+        TestPlanIndex current = index;
+        if (Objects.isNull(current)) {
+            current = TestPlanIndex.of(tests);
+            index = current;
+        }
+        return current;
+    }
+
     /**
      * @param allureId value of @AllureId annotation, if not set pass null value
      * @param selector selector of test method
      * @return true if test case with given allureId or selection is selected, false otherwise.
      */
     public boolean isSelected(final String allureId, final String selector) {
-        return getTests().stream().map(test -> new String[]{test.getId(), test.getSelector()})
-                .flatMap(array -> Arrays.stream(array).filter(Objects::nonNull))
-                .anyMatch(item -> item.equals(selector) || item.equals(allureId));
+        final TestPlanIndex current = getIndex();
+        return current.containsId(selector) || current.containsSelector(selector)
+                || current.containsId(allureId) || current.containsSelector(allureId);
     }
 
     /**
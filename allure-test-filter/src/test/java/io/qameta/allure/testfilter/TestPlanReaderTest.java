@@ -0,0 +1,111 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.testfilter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class TestPlanReaderTest {
+
+    @Test
+    void shouldReadTestPlanFromFile(@TempDir final Path folder) throws IOException {
+        final Path file = folder.resolve("testplan.json");
+        Files.write(file, ("{\"version\":\"1.0\",\"tests\":["
+                + "{\"id\":\"1\",\"selector\":\"io.qameta.Test.first\"},"
+                + "{\"id\":2,\"extra\":{\"values\":[1,2]}},"
+                + "{\"selector\":\"io.qameta.Test.third\"}"
+                + "]}").getBytes(StandardCharsets.UTF_8));
+
+        final TestPlan testPlan = TestPlanReader.read(file);
+
+        assertThat(testPlan)
+                .isInstanceOf(TestPlanV1_0.class);
+        final TestPlanV1_0 plan = (TestPlanV1_0) testPlan;
+        assertThat(plan.getTests())
+                .extracting(TestPlanV1_0.TestCase::getId, TestPlanV1_0.TestCase::getSelector)
+                .containsExactly(
+                        tuple("1", "io.qameta.Test.first"),
+                        tuple("2", null),
+                        tuple(null, "io.qameta.Test.third")
+                );
+        assertThat(plan.getIndex().containsId("2"))
+                .isTrue();
+        assertThat(plan.getIndex().containsSelector("io.qameta.Test.third"))
+                .isTrue();
+        assertThat(plan.getIndex().containsSelector("io.qameta.Test.second"))
+                .isFalse();
+    }
+
+    @Test
+    void shouldReadVersionSpecifiedAfterTests() throws IOException {
+        final TestPlan testPlan = read("{\"tests\":[{\"id\":\"1\"}],\"other\":[{}],\"version\":\"1.0\"}");
+
+        assertThat(testPlan)
+                .isInstanceOf(TestPlanV1_0.class);
+        assertThat(((TestPlanV1_0) testPlan).getIndex().containsId("1"))
+                .isTrue();
+    }
+
+    @Test
+    void shouldReadTestPlanWithoutTests() throws IOException {
+        final TestPlan testPlan = read("{\"version\":\"1.0\"}");
+
+        assertThat(testPlan)
+                .isInstanceOf(TestPlanV1_0.class);
+        assertThat(((TestPlanV1_0) testPlan).hasTests())
+                .isFalse();
+        assertThat(((TestPlanV1_0) testPlan).getTests())
+                .isNull();
+    }
+
+    @Test
+    void shouldReturnModifiableTests() throws IOException {
+        final TestPlanV1_0 plan = (TestPlanV1_0) read("{\"version\":\"1.0\",\"tests\":[{\"id\":\"1\"}]}");
+        assertThat(plan.hasTests())
+                .isTrue();
+
+        plan.getTests().get(0).setSelector("io.qameta.Test.first");
+        plan.getTests().add(new TestPlanV1_0.TestCase().setId("2"));
+
+        assertThat(plan.getTests())
+                .extracting(TestPlanV1_0.TestCase::getId, TestPlanV1_0.TestCase::getSelector)
+                .containsExactly(
+                        tuple("1", "io.qameta.Test.first"),
+                        tuple("2", null)
+                );
+    }
+
+    @Test
+    void shouldReturnUnknownTestPlanForUnknownVersion() throws IOException {
+        assertThat(read("{\"version\":\"2.0\",\"tests\":[]}"))
+                .isInstanceOf(TestPlanUnknown.class);
+        assertThat(read("[]"))
+                .isInstanceOf(TestPlanUnknown.class);
+    }
+
+    private static TestPlan read(final String json) throws IOException {
+        return TestPlanReader.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -17,8 +17,6 @@ package io.qameta.allure.testng;
 
 import io.qameta.allure.Allure;
 import io.qameta.allure.AllureLifecycle;
-import io.qameta.allure.Flaky;
-import io.qameta.allure.Muted;
 import io.qameta.allure.Severity;
 import io.qameta.allure.SeverityLevel;
 import io.qameta.allure.model.FixtureResult;
@@ -32,13 +30,15 @@ import io.qameta.allure.model.TestResult;
 import io.qameta.allure.model.TestResultContainer;
 import io.qameta.allure.testng.config.AllureTestNgConfig;
 import io.qameta.allure.util.AnnotationUtils;
-import io.qameta.allure.util.ObjectUtils;
+import io.qameta.allure.util.IdUtils;
+import io.qameta.allure.util.ParameterUtils;
 import io.qameta.allure.util.ResultsUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.IAttributes;
 import org.testng.IClass;
 import org.testng.IConfigurationListener;
+import org.testng.IExecutionListener;
 import org.testng.IInvokedMethod;
 import org.testng.IInvokedMethodListener;
 import org.testng.IMethodInstance;
@@ -57,7 +57,6 @@ import org.testng.xml.XmlTest;
 
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
-import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -68,7 +67,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -77,7 +75,6 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static io.qameta.allure.util.ResultsUtils.ALLURE_ID_LABEL_NAME;
-import static io.qameta.allure.util.ResultsUtils.bytesToHex;
 import static io.qameta.allure.util.ResultsUtils.createFrameworkLabel;
 import static io.qameta.allure.util.ResultsUtils.createHostLabel;
 import static io.qameta.allure.util.ResultsUtils.createLanguageLabel;
@@ -90,12 +87,10 @@ import static io.qameta.allure.util.ResultsUtils.createTestClassLabel;
 import static io.qameta.allure.util.ResultsUtils.createTestMethodLabel;
 import static io.qameta.allure.util.ResultsUtils.createThreadLabel;
 import static io.qameta.allure.util.ResultsUtils.firstNonEmpty;
-import static io.qameta.allure.util.ResultsUtils.getMd5Digest;
+import static io.qameta.allure.util.ResultsUtils.generateHistoryId;
 import static io.qameta.allure.util.ResultsUtils.getProvidedLabels;
 import static io.qameta.allure.util.ResultsUtils.getStatusDetails;
 import static io.qameta.allure.util.ResultsUtils.processDescription;
-import static java.nio.charset.StandardCharsets.UTF_8;
-import static java.util.Comparator.comparing;
 import static java.util.Objects.nonNull;
 
 /**
@@ -111,6 +106,7 @@ import static java.util.Objects.nonNull;
         "PMD.TooManyMethods",
 })
 public class AllureTestNg implements
+        IExecutionListener,
         ISuiteListener,
         ITestListener,
         IInvokedMethodListener,
@@ -145,12 +141,12 @@ public class AllureTestNg implements
      * Store current container uuid for fake containers around before/after methods.
      */
     private final ThreadLocal<String> currentTestContainer = ThreadLocal
-            .withInitial(() -> UUID.randomUUID().toString());
+            .withInitial(IdUtils::nextId);
     /**
      * Store uuid for current executable item to catch steps and attachments.
      */
     private final ThreadLocal<String> currentExecutable = ThreadLocal
-            .withInitial(() -> UUID.randomUUID().toString());
+            .withInitial(IdUtils::nextId);
     /**
      * Store uuid for class test containers.
      */
@@ -211,6 +207,20 @@ public class AllureTestNg implements
         return testFilter.intercept(methods, context);
     }
 
+    @Override
+    public void onExecutionStart() {
+        //do nothing
+    }
+
+    /**
+     * Flushes results once per run rather than per suite, as flush waits
+     * for all the pending results of the lifecycle.
+     */
+    @Override
+    public void onExecutionFinish() {
+        getLifecycle().flush();
+    }
+
     @Override
     public void onStart(final ISuite suite) {
         final TestResultContainer result = new TestResultContainer()
@@ -245,8 +255,8 @@ public class AllureTestNg implements
     }
 
     protected void createFakeResult(final ITestContext context, final ITestNGMethod method) {
-        final String uuid = UUID.randomUUID().toString();
-        final String parentUuid = UUID.randomUUID().toString();
+        final String uuid = IdUtils.nextId();
+        final String parentUuid = IdUtils.nextId();
         startTestCase(context, method, method.getTestClass(), new Object[]{}, parentUuid, uuid);
         stopTestCase(uuid, null, null);
     }
@@ -256,7 +266,6 @@ public class AllureTestNg implements
         final String uuid = getUniqueUuid(suite);
         getLifecycle().stopTestContainer(uuid);
         getLifecycle().writeTestContainer(uuid);
-
     }
 
     @Override
@@ -272,7 +281,7 @@ public class AllureTestNg implements
     }
 
     public void onBeforeClass(final ITestClass testClass) {
-        final String uuid = UUID.randomUUID().toString();
+        final String uuid = IdUtils.nextId();
         final TestResultContainer container = new TestResultContainer()
                 .setUuid(uuid)
                 .setName(testClass.getName());
@@ -607,8 +616,8 @@ public class AllureTestNg implements
             return; //do nothing
         }
 
-        final String uuid = UUID.randomUUID().toString();
-        final String parentUuid = UUID.randomUUID().toString();
+        final String uuid = IdUtils.nextId();
+        final String parentUuid = IdUtils.nextId();
 
         startTestCase(itr, parentUuid, uuid);
 
@@ -632,19 +641,9 @@ public class AllureTestNg implements
     }
 
     protected String getHistoryId(final ITestNGMethod method, final List<Parameter> parameters) {
-        final MessageDigest digest = getMd5Digest();
         final String testClassName = method.getTestClass().getName();
         final String methodName = method.getMethodName();
-        digest.update(testClassName.getBytes(UTF_8));
-        digest.update(methodName.getBytes(UTF_8));
-        parameters.stream()
-                .sorted(comparing(Parameter::getName).thenComparing(Parameter::getValue))
-                .forEachOrdered(parameter -> {
-                    digest.update(parameter.getName().getBytes(UTF_8));
-                    digest.update(parameter.getValue().getBytes(UTF_8));
-                });
-        final byte[] bytes = digest.digest();
-        return bytesToHex(bytes);
+        return generateHistoryId(testClassName + methodName, parameters);
     }
 
     protected Status getStatus(final Throwable throwable) {
@@ -704,20 +703,20 @@ public class AllureTestNg implements
 
     private boolean isFlaky(final ITestNGMethod method, final IClass iClass) {
         final boolean flakyMethod = getMethod(method)
-                .map(m -> m.isAnnotationPresent(Flaky.class))
+                .map(AnnotationUtils::isFlaky)
                 .orElse(false);
         final boolean flakyClass = getClass(iClass)
-                .map(clazz -> clazz.isAnnotationPresent(Flaky.class))
+                .map(AnnotationUtils::isFlaky)
                 .orElse(false);
         return flakyMethod || flakyClass;
     }
 
     private boolean isMuted(final ITestNGMethod method, final IClass iClass) {
         final boolean mutedMethod = getMethod(method)
-                .map(m -> m.isAnnotationPresent(Muted.class))
+                .map(AnnotationUtils::isMuted)
                 .orElse(false);
         final boolean mutedClass = getClass(iClass)
-                .map(clazz -> clazz.isAnnotationPresent(Muted.class))
+                .map(AnnotationUtils::isMuted)
                 .orElse(false);
         return mutedMethod || mutedClass;
     }
@@ -738,7 +737,7 @@ public class AllureTestNg implements
      */
     private String getUniqueUuid(final IAttributes suite) {
         if (Objects.isNull(suite.getAttribute(ALLURE_UUID))) {
-            suite.setAttribute(ALLURE_UUID, UUID.randomUUID().toString());
+            suite.setAttribute(ALLURE_UUID, IdUtils.nextId());
         }
         return Objects.toString(suite.getAttribute(ALLURE_UUID));
     }
@@ -760,7 +759,7 @@ public class AllureTestNg implements
                                 .orElseGet(field::getName);
                         try {
                             field.setAccessible(true);
-                            final String value = ObjectUtils.toString(field.get(instance));
+                            final String value = ParameterUtils.formatValue(field.get(instance));
                             result.put(name, value);
                         } catch (IllegalAccessException e) {
                             LOGGER.debug("Could not access field value");
@@ -793,12 +792,12 @@ public class AllureTestNg implements
 
                 final int indexFromAnnotation = i - skippedCount;
                 if (indexFromAnnotation < providedNames.length) {
-                    result.put(providedNames[indexFromAnnotation], ObjectUtils.toString(parameters[i]));
+                    result.put(providedNames[indexFromAnnotation], ParameterUtils.formatValue(parameters[i]));
                     continue;
                 }
 
                 if (i < reflectionNames.length) {
-                    result.put(reflectionNames[i], ObjectUtils.toString(parameters[i]));
+                    result.put(reflectionNames[i], ParameterUtils.formatValue(parameters[i]));
                 }
             }
 
@@ -898,7 +897,7 @@ public class AllureTestNg implements
         private CurrentStage currentStage;
 
         Current() {
-            this.uuid = UUID.randomUUID().toString();
+            this.uuid = IdUtils.nextId();
             this.currentStage = CurrentStage.BEFORE;
         }
 
@@ -2,6 +2,7 @@ rootProject.name = "allure-java"
 
 include("allure-assertj")
 include("allure-attachments")
+include("allure-benchmarks")
 include("allure-awaitility")
 include("allure-bom")
 include("allure-citrus")
@@ -56,6 +57,7 @@ pluginManagement {
         id("io.qameta.allure-download") version "2.11.2"
         id("io.qameta.allure-report") version "2.11.2"
         id("io.spring.dependency-management") version "1.1.5"
+        id("me.champeau.jmh") version "0.7.2"
         id("com.google.protobuf") version "0.9.4"
         id("com.github.spotbugs") version "6.0.6"
         kotlin("jvm") version "1.7.10"